@@ -6,8 +6,15 @@ import optimisation.columnGeneration.AbstractColumn;
 
 public abstract class CVRPColumn extends AbstractColumn<CVRPInstance, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	public CVRPColumn(double coefficient)
 	{
 		super(coefficient, false);
 	}
+
+	public CVRPColumn(double coefficient, boolean isAuxiliaryColumn)
+	{
+		super(coefficient, isAuxiliaryColumn);
+	}
 }
@@ -22,6 +22,7 @@ public class CVRPMasterProblem extends AbstractMasterProblem<CVRPInstance, CVRPC
 {
 	private final Map<RouteColumn, IloNumVar> routeVarMap;
 	private final Map<OrderColumn, IloNumVar> orderVarMap;
+	private final boolean dynamicNgRoutes = Configuration.getConfiguration().getBooleanProperty("DYNAMIC_NG_ROUTES");
 
 	public CVRPMasterProblem(CVRPInstance instance) throws IloException
 	{
@@ -31,6 +32,12 @@ public class CVRPMasterProblem extends AbstractMasterProblem<CVRPInstance, CVRPC
 		this.routeVarMap = new LinkedHashMap<>();
 	}
 
+	@Override
+	protected AbstractMasterProblem<CVRPInstance, CVRPColumn, CVRPPricingProblem> createMasterProblem() throws IloException
+	{
+		return new CVRPMasterProblem(instance);
+	}
+
 	@Override
 	public List<Pair<CVRPColumn, IloNumVar>> getColumns()
 	{
@@ -55,17 +62,7 @@ public class CVRPMasterProblem extends AbstractMasterProblem<CVRPInstance, CVRPC
 		}
 
 		// Initialise a new column.
-		IloColumn columnVar = cplex.column(objective, column.getCoefficient());
-
-		// Loop over all constraints.
-		for (AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem> constraint : constraintMap.keySet())
-		{
-			if (constraint.containsColumn(column))
-			{
-				columnVar = columnVar.and(
-						cplex.column(constraintMap.get(constraint), constraint.getCoefficient(column)));
-			}
-		}
+		IloColumn columnVar = createColumn(column);
 		if (column instanceof RouteColumn)
 		{
 			RouteColumn routeColumn = (RouteColumn) column;
@@ -108,6 +105,19 @@ public class CVRPMasterProblem extends AbstractMasterProblem<CVRPInstance, CVRPC
 		return new CVRPSolution(getObjectiveValue(), map);
 	}
 
+	@Override
+	public boolean isCompatible(CVRPColumn column)
+	{
+		// Routes that are no longer ng-routes after the neighbourhoods have grown are not
+		// reintroduced. Without dynamic ng-routes, the neighbourhoods never grow.
+		if (dynamicNgRoutes && column instanceof RouteColumn
+				&& !instance.isNgFeasible(((RouteColumn) column).getRoute().getNodes()))
+		{
+			return false;
+		}
+		return super.isCompatible(column);
+	}
+
 	@Override
 	public boolean isFeasible() throws IloException
 	{
@@ -142,7 +152,7 @@ public class CVRPMasterProblem extends AbstractMasterProblem<CVRPInstance, CVRPC
 	}
 
 	@Override
-	public int removeInactiveColumns() throws IloException
+	public List<CVRPColumn> removeInactiveColumns() throws IloException
 	{
 		// Retrieve column removal threshold.
 		int removalThreshold = Configuration.getConfiguration()
@@ -156,6 +166,7 @@ public class CVRPMasterProblem extends AbstractMasterProblem<CVRPInstance, CVRPC
 		}
 
 		// Construct an array with columns to be removed.
+		List<CVRPColumn> removedColumns = new ArrayList<>(count);
 		IloNumVar[] removeColumns = new IloNumVar[count];
 		int i = 0;
 		Iterator<Entry<RouteColumn, IloNumVar>> iter = routeVarMap.entrySet().iterator();
@@ -164,6 +175,7 @@ public class CVRPMasterProblem extends AbstractMasterProblem<CVRPInstance, CVRPC
 			Entry<RouteColumn, IloNumVar> entry = iter.next();
 			if (entry.getKey().getNumIterUnused() >= removalThreshold)
 			{
+				removedColumns.add(entry.getKey());
 				removeColumns[i] = entry.getValue();
 				iter.remove();
 				i++;
@@ -172,7 +184,7 @@ public class CVRPMasterProblem extends AbstractMasterProblem<CVRPInstance, CVRPC
 
 		// Remove columns from the model.
 		cplex.end(removeColumns);
-		return count;
+		return removedColumns;
 	}
 
 	@Override
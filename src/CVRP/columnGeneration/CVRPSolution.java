@@ -12,6 +12,8 @@ import optimisation.columnGeneration.AbstractSolution;
 
 public class CVRPSolution extends AbstractSolution<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	public CVRPSolution(double objectiveValue, Map<CVRPColumn, Double> columnMap)
 	{
 		super(objectiveValue, columnMap);
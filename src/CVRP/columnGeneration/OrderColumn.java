@@ -4,6 +4,8 @@ import CVRP.instance.CVRPConstants;
 
 public class OrderColumn extends CVRPColumn
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int index;
 
 	public OrderColumn(int index)
@@ -12,14 +14,14 @@ public class OrderColumn extends CVRPColumn
 		// Example for K = 2. w_0 = 1, w_1 = -1.
 		// Example for K = 3. w_0 = 2, w_1 = 0, w_2 = -2.
 		// Example for K = 4. w_0 = 3, w_1 = 1, w_2 = -1, w_3 = -3.
-		super((double) (CVRPConstants.K - 1 - 2 * index) / (CVRPConstants.K - 1));
+		super((double) (CVRPConstants.K - 1 - 2 * index) / (CVRPConstants.K - 1), true);
 
 		this.index = index;
 	}
 	
 	public OrderColumn(int index, double coefficient)
 	{
-		super(coefficient);
+		super(coefficient, true);
 		
 		this.index = index;
 	}
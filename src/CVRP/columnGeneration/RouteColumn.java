@@ -5,6 +5,8 @@ import CVRP.instance.Route;
 
 public class RouteColumn extends CVRPColumn
 {
+	private static final long serialVersionUID = 1L;
+
 	private final Route route;
 
 	public RouteColumn(Route route)
@@ -28,6 +30,13 @@ public class RouteColumn extends CVRPColumn
 		return route.getDistance();
 	}
 
+	@Override
+	public long getMemoryEstimate()
+	{
+		// Add the route and its list of boxed nodes.
+		return super.getMemoryEstimate() + 48 + 20L * route.getNodes().size();
+	}
+
 	@Override
 	public int hashCode()
 	{
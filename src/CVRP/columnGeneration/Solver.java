@@ -17,6 +17,7 @@ import CVRP.columnGeneration.constraints.MinConstraint;
 import CVRP.columnGeneration.constraints.OrderConstraint;
 import CVRP.columnGeneration.constraints.PartitionConstraint;
 import CVRP.columnGeneration.labelling.CVRPBucketSolver;
+import CVRP.columnGeneration.labelling.CVRPReducedCostFixer;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.columnGeneration.pricing.CVRPPricingRoutine;
 import CVRP.instance.CVRPConstants;
@@ -25,12 +26,16 @@ import ilog.concert.IloException;
 import optimisation.BAP.BranchAndPrice;
 import optimisation.BAP.NodeComparators.BoundComparator;
 import optimisation.columnGeneration.ColumnGeneration;
+import util.Configuration;
 
 public class Solver
 {
 	public static CVRPSolution run(CVRPInstance instance, int budget, int alphaBudget, double upperBound,
 			int[] utilities, long timeLimit, boolean efficientBranching) throws IloException, IOException
 	{
+		// Size the ng-neighbourhoods according to the configuration.
+		instance.setNeighbourhoodSize(Configuration.getConfiguration().getIntProperty("NG_NEIGHBOURHOOD_SIZE"));
+
 		// Initialise master.
 		CVRPMasterProblem masterProblem = new CVRPMasterProblem(instance);
 		masterProblem.setOut(null);
@@ -115,6 +120,10 @@ public class Solver
 				instance, masterProblem, columnGeneration);
 		branchAndPrice.setUpperBound(upperBound);
 		branchAndPrice.setTimeLimit(timeLimit);
+		if (Configuration.getConfiguration().getBooleanProperty("REDUCED_COST_FIXING"))
+		{
+			branchAndPrice.setReducedCostFixer(new CVRPReducedCostFixer());
+		}
 
 		// Branching rules.
 		switch (CVRPConstants.FORMULATION)
@@ -1,7 +1,11 @@
 package CVRP.columnGeneration.branching;
 
-public class Arc
+import java.io.Serializable;
+
+public class Arc implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int from;
 	private final int to;
 	
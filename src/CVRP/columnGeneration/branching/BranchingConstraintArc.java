@@ -6,15 +6,14 @@ import CVRP.columnGeneration.CVRPColumn;
 import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPInstance;
-import CVRP.instance.CustomerNode;
-import graph.structures.digraph.DirectedGraph;
-import graph.structures.digraph.DirectedGraphArc;
 import ilog.concert.IloException;
 import optimisation.columnGeneration.AbstractConstraint;
 import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class BranchingConstraintArc extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final Arc arc;
 
 	public BranchingConstraintArc(int bound, Arc arc)
@@ -72,15 +71,7 @@ public class BranchingConstraintArc extends AbstractConstraint<CVRPInstance, CVR
 			return;
 		}
 
-		DirectedGraph<CustomerNode, Integer> graph = pricingProblem.getGraph();
-		for (DirectedGraphArc<CustomerNode, Integer> outArc : graph.getOutArcs(graph.getNodes().get(arc.getFrom())))
-		{
-			if (outArc.getTo().getCustomer() == arc.getTo())
-			{
-				outArc.addDual(dual, 0);
-				break;
-			}
-		}
+		pricingProblem.addArcDual(arc.getFrom(), arc.getTo(), dual);
 	}
 
 	@Override
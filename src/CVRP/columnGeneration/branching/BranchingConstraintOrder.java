@@ -10,6 +10,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class BranchingConstraintOrder extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int index;
 
 	public BranchingConstraintOrder(boolean isLowerBound, int index, int bound)
@@ -11,6 +11,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class BranchingConstraintOrderRoute extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isLowerBound;
 	private final int index;
 	private final int resourceBound;
@@ -4,15 +4,14 @@ import CVRP.columnGeneration.CVRPColumn;
 import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPInstance;
-import CVRP.instance.CustomerNode;
-import graph.structures.digraph.DirectedGraph;
-import graph.structures.digraph.DirectedGraphArc;
 import ilog.concert.IloException;
 import optimisation.columnGeneration.AbstractConstraint;
 import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class BranchingConstraintVehicleCustomer extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isAllowed;
 	private final int vehicleIndex;
 	private final int customer;
@@ -86,11 +85,7 @@ public class BranchingConstraintVehicleCustomer extends AbstractConstraint<CVRPI
 			return;
 		}
 
-		DirectedGraph<CustomerNode, Integer> graph = pricingProblem.getGraph();
-		for (DirectedGraphArc<CustomerNode, Integer> outArc : graph.getOutArcs(graph.getNodes().get(customer)))
-		{
-			outArc.addDual(dual, 0);
-		}
+		pricingProblem.addOutNodeDual(customer, dual);
 	}
 
 	@Override
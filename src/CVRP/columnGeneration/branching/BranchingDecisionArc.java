@@ -1,9 +1,11 @@
 package CVRP.columnGeneration.branching;
 
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPConstants;
 import CVRP.instance.CVRPInstance;
@@ -13,6 +15,8 @@ import optimisation.columnGeneration.AbstractConstraint;
 public class BranchingDecisionArc
 		extends AbstractBranchingDecision<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isAllowed;
 	private final Arc arc;
 
@@ -33,6 +37,42 @@ public class BranchingDecisionArc
 		return true;
 	}
 
+	@Override
+	public boolean isCompatible(CVRPColumn column)
+	{
+		if (!(column instanceof RouteColumn))
+		{
+			return true;
+		}
+
+		// Check the arcs of the route in the same way as the pricing problem is modified.
+		List<Integer> nodes = ((RouteColumn) column).getRoute().getNodes();
+		for (int k = 0; k < nodes.size() - 1; k++)
+		{
+			int from = nodes.get(k);
+			int to = nodes.get(k + 1);
+			if (!isAllowed)
+			{
+				if (from == arc.getFrom() && to == arc.getTo())
+				{
+					return false;
+				}
+			}
+			else
+			{
+				if (to == arc.getTo() && from != arc.getFrom() && arc.getTo() != 0)
+				{
+					return false;
+				}
+				if (from == arc.getFrom() && to != arc.getTo() && arc.getFrom() != 0)
+				{
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void modifyPricingProblem(CVRPPricingProblem pricingProblem)
 	{
@@ -49,11 +89,11 @@ public class BranchingDecisionArc
 			{
 				if (i != arc.getFrom() && arc.getTo() != 0)
 				{
-					pricingProblem.addForbiddenArc(new Arc(i, arc.getTo()));
+					pricingProblem.addForbiddenArc(i, arc.getTo());
 				}
 				if (i != arc.getTo() && arc.getFrom() != 0)
 				{
-					pricingProblem.addForbiddenArc(new Arc(arc.getFrom(), i));
+					pricingProblem.addForbiddenArc(arc.getFrom(), i);
 				}
 			}
 		}
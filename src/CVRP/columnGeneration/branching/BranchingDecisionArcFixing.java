@@ -0,0 +1,106 @@
+package CVRP.columnGeneration.branching;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.RouteColumn;
+import CVRP.columnGeneration.pricing.CVRPPricingProblem;
+import CVRP.instance.CVRPConstants;
+import CVRP.instance.CVRPInstance;
+import optimisation.BAP.AbstractBranchingDecision;
+import optimisation.columnGeneration.AbstractConstraint;
+
+public class BranchingDecisionArcFixing
+		extends AbstractBranchingDecision<CVRPInstance, CVRPColumn, CVRPPricingProblem>
+{
+	private static final long serialVersionUID = 1L;
+
+	// Arcs fixed to zero by reduced cost arguments, indexed by pricing problem.
+	private final Map<Integer, Set<Arc>> forbiddenArcs;
+
+	public BranchingDecisionArcFixing(Map<Integer, Set<Arc>> forbiddenArcs)
+	{
+		this.forbiddenArcs = forbiddenArcs;
+	}
+
+	public int getNumberOfForbiddenArcs()
+	{
+		int numberOfArcs = 0;
+		for (Set<Arc> arcs : forbiddenArcs.values())
+		{
+			numberOfArcs += arcs.size();
+		}
+		return numberOfArcs;
+	}
+
+	@Override
+	public boolean isCompatible(CVRPPricingProblem pricingProblem)
+	{
+		return true;
+	}
+
+	@Override
+	public boolean isCompatible(CVRPColumn column)
+	{
+		if (!(column instanceof RouteColumn))
+		{
+			return true;
+		}
+
+		// Identify the pricing problem that generates the route, in the order in which pricing
+		// problems are generated.
+		RouteColumn routeColumn = (RouteColumn) column;
+		List<Integer> nodes = routeColumn.getRoute().getNodes();
+		int index = 0;
+		switch (CVRPConstants.FORMULATION)
+		{
+			case "VEHICLE_INDEX":
+				index = routeColumn.getRoute().getVehicleIndex();
+				break;
+			case "LAST_CUSTOMER":
+				index = nodes.get(nodes.size() - 2) - 1;
+				break;
+			default:
+				break;
+		}
+
+		// Routes are rejected if they use an arc that is fixed in their pricing problem.
+		Set<Arc> arcs = forbiddenArcs.get(index);
+		if (arcs != null)
+		{
+			for (int k = 0; k < nodes.size() - 1; k++)
+			{
+				if (arcs.contains(new Arc(nodes.get(k), nodes.get(k + 1))))
+				{
+					return false;
+				}
+			}
+		}
+		return true;
+	}
+
+	@Override
+	public void modifyPricingProblem(CVRPPricingProblem pricingProblem)
+	{
+		// Pricing problems are generated in the same order at every node, such that their
+		// index identifies them.
+		Set<Arc> arcs = forbiddenArcs.get(pricingProblem.getIndex());
+		if (arcs != null)
+		{
+			for (Arc arc : arcs)
+			{
+				pricingProblem.addForbiddenArc(arc);
+			}
+		}
+	}
+
+	@Override
+	public Set<AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>> getBranchingConstraints()
+	{
+		// Fixing only restricts the pricing problems.
+		return new LinkedHashSet<>();
+	}
+}
@@ -1,9 +1,11 @@
 package CVRP.columnGeneration.branching;
 
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPInstance;
 import optimisation.BAP.AbstractBranchingDecision;
@@ -12,6 +14,8 @@ import optimisation.columnGeneration.AbstractConstraint;
 public class BranchingDecisionLastCustomer
 		extends AbstractBranchingDecision<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isAllowed;
 	private final int customer;
 
@@ -31,6 +35,17 @@ public class BranchingDecisionLastCustomer
 		return true;
 	}
 
+	@Override
+	public boolean isCompatible(CVRPColumn column)
+	{
+		if (!isAllowed && column instanceof RouteColumn)
+		{
+			List<Integer> nodes = ((RouteColumn) column).getRoute().getNodes();
+			return nodes.get(nodes.size() - 2) != customer;
+		}
+		return true;
+	}
+
 	@Override
 	public void modifyPricingProblem(CVRPPricingProblem pricingProblem)
 	{
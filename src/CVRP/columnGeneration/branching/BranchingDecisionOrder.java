@@ -4,6 +4,7 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPInstance;
 import optimisation.BAP.AbstractBranchingDecision;
@@ -12,6 +13,8 @@ import optimisation.columnGeneration.AbstractConstraint;
 public class BranchingDecisionOrder
 		extends AbstractBranchingDecision<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int index;
 	private final boolean isLowerBound;
 	private final int bound;
@@ -29,6 +32,25 @@ public class BranchingDecisionOrder
 		return true;
 	}
 
+	@Override
+	public boolean isCompatible(CVRPColumn column)
+	{
+		if (column instanceof RouteColumn)
+		{
+			RouteColumn routeColumn = (RouteColumn) column;
+			int vehicleIndex = routeColumn.getRoute().getVehicleIndex();
+			if (isLowerBound && vehicleIndex <= index && routeColumn.getPayoff() < bound)
+			{
+				return false;
+			}
+			if (!isLowerBound && vehicleIndex >= index && routeColumn.getPayoff() > bound)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void modifyPricingProblem(CVRPPricingProblem pricingProblem)
 	{
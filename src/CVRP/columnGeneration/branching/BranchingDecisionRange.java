@@ -4,6 +4,7 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPConstants;
 import CVRP.instance.CVRPInstance;
@@ -13,6 +14,8 @@ import optimisation.columnGeneration.AbstractConstraint;
 public class BranchingDecisionRange
 		extends AbstractBranchingDecision<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isMinimum;
 	private final boolean isLowerBound;
 	private final int bound;
@@ -30,6 +33,24 @@ public class BranchingDecisionRange
 		return true;
 	}
 
+	@Override
+	public boolean isCompatible(CVRPColumn column)
+	{
+		if (column instanceof RouteColumn)
+		{
+			RouteColumn routeColumn = (RouteColumn) column;
+			if (isMinimum && isLowerBound && routeColumn.getPayoff() < bound)
+			{
+				return false;
+			}
+			if (!isMinimum && !isLowerBound && routeColumn.getPayoff() > bound)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void modifyPricingProblem(CVRPPricingProblem pricingProblem)
 	{
@@ -4,14 +4,18 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPInstance;
+import CVRP.instance.Route;
 import optimisation.BAP.AbstractBranchingDecision;
 import optimisation.columnGeneration.AbstractConstraint;
 
 public class BranchingDecisionVehicleCustomer
 		extends AbstractBranchingDecision<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isAllowed;
 	private final int vehicleIndex;
 	private final int customer;
@@ -29,6 +33,21 @@ public class BranchingDecisionVehicleCustomer
 		return true;
 	}
 
+	@Override
+	public boolean isCompatible(CVRPColumn column)
+	{
+		if (column instanceof RouteColumn)
+		{
+			Route route = ((RouteColumn) column).getRoute();
+			if ((isAllowed && route.getVehicleIndex() != vehicleIndex)
+					|| (!isAllowed && route.getVehicleIndex() == vehicleIndex))
+			{
+				return !route.getNodes().contains(customer);
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void modifyPricingProblem(CVRPPricingProblem pricingProblem)
 	{
@@ -58,10 +58,11 @@ public class BranchingRuleArc extends AbstractBranchingRule<CVRPInstance, CVRPCo
 			double fractionalValue = Math.abs(value - Math.rint(value));
 			if (fractionalValue > branchingPrecision)
 			{
-				BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = new BranchingCandidate<>(
-						fractionalValue);
-				candidate.addBranchingDecision(new BranchingDecisionArc(true, arc));
-				candidate.addBranchingDecision(new BranchingDecisionArc(false, arc));
+				BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = createBranchingCandidate(
+						fractionalValue, arc);
+				// The allowed branch rounds the value up, and the other branch rounds it down.
+				candidate.addBranchingDecision(new BranchingDecisionArc(true, arc), Math.ceil(value) - value);
+				candidate.addBranchingDecision(new BranchingDecisionArc(false, arc), value - Math.floor(value));
 				candidates.add(candidate);
 			}
 
@@ -55,10 +55,13 @@ public class BranchingRuleLastCustomer extends AbstractBranchingRule<CVRPInstanc
 			double fractionalValue = Math.abs(value - Math.rint(value));
 			if (fractionalValue > branchingPrecision)
 			{
-				BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = new BranchingCandidate<>(
-						fractionalValue);
-				candidate.addBranchingDecision(new BranchingDecisionLastCustomer(true, entry.getKey()));
-				candidate.addBranchingDecision(new BranchingDecisionLastCustomer(false, entry.getKey()));
+				BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = createBranchingCandidate(
+						fractionalValue, entry.getKey());
+				// The allowed branch rounds the value up, and the other branch rounds it down.
+				candidate.addBranchingDecision(
+						new BranchingDecisionLastCustomer(true, entry.getKey()), Math.ceil(value) - value);
+				candidate.addBranchingDecision(
+						new BranchingDecisionLastCustomer(false, entry.getKey()), value - Math.floor(value));
 				candidates.add(candidate);
 			}
 		}
@@ -110,8 +110,8 @@ public class BranchingRuleOrder extends AbstractBranchingRule<CVRPInstance, CVRP
 			if (orderLowerViolation.get(k) > 0.05)
 			{
 				double value = orderValues.get(k);
-				BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = new BranchingCandidate<>(
-						orderLowerViolation.get(k));
+				BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = createBranchingCandidate(
+						orderLowerViolation.get(k), true, k);
 				candidate.addBranchingDecision(createBranchingDecision(true, true, k, value));
 				candidate.addBranchingDecision(createBranchingDecision(true, false, k, value));
 				candidates.add(candidate);
@@ -119,8 +119,8 @@ public class BranchingRuleOrder extends AbstractBranchingRule<CVRPInstance, CVRP
 			if (orderUpperViolation.get(k) > 0.05)
 			{
 				double value = orderValues.get(k);
-				BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = new BranchingCandidate<>(
-						orderUpperViolation.get(k));
+				BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = createBranchingCandidate(
+						orderUpperViolation.get(k), false, k);
 				candidate.addBranchingDecision(createBranchingDecision(false, true, k, value));
 				candidate.addBranchingDecision(createBranchingDecision(false, false, k, value));
 				candidates.add(candidate);
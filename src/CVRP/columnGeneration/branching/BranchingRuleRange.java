@@ -99,16 +99,16 @@ public class BranchingRuleRange extends AbstractBranchingRule<CVRPInstance, CVRP
 		List<BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem>> candidates = new ArrayList<>();
 		if (fractionalValueMinimum > 0.05)
 		{
-			BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = new BranchingCandidate<>(
-					fractionalValueMinimum);
+			BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = createBranchingCandidate(
+					fractionalValueMinimum, true);
 			candidate.addBranchingDecision(createBranchingDecision(true, true, minimum));
 			candidate.addBranchingDecision(createBranchingDecision(true, false, minimum));
 			candidates.add(candidate);
 		}
 		if (fractionalValueMaximum > 0.05)
 		{
-			BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = new BranchingCandidate<>(
-					fractionalValueMaximum);
+			BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = createBranchingCandidate(
+					fractionalValueMaximum, false);
 			candidate.addBranchingDecision(createBranchingDecision(false, true, maximum));
 			candidate.addBranchingDecision(createBranchingDecision(false, false, maximum));
 			candidates.add(candidate);
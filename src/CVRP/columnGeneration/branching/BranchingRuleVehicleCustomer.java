@@ -65,12 +65,15 @@ public class BranchingRuleVehicleCustomer extends AbstractBranchingRule<CVRPInst
 				double fractionalValue = Math.abs(value - Math.rint(value));
 				if (fractionalValue > branchingPrecision)
 				{
-					BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = new BranchingCandidate<>(
-							fractionalValue);
+					BranchingCandidate<CVRPInstance, CVRPColumn, CVRPPricingProblem> candidate = createBranchingCandidate(
+							fractionalValue, vehicleIndex, entry.getKey());
+					// The allowed branch rounds the value up, and the other branch rounds it down.
 					candidate.addBranchingDecision(
-							new BranchingDecisionVehicleCustomer(true, vehicleIndex, entry.getKey()));
+							new BranchingDecisionVehicleCustomer(true, vehicleIndex, entry.getKey()),
+							Math.ceil(value) - value);
 					candidate.addBranchingDecision(
-							new BranchingDecisionVehicleCustomer(false, vehicleIndex, entry.getKey()));
+							new BranchingDecisionVehicleCustomer(false, vehicleIndex, entry.getKey()),
+							value - Math.floor(value));
 					candidates.add(candidate);
 				}
 			}
@@ -4,15 +4,14 @@ import CVRP.columnGeneration.CVRPColumn;
 import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPInstance;
-import CVRP.instance.CustomerNode;
-import graph.structures.digraph.DirectedGraph;
-import graph.structures.digraph.DirectedGraphArc;
 import ilog.concert.IloException;
 import optimisation.columnGeneration.AbstractConstraint;
 import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class AssignmentConstraint extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int vehicleIndex;
 
 	public AssignmentConstraint(int vehicleIndex)
@@ -63,11 +62,7 @@ public class AssignmentConstraint extends AbstractConstraint<CVRPInstance, CVRPC
 		{
 			return;
 		}
-		DirectedGraph<CustomerNode, Integer> graph = pricingProblem.getGraph();
-		for (DirectedGraphArc<CustomerNode, Integer> arc : graph.getOutArcs(graph.getNodes().get(0)))
-		{
-			arc.addDual(dual, 0);
-		}
+		pricingProblem.addOutNodeDual(0, dual);
 	}
 
 	@Override
@@ -4,15 +4,14 @@ import CVRP.columnGeneration.CVRPColumn;
 import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPInstance;
-import CVRP.instance.CustomerNode;
-import graph.structures.digraph.DirectedGraph;
-import graph.structures.digraph.DirectedGraphArc;
 import ilog.concert.IloException;
 import optimisation.columnGeneration.AbstractConstraint;
 import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class BudgetConstraint extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	public BudgetConstraint(int budget)
 	{
 		super(ConstraintType.LESSER, budget);
@@ -46,11 +45,7 @@ public class BudgetConstraint extends AbstractConstraint<CVRPInstance, CVRPColum
 	@Override
 	public void updatePricingProblemDuals(CVRPPricingProblem pricingProblem, double dual)
 	{
-		DirectedGraph<CustomerNode, Integer> graph = pricingProblem.getGraph();
-		for (DirectedGraphArc<CustomerNode, Integer> arc : graph.getArcs())
-		{
-			arc.addDual(dual * arc.getData(), 0);
-		}
+		pricingProblem.addDistanceDual(dual);
 	}
 
 	@Override
@@ -11,6 +11,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 public class LowerBoundConstraint
 		extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	public LowerBoundConstraint(int bound)
 	{
 		super(ConstraintType.GREATER, bound);
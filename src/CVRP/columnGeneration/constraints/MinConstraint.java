@@ -8,9 +8,6 @@ import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPConstants;
 import CVRP.instance.CVRPInstance;
-import CVRP.instance.CustomerNode;
-import graph.structures.digraph.DirectedGraph;
-import graph.structures.digraph.DirectedGraphArc;
 import ilog.concert.IloException;
 import optimisation.columnGeneration.AbstractConstraint;
 import optimisation.columnGeneration.AbstractMasterProblem;
@@ -18,6 +15,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 public class MinConstraint
 		extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int customer;
 	private final int M;
 
@@ -75,24 +74,17 @@ public class MinConstraint
 		{
 			return;
 		}	
-		DirectedGraph<CustomerNode, Integer> graph = pricingProblem.getGraph();
-		for (DirectedGraphArc<CustomerNode, Integer> arc : graph.getArcs())
+		if (CVRPConstants.RESOURCE_IS_DEMAND)
 		{
-			if (CVRPConstants.RESOURCE_IS_DEMAND)
-			{
-				arc.addDual(dual * arc.getTo().getDemand(), 0);
-			}
-			else
-			{
-				arc.addDual(dual * arc.getData(), 0);
-			}
-
-			// Add the big-M dual on the final arc to the depot.
-			if (arc.getTo().getCustomer() == 0)
-			{
-				arc.addDual(dual * -M, 0);
-			}
+			pricingProblem.addDemandDual(dual);
 		}
+		else
+		{
+			pricingProblem.addDistanceDual(dual);
+		}
+
+		// Add the big-M dual on the final arc to the depot.
+		pricingProblem.addInNodeDual(0, dual * -M);
 	}
 
 	@Override
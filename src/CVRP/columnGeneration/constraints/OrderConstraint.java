@@ -11,6 +11,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 public class OrderConstraint
 		extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	public OrderConstraint()
 	{
 		super(ConstraintType.LESSER, 0);
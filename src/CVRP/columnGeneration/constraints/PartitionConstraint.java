@@ -4,15 +4,14 @@ import CVRP.columnGeneration.CVRPColumn;
 import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPInstance;
-import CVRP.instance.CustomerNode;
-import graph.structures.digraph.DirectedGraph;
-import graph.structures.digraph.DirectedGraphArc;
 import ilog.concert.IloException;
 import optimisation.columnGeneration.AbstractConstraint;
 import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class PartitionConstraint extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int customer;
 
 	public PartitionConstraint(int customer)
@@ -57,11 +56,7 @@ public class PartitionConstraint extends AbstractConstraint<CVRPInstance, CVRPCo
 	@Override
 	public void updatePricingProblemDuals(CVRPPricingProblem pricingProblem, double dual)
 	{
-		DirectedGraph<CustomerNode, Integer> graph = pricingProblem.getGraph();
-		for (DirectedGraphArc<CustomerNode, Integer> arc : graph.getInArcs(graph.getNodes().get(customer)))
-		{
-			arc.addDual(dual, 0);
-		}
+		pricingProblem.addInNodeDual(customer, dual);
 	}
 	
 	@Override
@@ -11,6 +11,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 public class RankOrderConstraint
 		extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int vehicleIndex;
 
 	public RankOrderConstraint(int vehicleIndex)
@@ -6,9 +6,6 @@ import CVRP.columnGeneration.RouteColumn;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPConstants;
 import CVRP.instance.CVRPInstance;
-import CVRP.instance.CustomerNode;
-import graph.structures.digraph.DirectedGraph;
-import graph.structures.digraph.DirectedGraphArc;
 import ilog.concert.IloException;
 import optimisation.columnGeneration.AbstractConstraint;
 import optimisation.columnGeneration.AbstractMasterProblem;
@@ -16,6 +13,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 public class VehicleOrderConstraint
 		extends AbstractConstraint<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int vehicleIndex;
 
 	public VehicleOrderConstraint(int vehicleIndex)
@@ -63,17 +62,13 @@ public class VehicleOrderConstraint
 		{
 			return;
 		}
-		DirectedGraph<CustomerNode, Integer> graph = pricingProblem.getGraph();
-		for (DirectedGraphArc<CustomerNode, Integer> arc : graph.getArcs())
+		if (CVRPConstants.RESOURCE_IS_DEMAND)
+		{
+			pricingProblem.addDemandDual(dual);
+		}
+		else
 		{
-			if (CVRPConstants.RESOURCE_IS_DEMAND)
-			{
-				arc.addDual(dual * arc.getTo().getDemand(), 0);
-			}
-			else
-			{
-				arc.addDual(dual * arc.getData(), 0);
-			}
+			pricingProblem.addDistanceDual(dual);
 		}
 	}
 	
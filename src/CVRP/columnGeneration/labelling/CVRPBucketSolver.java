@@ -1,26 +1,24 @@
 package CVRP.columnGeneration.labelling;
 
 import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.LinkedList;
+import java.util.Collections;
 import java.util.List;
-import java.util.ListIterator;
-import java.util.Map;
 
 import CVRP.columnGeneration.CVRPColumn;
 import CVRP.columnGeneration.RouteColumn;
-import CVRP.columnGeneration.branching.Arc;
 import CVRP.columnGeneration.pricing.CVRPPricingProblem;
 import CVRP.instance.CVRPConstants;
 import CVRP.instance.CVRPInstance;
 import CVRP.instance.CustomerNode;
 import CVRP.instance.Route;
+import graph.structures.digraph.CompactDirectedGraph;
 import graph.structures.digraph.DirectedGraph;
 import graph.structures.digraph.DirectedGraphArc;
 import optimisation.columnGeneration.AbstractMasterProblem;
 import optimisation.columnGeneration.PricingSettings;
 import optimisation.columnGeneration.pricing.AbstractPricingProblemSolver;
 import util.Configuration;
+import util.LongBitSet;
 import util.Pair;
 
 public class CVRPBucketSolver
@@ -31,36 +29,69 @@ public class CVRPBucketSolver
 		super("labelling");
 	}
 
+	private static final int FORWARD = 0;
+	private static final int BACKWARD = 1;
+
+	// Every thread reuses its own label pool across pricing calls.
+	private final ThreadLocal<CVRPLabelPool> labelPool = ThreadLocal.withInitial(() -> new CVRPLabelPool());
+
 	@Override
 	public List<Pair<CVRPColumn, Double>> generateColumns(
 			AbstractMasterProblem<CVRPInstance, CVRPColumn, CVRPPricingProblem> masterProblem,
 			CVRPPricingProblem pricingProblem, double reducedCostThreshold, boolean enumerateColumns)
 	{
-		// Retrieve pricing parameters.
-		final int K = Configuration.getConfiguration().getIntProperty("K");
-
 		// Preprocess pricing problem.
 		preprocessForbiddenArcs(pricingProblem);
 
-		// Reset label indices.
-		int index = 0;
+		// Enumerate all elementary routes below the threshold, rather than pricing.
+		if (enumerateColumns)
+		{
+			return enumerateRoutes(pricingProblem, reducedCostThreshold);
+		}
+
+		// Trim the label pool afterwards, such that threads do not keep the memory of their
+		// largest pricing problem.
+		CVRPLabelPool pool = labelPool.get();
+		List<Pair<CVRPColumn, Double>> columns = labelRoutes(pool, pricingProblem, reducedCostThreshold);
+		pool.trim();
+		return columns;
+	}
+
+	private List<Pair<CVRPColumn, Double>> labelRoutes(CVRPLabelPool pool, CVRPPricingProblem pricingProblem,
+			double reducedCostThreshold)
+	{
+		// Retrieve pricing parameters.
+		final int K = Configuration.getConfiguration().getIntProperty("K");
+		final boolean completionBounds = Configuration.getConfiguration().getBooleanProperty("COMPLETION_BOUNDS");
 
-		// Initialise bucket map, mapping (last node, capacity) to a bucket.
-		Map<Integer, Map<Integer, List<CVRPLabel>>> forwardBucketMap = new LinkedHashMap<>();
-		Map<Integer, Map<Integer, List<CVRPLabel>>> backwardBucketMap = new LinkedHashMap<>();
+		// Reset the label pool, with a bucket for every (last node, capacity).
+		final int words = LongBitSet.getNumberOfWords(CVRPConstants.N + 1);
+		final int buckets = CVRPConstants.Q + 1;
+		pool.reset((CVRPConstants.N + 1) * buckets, words);
 
-		// Keep track of the current forward and backward q and number of labels.
+		// Keep track of the current forward and backward q.
 		int forwardQ = -1;
 		int backwardQ = CVRPConstants.Q + 1;
 		if (CVRPConstants.RESOURCE_IS_DEMAND)
 		{
 			backwardQ = Math.min(pricingProblem.getResourceUpperBound(), CVRPConstants.Q) + 1;
 		}
-		int forwardLabels = 0;
-		int backwardLabels = 0;
 
 		// Retrieve data.
 		DirectedGraph<CustomerNode, Integer> graph = pricingProblem.getGraph();
+		CompactDirectedGraph compactGraph = pricingProblem.getCompactGraph();
+
+		// Bound the reduced cost of completing a forward path at every node and load, using
+		// the backward costs of the q-route relaxation.
+		QRouteRelaxation relaxation = null;
+		if (completionBounds)
+		{
+			relaxation = new QRouteRelaxation(pricingProblem);
+			if (!relaxation.isValid())
+			{
+				relaxation = null;
+			}
+		}
 
 		// Initialise a list of paths.
 		List<Pair<CVRPColumn, Double>> columns = new ArrayList<>();
@@ -68,7 +99,13 @@ public class CVRPBucketSolver
 		// Perform labelling.
 		while (backwardQ - forwardQ > 1)
 		{
-			boolean forward = (forwardLabels < backwardLabels) ? true : false;
+			// Stop at a bucket boundary if other pricing problems found sufficient columns.
+			if (pricingProblem.isTerminated())
+			{
+				return columns;
+			}
+
+			boolean forward = pool.getNumberOfBucketLabels(FORWARD) < pool.getNumberOfBucketLabels(BACKWARD);
 			if (forward)
 			{
 				forwardQ++;
@@ -78,51 +115,41 @@ public class CVRPBucketSolver
 				backwardQ--;
 			}
 			int q = forward ? forwardQ : backwardQ;
-
-			// Retrieve correct bucketmap.
-			Map<Integer, Map<Integer, List<CVRPLabel>>> bucketMap = forward ? forwardBucketMap
-					: backwardBucketMap;
+			int direction = forward ? FORWARD : BACKWARD;
 
 			// Make initial label with fixed reduced cost.
-			if (forward && q == 0)
+			if (!forward || q == 0)
 			{
-				forwardLabels += addLabel(new CVRPLabel(index++, null, null, 0, 0, 0),
-						0, q, bucketMap, pricingProblem);
-			}
-			else if (!forward)
-			{
-				backwardLabels += addLabel(new CVRPLabel(index++, null, null, 0, 0, 0),
-						0, q, bucketMap, pricingProblem);
+				int label = pool.addLabel(-1, 0, 0, 0);
+				if (!addLabel(pool, direction, label, q, pricingProblem))
+				{
+					pool.removeLastLabel();
+				}
 			}
 
 			for (int i = 0; i <= CVRPConstants.N; i++)
 			{
 				// Skip unnecessary iterations.
-				if (!bucketMap.containsKey(i) || !bucketMap.get(i).containsKey(q))
+				int bucket = i * buckets + q;
+				if (pool.getBucketSize(direction, bucket) == 0)
 				{
 					continue;
 				}
 
-				for (DirectedGraphArc<CustomerNode, Integer> arc : forward ? graph.getOutArcs(graph.getNodes().get(i))
-						: graph.getInArcs(graph.getNodes().get(i)))
+				for (int arc : forward ? pricingProblem.getAllowedOutArcs(i) : pricingProblem.getAllowedInArcs(i))
 				{
-					// Skip forbidden arcs.
-					if (!pricingProblem.isAllowed(arc))
-					{
-						continue;
-					}
-
 					// Retrieve next customer.
-					CustomerNode nextCustomer = forward ? arc.getTo() : arc.getFrom();
+					int next = forward ? compactGraph.getHead(arc) : compactGraph.getTail(arc);
 
 					// Backward labels can never be extended to the depot.
-					if (!forward && nextCustomer.getCustomer() == 0)
+					if (!forward && next == 0)
 					{
 						continue;
 					}
 
 					// Capacity check.
-					int newQ = forward ? q + arc.getTo().getDemand() : q - arc.getTo().getDemand();
+					int demand = pricingProblem.getDemand(compactGraph.getHead(arc));
+					int newQ = forward ? q + demand : q - demand;
 					if (newQ < 0 || newQ > CVRPConstants.Q)
 					{
 						continue;
@@ -133,22 +160,48 @@ public class CVRPBucketSolver
 					{
 						continue;
 					}
-					if (forward && newQ > backwardQ && nextCustomer.getCustomer() != 0)
+					if (forward && newQ > backwardQ && next != 0)
 					{
 						continue;
 					}
 
-					// Iterate over all labels.
-					for (CVRPLabel label : bucketMap.get(i).get(q))
+					// Forward paths are completed from the next node within the remaining capacity.
+					double completionBound = -Double.MAX_VALUE;
+					if (forward && relaxation != null)
 					{
+						completionBound = relaxation.getBackwardCost(next, CVRPConstants.Q - newQ + demand);
+						if (completionBound == Double.MAX_VALUE)
+						{
+							continue;
+						}
+					}
+
+					// Iterate over all labels. The bucket is never modified while extending it.
+					long[] neighbours = graph.getNodes().get(next).getBitwiseNeighbours();
+					double arcCost = pricingProblem.getReducedCost(arc);
+					int arcDistance = compactGraph.getData(arc);
+					for (int k = 0; k < pool.getBucketSize(direction, bucket); k++)
+					{
+						int label = pool.getBucket(direction, bucket)[k];
+
 						// We cannot expand to nodes in the memory.
-						if ((label.getMemory() & (1 << nextCustomer.getCustomer())) > 0)
+						long[] memories = pool.getMemories();
+						int offset = label * words;
+						if ((memories[offset + (next >> 6)] & (1L << next)) != 0)
 						{
 							continue;
 						}
 
+						// Discard labels that can not be completed below the threshold. The bucket is
+						// sorted by cost, so neither can any later label.
+						double cost = pool.getCost(label) + arcCost;
+						if (cost + completionBound >= reducedCostThreshold)
+						{
+							break;
+						}
+
 						// Resource bound check.
-						int distance = label.getDistance() + arc.getData();
+						int distance = pool.getDistance(label) + arcDistance;
 						if (!satisfiesResourceBounds(false, distance, newQ, pricingProblem.getResourceLowerBound(),
 								pricingProblem.getResourceUpperBound()))
 						{
@@ -156,91 +209,110 @@ public class CVRPBucketSolver
 						}
 
 						// Expand label. Retain all nodes in ng-set of next node, and add next customer.
-						int memory = label.getMemory() & nextCustomer.getBitwiseNeighbours();
-						memory += 1 << nextCustomer.getCustomer();
-						double cost = label.getCost() + arc.getWeight() - arc.getData();
-						CVRPLabel expandedLabel = new CVRPLabel(index++, label, arc, cost, memory,
-								distance);
-
-						// Add label to bucket.
-						if (forward)
+						int expandedLabel = pool.addLabel(label, next, cost, distance);
+						memories = pool.getMemories();
+						int expandedOffset = expandedLabel * words;
+						for (int w = 0; w < words; w++)
 						{
-							forwardLabels += addLabel(expandedLabel, nextCustomer.getCustomer(), newQ, bucketMap,
-									pricingProblem);
-						}
-						else
-						{
-							backwardLabels += addLabel(expandedLabel, nextCustomer.getCustomer(), newQ, bucketMap,
-									pricingProblem);
+							memories[expandedOffset + w] = memories[offset + w] & neighbours[w];
 						}
+						memories[expandedOffset + (next >> 6)] |= (1L << next);
+
+						// Add label to bucket.
+						boolean inserted = addLabel(pool, direction, expandedLabel, newQ, pricingProblem);
 
 						// Moving back to depot, so we check the reduced cost criterion.
-						if (cost < reducedCostThreshold && nextCustomer.getCustomer() == 0 && forward)
+						if (cost < reducedCostThreshold && next == 0 && forward
+								&& satisfiesResourceBounds(true, distance, newQ,
+										pricingProblem.getResourceLowerBound(),
+										pricingProblem.getResourceUpperBound()))
 						{
-							// Resource bound check.
-							if (!satisfiesResourceBounds(true, distance, newQ, pricingProblem.getResourceLowerBound(),
-									pricingProblem.getResourceUpperBound()))
-							{
-								continue;
-							}
-							columns.add(backtrackPath(expandedLabel, pricingProblem.getVehicleIndex()));
+							columns.add(backtrackPath(pool, expandedLabel, graph, pricingProblem.getVehicleIndex()));
 							if (columns.size() == K)
 							{
+								// The labelling is incomplete, so fall back on the q-route bound.
+								pricingProblem.setReducedCostBound(getRouteBound(pricingProblem, relaxation));
 								return columns;
 							}
 						}
+
+						// Release the label if it was dominated.
+						if (!inserted)
+						{
+							pool.removeLastLabel();
+						}
 					}
 				}
 			}
 		}
 
 		// Concatenate forward and backward labels.
-		for (DirectedGraphArc<CustomerNode, Integer> arc : graph.getArcs())
+		for (int arc = 0; arc < compactGraph.getNumberOfArcs(); arc++)
 		{
-			if (!pricingProblem.isAllowed(arc))
+			if (!pricingProblem.isAllowedArc(arc))
 			{
 				continue;
 			}
 
+			// Stop if other pricing problems found sufficient columns.
+			if (pricingProblem.isTerminated())
+			{
+				return columns;
+			}
+
 			// We cannot concatenate at the depot.
-			int customerFrom = arc.getFrom().getCustomer();
-			int customerTo = arc.getTo().getCustomer();
+			int customerFrom = compactGraph.getTail(arc);
+			int customerTo = compactGraph.getHead(arc);
 			if (customerFrom == 0 || customerTo == 0)
 			{
 				continue;
 			}
 
-			for (int q = forwardQ - arc.getTo().getDemand(); q <= forwardQ; q++)
+			double arcCost = pricingProblem.getReducedCost(arc);
+			int arcDistance = compactGraph.getData(arc);
+			int demand = pricingProblem.getDemand(customerTo);
+			for (int q = Math.max(0, forwardQ - demand); q <= forwardQ; q++)
 			{
-				int nextQ = q + arc.getTo().getDemand();
-				if (nextQ < backwardQ)
+				int nextQ = q + demand;
+				if (nextQ < backwardQ || nextQ > CVRPConstants.Q)
 				{
 					continue;
 				}
 
 				// Iterate over combinations of forward and backward labels.
-				if (!forwardBucketMap.containsKey(customerFrom) || !forwardBucketMap.get(customerFrom).containsKey(q))
-				{
-					continue;
-				}
-				if (!backwardBucketMap.containsKey(customerTo) || !backwardBucketMap.get(customerTo).containsKey(nextQ))
+				int forwardBucket = customerFrom * buckets + q;
+				int backwardBucket = customerTo * buckets + nextQ;
+				int forwardSize = pool.getBucketSize(FORWARD, forwardBucket);
+				int backwardSize = pool.getBucketSize(BACKWARD, backwardBucket);
+				if (forwardSize == 0 || backwardSize == 0)
 				{
 					continue;
 				}
+				int[] forwardLabels = pool.getBucket(FORWARD, forwardBucket);
+				int[] backwardLabels = pool.getBucket(BACKWARD, backwardBucket);
+				long[] memories = pool.getMemories();
 
-				forwardLoop: for (CVRPLabel forwardLabel : forwardBucketMap.get(customerFrom).get(q))
+				forwardLoop: for (int f = 0; f < forwardSize; f++)
 				{
-					backwardLoop: for (CVRPLabel backwardLabel : backwardBucketMap.get(customerTo).get(nextQ))
+					int forwardLabel = forwardLabels[f];
+					backwardLoop: for (int b = 0; b < backwardSize; b++)
 					{
-						double reducedCost = forwardLabel.getCost() + backwardLabel.getCost() + arc.getWeight()
-								- arc.getData();
+						int backwardLabel = backwardLabels[b];
+						double reducedCost = pool.getCost(forwardLabel) + pool.getCost(backwardLabel) + arcCost;
 						if (reducedCost >= reducedCostThreshold)
 						{
-							break forwardLoop;
+							// Both buckets are sorted by cost, so no later forward label can qualify
+							// if even the cheapest backward label fails.
+							if (b == 0)
+							{
+								break forwardLoop;
+							}
+							break backwardLoop;
 						}
 
 						// Resource bound check.
-						int distance = forwardLabel.getDistance() + backwardLabel.getDistance() + arc.getData();
+						int distance = pool.getDistance(forwardLabel) + pool.getDistance(backwardLabel)
+								+ arcDistance;
 						if (!satisfiesResourceBounds(true, distance, nextQ, pricingProblem.getResourceLowerBound(),
 								pricingProblem.getResourceUpperBound()))
 						{
@@ -248,111 +320,217 @@ public class CVRPBucketSolver
 						}
 
 						// Check memory.
-						if ((forwardLabel.getMemory() & backwardLabel.getMemory()) > 0)
+						int forwardOffset = forwardLabel * words;
+						int backwardOffset = backwardLabel * words;
+						for (int w = 0; w < words; w++)
 						{
-							continue backwardLoop;
+							if ((memories[forwardOffset + w] & memories[backwardOffset + w]) != 0)
+							{
+								continue backwardLoop;
+							}
 						}
 
 						// Generate a new column.
-						Route route = concatenateLabels(forwardLabel, backwardLabel, arc,
+						Route route = concatenateLabels(pool, forwardLabel, backwardLabel, distance, graph,
 								pricingProblem.getVehicleIndex());
 						Pair<CVRPColumn, Double> pair = new Pair<>(new RouteColumn(route), reducedCost);
 						columns.add(pair);
 						if (columns.size() == K)
 						{
+							// The labelling is incomplete, so fall back on the q-route bound.
+							pricingProblem.setReducedCostBound(getRouteBound(pricingProblem, relaxation));
 							return columns;
 						}
 					}
 				}
 			}
 		}
+
+		// The labelling is complete, so it found the minimum reduced cost route, if it is
+		// below the threshold.
+		double reducedCostBound = reducedCostThreshold;
+		for (Pair<CVRPColumn, Double> column : columns)
+		{
+			reducedCostBound = Math.min(reducedCostBound, column.getValue());
+		}
+		pricingProblem.setReducedCostBound(reducedCostBound);
 		return columns;
 	}
 
-	private Pair<CVRPColumn, Double> backtrackPath(CVRPLabel label, int vehicleIndex)
+	private double getRouteBound(CVRPPricingProblem pricingProblem, QRouteRelaxation relaxation)
 	{
-		List<Integer> nodes = new ArrayList<>();
-		nodes.add(label.getPreviousArc().getTo().getCustomer());
-		int distance = 0;
-		int demand = 0;
-		double reducedCost = label.getCost();
-		CVRPLabel currentLabel = label;
-
-		while (currentLabel.getPreviousLabel() != null)
+		// Reuse the relaxation of the completion bounds, if any.
+		if (relaxation == null)
 		{
-			nodes.add(0, currentLabel.getPreviousArc().getFrom().getCustomer());
-			distance += currentLabel.getPreviousArc().getData();
-			demand += currentLabel.getPreviousArc().getFrom().getDemand();
-			currentLabel = currentLabel.getPreviousLabel();
+			relaxation = new QRouteRelaxation(pricingProblem);
 		}
-		Route route = new Route(vehicleIndex, distance, demand, nodes);
-		Pair<CVRPColumn, Double> pair = new Pair<>(new RouteColumn(route), reducedCost);
-		return pair;
+		return relaxation.getRouteBound();
 	}
 
-	private int addLabel(CVRPLabel label, int i, int q, Map<Integer, Map<Integer, List<CVRPLabel>>> bucketMap,
-			CVRPPricingProblem pricingProblem)
+	private List<Pair<CVRPColumn, Double>> enumerateRoutes(CVRPPricingProblem pricingProblem,
+			double reducedCostThreshold)
 	{
-		// Create new bucket if it does not yet exist.
-		if (!bucketMap.containsKey(i))
-		{
-			bucketMap.put(i, new LinkedHashMap<>());
-		}
-		if (!bucketMap.get(i).containsKey(q))
+		// Partial routes are pruned with the q-route completion bounds. The enumeration is
+		// abandoned once too many partial routes are extended.
+		final int limit = Configuration.getConfiguration().getIntProperty("ENUMERATION_LIMIT");
+		final long pathLimit = Configuration.getConfiguration().getIntProperty("ENUMERATION_PATH_LIMIT");
+		QRouteRelaxation relaxation = new QRouteRelaxation(pricingProblem);
+		int[] path = new int[CVRPConstants.N + 2];
+		boolean[] visited = new boolean[CVRPConstants.N + 1];
+		List<Pair<CVRPColumn, Double>> columns = new ArrayList<>();
+		long remainingPaths = extendRoute(pricingProblem, relaxation, reducedCostThreshold, limit, pathLimit, path, 1,
+				visited, 0, 0, 0, columns);
+		if (remainingPaths < 0)
 		{
-			bucketMap.get(i).put(q, new LinkedList<>());
+			return null;
 		}
+		return columns;
+	}
 
-		// Dominance checks.
-		int removed = 0;
-		boolean inserted = false;
-		ListIterator<CVRPLabel> iterator = bucketMap.get(i).get(q).listIterator();
-		while (iterator.hasNext())
+	/**
+	 * Returns the number of partial routes that may still be extended, which is negative if
+	 * the enumeration is abandoned.
+	 */
+	private long extendRoute(CVRPPricingProblem pricingProblem, QRouteRelaxation relaxation,
+			double reducedCostThreshold, int limit, long remainingPaths, int[] path, int length, boolean[] visited,
+			int load, int distance, double cost, List<Pair<CVRPColumn, Double>> columns)
+	{
+		CompactDirectedGraph compactGraph = pricingProblem.getCompactGraph();
+		int node = path[length - 1];
+		for (int arc : pricingProblem.getAllowedOutArcs(node))
 		{
-			// Retrieve label.
-			CVRPLabel otherLabel = iterator.next();
+			// Stop once the enumeration limit is exceeded, the caller discards the result.
+			if (columns.size() > limit)
+			{
+				return remainingPaths;
+			}
 
-			// First check if a label is dominated by another label with lower or equal
-			// reduced cost.
-			if (label.getCost() >= otherLabel.getCost())
+			// Complete the route when returning to the depot.
+			int next = compactGraph.getHead(arc);
+			int newDistance = distance + compactGraph.getData(arc);
+			double newCost = cost + pricingProblem.getReducedCost(arc);
+			if (next == 0)
 			{
-				if (dominates(otherLabel, label, pricingProblem.getResourceLowerBound(),
-						pricingProblem.getResourceUpperBound()))
+				if (node != 0 && newCost < reducedCostThreshold && satisfiesResourceBounds(true, newDistance, load,
+						pricingProblem.getResourceLowerBound(), pricingProblem.getResourceUpperBound()))
 				{
-					return 0;
+					List<Integer> nodes = new ArrayList<>();
+					for (int k = 0; k < length; k++)
+					{
+						nodes.add(path[k]);
+					}
+					nodes.add(0);
+					Route route = new Route(pricingProblem.getVehicleIndex(), newDistance, load, nodes);
+					columns.add(new Pair<>(new RouteColumn(route), newCost));
 				}
+				continue;
 			}
 
-			// The label is not yet inserted and not dominated, so we add it to the bucket.
-			if (label.getCost() < otherLabel.getCost() && !inserted)
+			// Routes are elementary, and should respect capacity and resource bounds.
+			int newLoad = load + pricingProblem.getDemand(next);
+			if (visited[next] || newLoad > CVRPConstants.Q || !satisfiesResourceBounds(false, newDistance, newLoad,
+					pricingProblem.getResourceLowerBound(), pricingProblem.getResourceUpperBound()))
 			{
-				inserted = true;
-				iterator.previous();
-				iterator.add(label);
-				otherLabel = iterator.next();
+				continue;
 			}
 
-			// We check if the new label dominates any labels in the current bucket.
-			if (label.getCost() <= otherLabel.getCost())
+			// Prune if no completion within the remaining capacity can reach the threshold.
+			if (relaxation.isValid()
+					&& newCost + relaxation.getBackwardCost(next, CVRPConstants.Q - load) >= reducedCostThreshold)
 			{
-				if (dominates(label, otherLabel, pricingProblem.getResourceLowerBound(),
-						pricingProblem.getResourceUpperBound()))
-				{
-					removed++;
-					iterator.remove();
-				}
+				continue;
+			}
+
+			// Abandon the enumeration if too many partial routes are extended.
+			if (--remainingPaths < 0)
+			{
+				return remainingPaths;
+			}
+			visited[next] = true;
+			path[length] = next;
+			remainingPaths = extendRoute(pricingProblem, relaxation, reducedCostThreshold, limit, remainingPaths, path,
+					length + 1, visited, newLoad, newDistance, newCost, columns);
+			visited[next] = false;
+			if (remainingPaths < 0)
+			{
+				return remainingPaths;
+			}
+		}
+		return remainingPaths;
+	}
+
+	private Pair<CVRPColumn, Double> backtrackPath(CVRPLabelPool pool, int label,
+			DirectedGraph<CustomerNode, Integer> graph, int vehicleIndex)
+	{
+		List<Integer> nodes = new ArrayList<>();
+		int demand = 0;
+		int currentLabel = label;
+		while (currentLabel >= 0)
+		{
+			int node = pool.getNode(currentLabel);
+			nodes.add(node);
+			demand += graph.getNodes().get(node).getDemand();
+			currentLabel = pool.getParent(currentLabel);
+		}
+		Collections.reverse(nodes);
+		Route route = new Route(vehicleIndex, pool.getDistance(label), demand, nodes);
+		Pair<CVRPColumn, Double> pair = new Pair<>(new RouteColumn(route), pool.getCost(label));
+		return pair;
+	}
+
+	private boolean addLabel(CVRPLabelPool pool, int direction, int label, int q,
+			CVRPPricingProblem pricingProblem)
+	{
+		int bucket = pool.getNode(label) * (CVRPConstants.Q + 1) + q;
+		int size = pool.getBucketSize(direction, bucket);
+		int[] labels = pool.ensureBucketCapacity(direction, bucket, size + 1);
+		double cost = pool.getCost(label);
+
+		// First check if a label is dominated by another label with lower or equal
+		// reduced cost. Labels are sorted by cost, so these form a prefix of the bucket.
+		int position = 0;
+		while (position < size && pool.getCost(labels[position]) <= cost)
+		{
+			if (dominates(pool, labels[position], label, pricingProblem.getResourceLowerBound(),
+					pricingProblem.getResourceUpperBound()))
+			{
+				return false;
 			}
+			position++;
 		}
 
-		// Add to the bucket if not yet added.
-		if (!inserted)
+		// We remove all labels with higher or equal reduced cost that are dominated by the
+		// new label, and determine the insertion position.
+		int insertion = -1;
+		int newSize = 0;
+		for (int k = 0; k < size; k++)
 		{
-			bucketMap.get(i).get(q).add(label);
+			int otherLabel = labels[k];
+			double otherCost = pool.getCost(otherLabel);
+			if (insertion < 0 && cost < otherCost)
+			{
+				insertion = newSize;
+			}
+			if (cost <= otherCost && dominates(pool, label, otherLabel, pricingProblem.getResourceLowerBound(),
+					pricingProblem.getResourceUpperBound()))
+			{
+				continue;
+			}
+			labels[newSize++] = otherLabel;
 		}
-		return 1 - removed;
+		if (insertion < 0)
+		{
+			insertion = newSize;
+		}
+
+		// Insert the label, keeping the bucket sorted.
+		System.arraycopy(labels, insertion, labels, insertion + 1, newSize - insertion);
+		labels[insertion] = label;
+		pool.setBucketSize(direction, bucket, newSize + 1);
+		return true;
 	}
 
-	private boolean dominates(CVRPLabel firstLabel, CVRPLabel secondLabel, int resourceLowerBound,
+	private boolean dominates(CVRPLabelPool pool, int firstLabel, int secondLabel, int resourceLowerBound,
 			int resourceUpperBound)
 	{
 		// In case of heuristic pricing: the first label, having a lower reduced cost,
@@ -363,9 +541,15 @@ public class CVRPBucketSolver
 		}
 
 		// In order to have dominance, the NG-neighbourhood should be fully contained.
-		if ((firstLabel.getMemory() & secondLabel.getMemory()) < firstLabel.getMemory())
+		long[] memories = pool.getMemories();
+		int firstOffset = firstLabel * pool.getWords();
+		int secondOffset = secondLabel * pool.getWords();
+		for (int w = 0; w < pool.getWords(); w++)
 		{
-			return false;
+			if ((memories[firstOffset + w] & ~memories[secondOffset + w]) != 0)
+			{
+				return false;
+			}
 		}
 
 		// We consider the load resource.
@@ -386,7 +570,7 @@ public class CVRPBucketSolver
 			else
 			{
 				// Only UB is active, so we prefer the label with lowest distance.
-				return firstLabel.getDistance() <= secondLabel.getDistance();
+				return pool.getDistance(firstLabel) <= pool.getDistance(secondLabel);
 			}
 		}
 		else
@@ -395,14 +579,14 @@ public class CVRPBucketSolver
 			{
 				// Only LB is active. We prefer the first label if it satisfies the LB already,
 				// or if it is closer to satisfying the LB.
-				return firstLabel.getDistance() >= resourceLowerBound
-						|| firstLabel.getDistance() >= secondLabel.getDistance();
+				return pool.getDistance(firstLabel) >= resourceLowerBound
+						|| pool.getDistance(firstLabel) >= pool.getDistance(secondLabel);
 			}
 			else
 			{
 				// Both LB and UB are active. We can only prove dominance if the distances are
 				// equal.
-				return firstLabel.getDistance() == secondLabel.getDistance();
+				return pool.getDistance(firstLabel) == pool.getDistance(secondLabel);
 			}
 		}
 	}
@@ -425,34 +609,33 @@ public class CVRPBucketSolver
 		}
 	}
 
-	private Route concatenateLabels(CVRPLabel forwardLabel, CVRPLabel backwardLabel,
-			DirectedGraphArc<CustomerNode, Integer> arc, int vehicleIndex)
+	private Route concatenateLabels(CVRPLabelPool pool, int forwardLabel, int backwardLabel, int distance,
+			DirectedGraph<CustomerNode, Integer> graph, int vehicleIndex)
 	{
 		List<Integer> nodes = new ArrayList<>();
-		int distance = forwardLabel.getDistance() + backwardLabel.getDistance() + arc.getData();
 		int demand = 0;
 
 		// Add forward nodes.
-		CVRPLabel currentLabel = forwardLabel;
-		nodes.add(currentLabel.getPreviousArc().getTo().getCustomer());
-		demand += currentLabel.getPreviousArc().getTo().getDemand();
-		while (currentLabel.getPreviousLabel() != null)
+		int currentLabel = forwardLabel;
+		while (currentLabel >= 0)
 		{
-			nodes.add(0, currentLabel.getPreviousArc().getFrom().getCustomer());
-			demand += currentLabel.getPreviousArc().getFrom().getDemand();
-			currentLabel = currentLabel.getPreviousLabel();
+			nodes.add(pool.getNode(currentLabel));
+			currentLabel = pool.getParent(currentLabel);
 		}
+		Collections.reverse(nodes);
 
 		// Add backward nodes.
 		currentLabel = backwardLabel;
-		nodes.add(currentLabel.getPreviousArc().getFrom().getCustomer());
-		demand += currentLabel.getPreviousArc().getFrom().getDemand();
-		while (currentLabel.getPreviousLabel() != null)
+		while (currentLabel >= 0)
+		{
+			nodes.add(pool.getNode(currentLabel));
+			currentLabel = pool.getParent(currentLabel);
+		}
+
+		// Compute demand.
+		for (int node : nodes)
 		{
-			CustomerNode nextNode = currentLabel.getPreviousArc().getTo();
-			nodes.add(nextNode.getCustomer());
-			demand += nextNode.getDemand();
-			currentLabel = currentLabel.getPreviousLabel();
+			demand += graph.getNodes().get(node).getDemand();
 		}
 
 		// Return route.
@@ -484,8 +667,7 @@ public class CVRPBucketSolver
 			{
 				if (sinkArc.getFrom().getCustomer() != customer)
 				{
-					Arc arc = new Arc(sinkArc.getFrom().getCustomer(), 0);
-					pricingProblem.addForbiddenArc(arc);
+					pricingProblem.addForbiddenArc(sinkArc.getFrom().getCustomer(), 0);
 				}
 			}
 
@@ -494,8 +676,7 @@ public class CVRPBucketSolver
 			{
 				if (outArc.getTo().getCustomer() != 0)
 				{
-					Arc arc = new Arc(customer, outArc.getTo().getCustomer());
-					pricingProblem.addForbiddenArc(arc);
+					pricingProblem.addForbiddenArc(customer, outArc.getTo().getCustomer());
 				}
 			}
 
@@ -504,8 +685,7 @@ public class CVRPBucketSolver
 			{
 				if (sourceArc.getTo().getCustomer() > customer)
 				{
-					Arc arc = new Arc(0, sourceArc.getTo().getCustomer());
-					pricingProblem.addForbiddenArc(arc);
+					pricingProblem.addForbiddenArc(0, sourceArc.getTo().getCustomer());
 				}
 			}
 		}
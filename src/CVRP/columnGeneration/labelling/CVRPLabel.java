@@ -1,5 +1,7 @@
 package CVRP.columnGeneration.labelling;
 
+import java.util.Arrays;
+
 import CVRP.instance.CustomerNode;
 import graph.structures.digraph.DirectedGraphArc;
 
@@ -9,11 +11,11 @@ public class CVRPLabel
 	private final CVRPLabel previousLabel;
 	private final DirectedGraphArc<CustomerNode, Integer> previousArc;
 	private double cost;
-	private final int memory;
+	private final long[] memory;
 	private final int distance;
 
 	public CVRPLabel(int index, CVRPLabel previousLabel, DirectedGraphArc<CustomerNode, Integer> previousArc,
-			double cost, int memory, int distance)
+			double cost, long[] memory, int distance)
 	{
 		this.index = index;
 		this.previousLabel = previousLabel;
@@ -48,7 +50,7 @@ public class CVRPLabel
 		return cost;
 	}
 
-	public int getMemory()
+	public long[] getMemory()
 	{
 		return memory;
 	}
@@ -68,7 +70,7 @@ public class CVRPLabel
 		result = prime * result + (int) (temp ^ (temp >>> 32));
 		result = prime * result + distance;
 		result = prime * result + index;
-		result = prime * result + memory;
+		result = prime * result + Arrays.hashCode(memory);
 		result = prime * result + ((previousArc == null) ? 0 : previousArc.hashCode());
 		result = prime * result + ((previousLabel == null) ? 0 : previousLabel.hashCode());
 		return result;
@@ -84,7 +86,7 @@ public class CVRPLabel
 		if (Double.doubleToLongBits(cost) != Double.doubleToLongBits(other.cost)) return false;
 		if (distance != other.distance) return false;
 		if (index != other.index) return false;
-		if (memory != other.memory) return false;
+		if (!Arrays.equals(memory, other.memory)) return false;
 		if (previousArc == null)
 		{
 			if (other.previousArc != null) return false;
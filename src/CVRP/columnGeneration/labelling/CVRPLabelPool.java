@@ -0,0 +1,202 @@
+package CVRP.columnGeneration.labelling;
+
+import java.util.Arrays;
+
+public class CVRPLabelPool
+{
+	private static final int INITIAL_CAPACITY = 1024;
+	private static final int INITIAL_BUCKET_CAPACITY = 4;
+
+	// The pool is trimmed if its capacity exceeds this factor times the peak number of labels.
+	private static final int TRIM_FACTOR = 4;
+
+	// Label data, stored as parallel arrays indexed by label.
+	private int numberOfLabels;
+	private int peakNumberOfLabels;
+	private int words;
+	private double[] costs;
+	private int[] distances;
+	private int[] parents;
+	private int[] nodes;
+	private long[] memories;
+
+	// Buckets indexed by direction and (node, q), storing label indices sorted by cost.
+	private int numberOfBuckets;
+	private final int[][][] buckets;
+	private final int[][] bucketSizes;
+	private final int[] bucketLabels;
+
+	public CVRPLabelPool()
+	{
+		this.words = 1;
+		this.costs = new double[INITIAL_CAPACITY];
+		this.distances = new int[INITIAL_CAPACITY];
+		this.parents = new int[INITIAL_CAPACITY];
+		this.nodes = new int[INITIAL_CAPACITY];
+		this.memories = new long[INITIAL_CAPACITY];
+
+		this.buckets = new int[2][][];
+		this.bucketSizes = new int[2][];
+		this.bucketLabels = new int[2];
+	}
+
+	public void reset(int numberOfBuckets, int words)
+	{
+		// Reallocate memory words if the width changed.
+		if (words != this.words)
+		{
+			this.words = words;
+			this.memories = new long[costs.length * words];
+		}
+		numberOfLabels = 0;
+		peakNumberOfLabels = 0;
+
+		// Reallocate buckets if the dimensions changed, and empty them otherwise.
+		for (int direction = 0; direction < 2; direction++)
+		{
+			if (numberOfBuckets != this.numberOfBuckets)
+			{
+				buckets[direction] = new int[numberOfBuckets][];
+				bucketSizes[direction] = new int[numberOfBuckets];
+			}
+			else
+			{
+				Arrays.fill(bucketSizes[direction], 0);
+			}
+			bucketLabels[direction] = 0;
+		}
+		this.numberOfBuckets = numberOfBuckets;
+	}
+
+	public int addLabel(int parent, int node, double cost, int distance)
+	{
+		// Grow all label arrays if necessary.
+		if (numberOfLabels == costs.length)
+		{
+			int capacity = 2 * costs.length;
+			costs = Arrays.copyOf(costs, capacity);
+			distances = Arrays.copyOf(distances, capacity);
+			parents = Arrays.copyOf(parents, capacity);
+			nodes = Arrays.copyOf(nodes, capacity);
+			memories = Arrays.copyOf(memories, capacity * words);
+		}
+
+		// Store label data. The memory is reset and should be set by the caller.
+		int label = numberOfLabels++;
+		peakNumberOfLabels = Math.max(peakNumberOfLabels, numberOfLabels);
+		costs[label] = cost;
+		distances[label] = distance;
+		parents[label] = parent;
+		nodes[label] = node;
+		Arrays.fill(memories, label * words, (label + 1) * words, 0L);
+		return label;
+	}
+
+	public void trim()
+	{
+		// Shrink the label arrays if they are much larger than the peak number of labels since
+		// the last reset, such that a single large pricing problem does not determine the
+		// memory of the pool afterwards. The pool is emptied, and buckets are reallocated when
+		// needed.
+		int peak = Math.max(INITIAL_CAPACITY, peakNumberOfLabels);
+		if (costs.length <= TRIM_FACTOR * peak)
+		{
+			return;
+		}
+		int capacity = 2 * peak;
+		costs = new double[capacity];
+		distances = new int[capacity];
+		parents = new int[capacity];
+		nodes = new int[capacity];
+		memories = new long[capacity * words];
+		numberOfLabels = 0;
+		for (int direction = 0; direction < 2; direction++)
+		{
+			if (buckets[direction] != null)
+			{
+				Arrays.fill(buckets[direction], null);
+				Arrays.fill(bucketSizes[direction], 0);
+			}
+			bucketLabels[direction] = 0;
+		}
+	}
+
+	public void removeLastLabel()
+	{
+		numberOfLabels--;
+	}
+
+	public int getNumberOfLabels()
+	{
+		return numberOfLabels;
+	}
+
+	public int getWords()
+	{
+		return words;
+	}
+
+	public double getCost(int label)
+	{
+		return costs[label];
+	}
+
+	public int getDistance(int label)
+	{
+		return distances[label];
+	}
+
+	public int getParent(int label)
+	{
+		return parents[label];
+	}
+
+	public int getNode(int label)
+	{
+		return nodes[label];
+	}
+
+	public long[] getMemories()
+	{
+		// Note that this array is replaced whenever the pool grows.
+		return memories;
+	}
+
+	public int getBucketSize(int direction, int bucket)
+	{
+		return bucketSizes[direction][bucket];
+	}
+
+	public int[] getBucket(int direction, int bucket)
+	{
+		// Note that this array is replaced whenever the bucket grows.
+		return buckets[direction][bucket];
+	}
+
+	public int getNumberOfBucketLabels(int direction)
+	{
+		return bucketLabels[direction];
+	}
+
+	public void setBucketSize(int direction, int bucket, int size)
+	{
+		bucketLabels[direction] += size - bucketSizes[direction][bucket];
+		bucketSizes[direction][bucket] = size;
+	}
+
+	public int[] ensureBucketCapacity(int direction, int bucket, int capacity)
+	{
+		int[] labels = buckets[direction][bucket];
+		if (labels == null)
+		{
+			labels = new int[Math.max(INITIAL_BUCKET_CAPACITY, capacity)];
+			buckets[direction][bucket] = labels;
+		}
+		else if (labels.length < capacity)
+		{
+			labels = Arrays.copyOf(labels, Math.max(2 * labels.length, capacity));
+			buckets[direction][bucket] = labels;
+		}
+		return labels;
+	}
+}
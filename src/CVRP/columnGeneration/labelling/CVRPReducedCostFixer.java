@@ -0,0 +1,68 @@
+package CVRP.columnGeneration.labelling;
+
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+
+import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.branching.Arc;
+import CVRP.columnGeneration.branching.BranchingDecisionArcFixing;
+import CVRP.columnGeneration.pricing.CVRPPricingProblem;
+import CVRP.instance.CVRPInstance;
+import graph.structures.digraph.CompactDirectedGraph;
+import ilog.concert.IloException;
+import optimisation.BAP.AbstractBranchingDecision;
+import optimisation.BAP.AbstractReducedCostFixer;
+import optimisation.columnGeneration.AbstractMasterProblem;
+import optimisation.columnGeneration.pricing.AbstractPricingRoutine;
+import util.Configuration;
+
+public class CVRPReducedCostFixer extends AbstractReducedCostFixer<CVRPInstance, CVRPColumn, CVRPPricingProblem>
+{
+	private final double PRECISION = Configuration.getConfiguration().getDoubleProperty("PRECISION");
+
+	@Override
+	public AbstractBranchingDecision<CVRPInstance, CVRPColumn, CVRPPricingProblem> fixVariables(
+			AbstractMasterProblem<CVRPInstance, CVRPColumn, CVRPPricingProblem> masterProblem,
+			AbstractPricingRoutine<CVRPInstance, CVRPColumn, CVRPPricingProblem> pricingRoutine,
+			CVRPInstance instance, double gap) throws IloException
+	{
+		// Bounds are only valid for the optimal duals, rather than the smoothed ones, which
+		// are loaded into the pricing problems.
+		Map<Integer, Set<Arc>> forbiddenArcs = new LinkedHashMap<>();
+		numberOfFixedVariables = 0;
+		for (CVRPPricingProblem pricingProblem : pricingRoutine.getPricingProblems())
+		{
+			// Bound the reduced cost of the best q-route through every arc.
+			pricingRoutine.loadDuals(masterProblem, pricingProblem, instance);
+			QRouteRelaxation relaxation = new QRouteRelaxation(pricingProblem);
+			if (!relaxation.isValid())
+			{
+				continue;
+			}
+
+			// Any route using an arc whose bound exceeds the gap can not improve the incumbent.
+			Set<Arc> arcs = new LinkedHashSet<>();
+			CompactDirectedGraph graph = pricingProblem.getCompactGraph();
+			for (int arc = 0; arc < graph.getNumberOfArcs(); arc++)
+			{
+				if (pricingProblem.isAllowedArc(arc) && relaxation.getArcBound(arc) >= gap + PRECISION)
+				{
+					arcs.add(new Arc(graph.getTail(arc), graph.getHead(arc)));
+				}
+			}
+			if (arcs.size() > 0)
+			{
+				forbiddenArcs.put(pricingProblem.getIndex(), arcs);
+				numberOfFixedVariables += arcs.size();
+			}
+		}
+
+		if (forbiddenArcs.isEmpty())
+		{
+			return null;
+		}
+		return new BranchingDecisionArcFixing(forbiddenArcs);
+	}
+}
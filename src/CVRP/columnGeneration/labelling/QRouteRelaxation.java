@@ -0,0 +1,188 @@
+package CVRP.columnGeneration.labelling;
+
+import java.util.Arrays;
+
+import CVRP.columnGeneration.pricing.CVRPPricingProblem;
+import CVRP.instance.CVRPConstants;
+import graph.structures.digraph.CompactDirectedGraph;
+
+public class QRouteRelaxation
+{
+	private final int numberOfNodes;
+	private final boolean isValid;
+
+	// Minimum reduced cost of a path from the depot to a node with a given load,
+	// including the demand of that node.
+	private final double[][] forwardCosts;
+
+	// Minimum reduced cost of a path from a node to the depot with at most a given
+	// load, including the demand of that node.
+	private final double[][] backwardCosts;
+
+	// Minimum reduced cost of any q-route.
+	private double routeBound;
+
+	private final CompactDirectedGraph graph;
+	private final double[] reducedCosts;
+
+	/**
+	 * Computes the relaxation for the current duals of the pricing problem.
+	 */
+	public QRouteRelaxation(CVRPPricingProblem pricingProblem)
+	{
+		this.graph = pricingProblem.getCompactGraph();
+		this.numberOfNodes = graph.getNumberOfNodes();
+
+		// Evaluate every arc once, as the recursions visit every arc for every load.
+		this.reducedCosts = new double[graph.getNumberOfArcs()];
+		for (int arc = 0; arc < reducedCosts.length; arc++)
+		{
+			reducedCosts[arc] = pricingProblem.getReducedCost(arc);
+		}
+		this.forwardCosts = new double[numberOfNodes][CVRPConstants.Q + 1];
+		this.backwardCosts = new double[numberOfNodes][CVRPConstants.Q + 1];
+		for (int i = 0; i < numberOfNodes; i++)
+		{
+			Arrays.fill(forwardCosts[i], Double.MAX_VALUE);
+			Arrays.fill(backwardCosts[i], Double.MAX_VALUE);
+		}
+
+		// The recursion requires strictly positive demands, otherwise q-routes may cycle
+		// without increasing the load.
+		boolean isValid = true;
+		for (int i = 1; i < numberOfNodes; i++)
+		{
+			if (pricingProblem.getDemand(i) <= 0)
+			{
+				isValid = false;
+			}
+		}
+		this.isValid = isValid;
+		if (isValid)
+		{
+			computeForwardCosts(pricingProblem);
+			computeBackwardCosts(pricingProblem);
+		}
+
+		// Every route leaves the depot through one of its outgoing arcs.
+		this.routeBound = Double.MAX_VALUE;
+		for (int arc : pricingProblem.getAllowedOutArcs(0))
+		{
+			routeBound = Math.min(routeBound, getArcBound(arc));
+		}
+	}
+
+	private void computeForwardCosts(CVRPPricingProblem pricingProblem)
+	{
+		forwardCosts[0][0] = 0;
+		for (int q = 1; q <= CVRPConstants.Q; q++)
+		{
+			for (int j = 1; j < numberOfNodes; j++)
+			{
+				int demand = pricingProblem.getDemand(j);
+				if (demand > q || !pricingProblem.isAllowed(j))
+				{
+					continue;
+				}
+
+				// Extend the cheapest paths ending at predecessors with the remaining load.
+				double cost = Double.MAX_VALUE;
+				for (int arc : pricingProblem.getAllowedInArcs(j))
+				{
+					double previousCost = forwardCosts[graph.getTail(arc)][q - demand];
+					if (previousCost == Double.MAX_VALUE)
+					{
+						continue;
+					}
+					cost = Math.min(cost, previousCost + reducedCosts[arc]);
+				}
+				forwardCosts[j][q] = cost;
+			}
+		}
+	}
+
+	private void computeBackwardCosts(CVRPPricingProblem pricingProblem)
+	{
+		backwardCosts[0][0] = 0;
+		for (int q = 1; q <= CVRPConstants.Q; q++)
+		{
+			for (int i = 1; i < numberOfNodes; i++)
+			{
+				int demand = pricingProblem.getDemand(i);
+				if (demand > q || !pricingProblem.isAllowed(i))
+				{
+					continue;
+				}
+
+				// Prepend this node to the cheapest paths starting at successors.
+				double cost = Double.MAX_VALUE;
+				for (int arc : pricingProblem.getAllowedOutArcs(i))
+				{
+					double nextCost = backwardCosts[graph.getHead(arc)][q - demand];
+					if (nextCost == Double.MAX_VALUE)
+					{
+						continue;
+					}
+					cost = Math.min(cost, nextCost + reducedCosts[arc]);
+				}
+				backwardCosts[i][q] = cost;
+			}
+		}
+
+		// Take prefix minima, such that the backward costs bound all completions within
+		// the remaining capacity.
+		for (int i = 0; i < numberOfNodes; i++)
+		{
+			for (int q = 1; q <= CVRPConstants.Q; q++)
+			{
+				backwardCosts[i][q] = Math.min(backwardCosts[i][q], backwardCosts[i][q - 1]);
+			}
+		}
+	}
+
+	public boolean isValid()
+	{
+		return isValid;
+	}
+
+	public double getRouteBound()
+	{
+		return routeBound;
+	}
+
+	public double getForwardCost(int customer, int q)
+	{
+		return forwardCosts[customer][q];
+	}
+
+	public double getBackwardCost(int customer, int q)
+	{
+		return backwardCosts[customer][q];
+	}
+
+	public double getArcBound(int arc)
+	{
+		// Without a valid relaxation, no route can be excluded.
+		if (!isValid)
+		{
+			return -Double.MAX_VALUE;
+		}
+
+		// Combine the cheapest path to the tail with the cheapest completion from the head.
+		int from = graph.getTail(arc);
+		int to = graph.getHead(arc);
+		double arcCost = reducedCosts[arc];
+		double bound = Double.MAX_VALUE;
+		for (int q = 0; q <= CVRPConstants.Q; q++)
+		{
+			double forwardCost = forwardCosts[from][q];
+			double backwardCost = backwardCosts[to][CVRPConstants.Q - q];
+			if (forwardCost == Double.MAX_VALUE || backwardCost == Double.MAX_VALUE)
+			{
+				continue;
+			}
+			bound = Math.min(bound, forwardCost + arcCost + backwardCost);
+		}
+		return bound;
+	}
+}
@@ -1,24 +1,45 @@
 package CVRP.columnGeneration.pricing;
 
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
+import java.util.Arrays;
 
 import CVRP.columnGeneration.branching.Arc;
 import CVRP.instance.CVRPInstance;
 import CVRP.instance.CustomerNode;
+import graph.structures.digraph.CompactDirectedGraph;
 import graph.structures.digraph.DirectedGraph;
 import graph.structures.digraph.DirectedGraphArc;
 import optimisation.columnGeneration.pricing.AbstractPricingProblem;
+import util.LongBitSet;
 
 public class CVRPPricingProblem extends AbstractPricingProblem<CVRPInstance>
 {
 	private final int vehicleIndex;
 	private int customer = -1;
-	private DirectedGraph<CustomerNode, Integer> graph;
-	private final Set<Integer> forbiddenNodes;
-	private final Set<Arc> forbiddenArcs;
+	private final DirectedGraph<CustomerNode, Integer> graph;
+	private final CompactDirectedGraph compactGraph;
+	private final int[] demands;
+
+	// Duals of the current pricing round. The graph is shared by all pricing problems, so
+	// duals are kept per problem and reduced costs are computed when needed. Duals on the
+	// out-arcs or in-arcs of a node, and duals per unit of distance or demand, are stored
+	// densely, and duals on single arcs sparsely.
+	private final double[] outNodeDuals;
+	private final double[] inNodeDuals;
+	private double distanceDual;
+	private double demandDual;
+	private double[] arcDuals;
+	private int[] dualArcs;
+	private int numberOfDualArcs;
+
+	// Forbidden nodes, and forbidden arcs indexed by from * numberOfNodes + to. Arcs incident
+	// to forbidden nodes are forbidden as well.
+	private final int numberOfNodes;
+	private final long[] forbiddenNodes;
+	private final long[] forbiddenArcs;
+
+	// Allowed out- and in-arcs of every node in the compact graph, built on demand.
+	private int[][] allowedOutArcs;
+	private int[][] allowedInArcs;
 
 	private int resourceLowerBound;
 	private int resourceUpperBound;
@@ -27,8 +48,13 @@ public class CVRPPricingProblem extends AbstractPricingProblem<CVRPInstance>
 	{
 		this.vehicleIndex = vehicleIndex;
 		this.graph = instance.getGraph();
-		this.forbiddenNodes = new LinkedHashSet<>();
-		this.forbiddenArcs = new LinkedHashSet<>();
+		this.compactGraph = instance.getCompactGraph();
+		this.demands = instance.getNodeDemands();
+		this.numberOfNodes = compactGraph.getNumberOfNodes();
+		this.outNodeDuals = new double[numberOfNodes];
+		this.inNodeDuals = new double[numberOfNodes];
+		this.forbiddenNodes = new long[LongBitSet.getNumberOfWords(numberOfNodes)];
+		this.forbiddenArcs = new long[LongBitSet.getNumberOfWords(numberOfNodes * numberOfNodes)];
 
 		this.resourceLowerBound = 0;
 		this.resourceUpperBound = Integer.MAX_VALUE;
@@ -56,81 +82,192 @@ public class CVRPPricingProblem extends AbstractPricingProblem<CVRPInstance>
 
 	public boolean isAllowed(int node)
 	{
-		return !forbiddenNodes.contains(node);
+		return !LongBitSet.contains(forbiddenNodes, node);
 	}
 
 	public boolean isAllowed(DirectedGraphArc<CustomerNode, Integer> arc)
 	{
-		if (forbiddenNodes.contains(arc.getTo().getCustomer()) || forbiddenNodes.contains(arc.getFrom().getCustomer()))
+		return isAllowed(arc.getFrom().getCustomer(), arc.getTo().getCustomer());
+	}
+
+	public boolean isAllowed(int from, int to)
+	{
+		return !LongBitSet.contains(forbiddenArcs, from * numberOfNodes + to);
+	}
+
+	public boolean isAllowedArc(int arc)
+	{
+		return isAllowed(compactGraph.getTail(arc), compactGraph.getHead(arc));
+	}
+
+	public int[] getAllowedOutArcs(int node)
+	{
+		if (allowedOutArcs == null)
 		{
-			return false;
+			buildAllowedArcs();
 		}
-		Arc forbiddenArc = new Arc(arc.getFrom().getCustomer(), arc.getTo().getCustomer());
-		if (forbiddenArcs.contains(forbiddenArc))
+		return allowedOutArcs[node];
+	}
+
+	public int[] getAllowedInArcs(int node)
+	{
+		if (allowedInArcs == null)
 		{
-			return false;
+			buildAllowedArcs();
 		}
-		return true;
+		return allowedInArcs[node];
 	}
 
-	public void setCustomer(int customer)
+	private void buildAllowedArcs()
 	{
-		this.customer = customer;
+		// Filter the adjacency of the compact graph once, such that labelling only iterates
+		// over allowed arcs.
+		allowedOutArcs = new int[numberOfNodes][];
+		allowedInArcs = new int[numberOfNodes][];
+		for (int i = 0; i < numberOfNodes; i++)
+		{
+			allowedOutArcs[i] = filterArcs(compactGraph.getOutBegin(i), compactGraph.getOutEnd(i), true);
+			allowedInArcs[i] = filterArcs(compactGraph.getInBegin(i), compactGraph.getInEnd(i), false);
+		}
 	}
 
-	public int getCustomer()
+	private int[] filterArcs(int begin, int end, boolean out)
 	{
-		return customer;
+		int[] arcs = new int[end - begin];
+		int size = 0;
+		for (int position = begin; position < end; position++)
+		{
+			int arc = out ? compactGraph.getOutArc(position) : compactGraph.getInArc(position);
+			if (isAllowedArc(arc))
+			{
+				arcs[size++] = arc;
+			}
+		}
+		return Arrays.copyOf(arcs, size);
 	}
 
-	public void addForbiddenNode(int customer)
+	public CompactDirectedGraph getCompactGraph()
 	{
-		forbiddenNodes.add(customer);
+		return compactGraph;
 	}
 
-	public void addForbiddenArc(Arc arc)
+	public int getDemand(int node)
 	{
-		forbiddenArcs.add(arc);
+		return demands[node];
 	}
 
-	public int getVehicleIndex()
+	public double getReducedCost(int arc)
 	{
-		return vehicleIndex;
+		// Reduced cost of an arc, excluding its distance.
+		int head = compactGraph.getHead(arc);
+		double dual = outNodeDuals[compactGraph.getTail(arc)] + inNodeDuals[head]
+				+ distanceDual * compactGraph.getData(arc) + demandDual * demands[head];
+		if (arcDuals != null)
+		{
+			dual += arcDuals[arc];
+		}
+		return -dual;
 	}
 
-	public DirectedGraph<CustomerNode, Integer> getGraph()
+	public void resetDuals()
 	{
-		return graph;
+		Arrays.fill(outNodeDuals, 0);
+		Arrays.fill(inNodeDuals, 0);
+		distanceDual = 0;
+		demandDual = 0;
+		for (int i = 0; i < numberOfDualArcs; i++)
+		{
+			arcDuals[dualArcs[i]] = 0;
+		}
+		numberOfDualArcs = 0;
+	}
+
+	public void addOutNodeDual(int node, double dual)
+	{
+		outNodeDuals[node] += dual;
+	}
+
+	public void addInNodeDual(int node, double dual)
+	{
+		inNodeDuals[node] += dual;
+	}
+
+	public void addDistanceDual(double dual)
+	{
+		distanceDual += dual;
 	}
 
-	@Override
-	public void makeThreadSafe()
+	public void addDemandDual(double dual)
 	{
-		// Dual information is stored in the graph. We need to make a deep copy of this.
-		DirectedGraph<CustomerNode, Integer> graphCopy = new DirectedGraph<>();
+		demandDual += dual;
+	}
 
-		// Copy nodes.
-		Map<CustomerNode, CustomerNode> nodeCopyMap = new LinkedHashMap<>();
-		for (CustomerNode node : graph.getNodes())
+	public void addArcDual(int from, int to, double dual)
+	{
+		int arc = compactGraph.getArc(from, to);
+		if (arc < 0)
+		{
+			return;
+		}
+		if (arcDuals == null)
+		{
+			arcDuals = new double[compactGraph.getNumberOfArcs()];
+			dualArcs = new int[4];
+		}
+		if (numberOfDualArcs == dualArcs.length)
 		{
-			CustomerNode nodeCopy = new CustomerNode(node.getCustomer(), node.getDemand(),
-					new LinkedHashSet<>(node.getNeighbours()));
-			graphCopy.addNode(nodeCopy);
-			nodeCopyMap.put(node, nodeCopy);
+			dualArcs = Arrays.copyOf(dualArcs, 2 * numberOfDualArcs);
 		}
+		dualArcs[numberOfDualArcs++] = arc;
+		arcDuals[arc] += dual;
+	}
+
+	public void setCustomer(int customer)
+	{
+		this.customer = customer;
+	}
+
+	public int getCustomer()
+	{
+		return customer;
+	}
 
-		// Copy arcs.
-		for (DirectedGraphArc<CustomerNode, Integer> arc : graph.getArcs())
+	public void addForbiddenNode(int customer)
+	{
+		if (!isAllowed(customer))
+		{
+			return;
+		}
+		LongBitSet.add(forbiddenNodes, customer);
+		for (int i = 0; i < numberOfNodes; i++)
 		{
-			CustomerNode from = nodeCopyMap.get(arc.getFrom());
-			CustomerNode to = nodeCopyMap.get(arc.getTo());
+			addForbiddenArc(customer, i);
+			addForbiddenArc(i, customer);
+		}
+	}
 
-			double[] costs = arc.getCosts().clone();
-			double[] duals = arc.getDuals().clone();
-			graphCopy.addArc(from, to, arc.getData(), costs, duals);
+	public void addForbiddenArc(Arc arc)
+	{
+		addForbiddenArc(arc.getFrom(), arc.getTo());
+	}
+
+	public void addForbiddenArc(int from, int to)
+	{
+		if (isAllowed(from, to))
+		{
+			LongBitSet.add(forbiddenArcs, from * numberOfNodes + to);
+			allowedOutArcs = null;
+			allowedInArcs = null;
 		}
+	}
+
+	public int getVehicleIndex()
+	{
+		return vehicleIndex;
+	}
 
-		// Replace graph by its copy.
-		this.graph = graphCopy;
+	public DirectedGraph<CustomerNode, Integer> getGraph()
+	{
+		return graph;
 	}
 }
@@ -4,15 +4,26 @@ import java.util.ArrayList;
 import java.util.List;
 
 import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.RouteColumn;
 import CVRP.instance.CVRPConstants;
 import CVRP.instance.CVRPInstance;
 import CVRP.instance.CustomerNode;
-import graph.structures.digraph.DirectedGraphArc;
+import ilog.concert.IloException;
+import ilog.concert.IloNumVar;
+import optimisation.columnGeneration.AbstractMasterProblem;
 import optimisation.columnGeneration.pricing.AbstractPricingRoutine;
+import util.Configuration;
+import util.Pair;
 
 public class CVRPPricingRoutine
 		extends AbstractPricingRoutine<CVRPInstance, CVRPColumn, CVRPPricingProblem>
 {
+	// Whether ng-neighbourhoods are enlarged on cycles of the master solution, and the
+	// maximum size they can grow to.
+	private final boolean dynamicNgRoutes = Configuration.getConfiguration().getBooleanProperty("DYNAMIC_NG_ROUTES");
+	private final int maximumNeighbourhoodSize = Configuration.getConfiguration()
+			.getIntProperty("NG_MAXIMUM_NEIGHBOURHOOD_SIZE");
+
 	@Override
 	protected void preProcessPricingProblems(CVRPInstance instance)
 	{
@@ -22,12 +33,7 @@ public class CVRPPricingRoutine
 	@Override
 	protected void preProcessPricingProblem(CVRPInstance instance, CVRPPricingProblem pricingProblem) 
 	{
-		// Reset duals.
-		for (DirectedGraphArc<CustomerNode, Integer> arc : pricingProblem.getGraph().getArcs())
-		{
-			arc.setDual(0, 0);
-			arc.setDual(0, 1);
-		}
+		pricingProblem.resetDuals();
 	}
 
 	@Override
@@ -38,25 +44,29 @@ public class CVRPPricingRoutine
 		switch (CVRPConstants.FORMULATION)
 		{
 			case "VEHICLE_INDEX":
-				// A single pricing problem per vehicle.
+				// A single pricing problem per vehicle, which drives at most one route.
 				for (int k = 0; k < instance.getK(); k++)
 				{
 					CVRPPricingProblem pp = new CVRPPricingProblem(k, instance);
+					pp.setMaximumNumberOfColumns(1);
 					pricingProblems.add(pp);
 				}
 				break;
 			case "LAST_CUSTOMER":
-				// A single pricing problem per potential last customer.
+				// A single pricing problem per potential last customer, which is visited by at
+				// most one route.
 				for (int i = 1; i <= instance.getN(); i++)
 				{
 					CVRPPricingProblem pp = new CVRPPricingProblem(0, instance);
 					pp.setCustomer(i);
+					pp.setMaximumNumberOfColumns(1);
 					pricingProblems.add(pp);
 				}
 				break;
 			case "NO_CONSTRAINTS":
-				// One single pricing problem.
+				// One single pricing problem, bounded by the number of vehicles.
 				CVRPPricingProblem pp = new CVRPPricingProblem(0, instance);
+				pp.setMaximumNumberOfColumns(instance.getK());
 				pricingProblems.add(pp);
 				break;
 			default:
@@ -64,4 +74,66 @@ public class CVRPPricingRoutine
 		}
 		return pricingProblems;
 	}
+
+	@Override
+	public boolean strengthenRelaxation(AbstractMasterProblem<CVRPInstance, CVRPColumn, CVRPPricingProblem> masterProblem,
+			CVRPInstance instance) throws IloException
+	{
+		if (!dynamicNgRoutes)
+		{
+			return false;
+		}
+
+		// Enlarge the neighbourhoods of customers on cycles of the selected routes.
+		boolean isEnlarged = false;
+		for (CVRPColumn column : masterProblem.getSolution().getColumnMap().keySet())
+		{
+			if (column instanceof RouteColumn)
+			{
+				isEnlarged |= removeCycles(instance, ((RouteColumn) column).getRoute().getNodes());
+			}
+		}
+		if (!isEnlarged)
+		{
+			return false;
+		}
+
+		// Routes that are no longer ng-routes are fixed to zero. As neighbourhoods only grow,
+		// this holds in the entire tree.
+		for (Pair<CVRPColumn, IloNumVar> pair : masterProblem.getColumns())
+		{
+			if (pair.getKey() instanceof RouteColumn
+					&& !instance.isNgFeasible(((RouteColumn) pair.getKey()).getRoute().getNodes()))
+			{
+				masterProblem.fixColumn(pair.getKey(), 0);
+			}
+		}
+		return true;
+	}
+
+	private boolean removeCycles(CVRPInstance instance, List<Integer> nodes)
+	{
+		// For every cycle starting and ending at a customer, add the customer to the
+		// neighbourhoods of all customers on the cycle, as long as they are not full.
+		boolean isEnlarged = false;
+		for (int end = 1; end < nodes.size() - 1; end++)
+		{
+			int customer = nodes.get(end);
+			int start = nodes.subList(0, end).lastIndexOf(customer);
+			if (start < 0)
+			{
+				continue;
+			}
+			for (int i = start + 1; i < end; i++)
+			{
+				CustomerNode node = instance.getGraph().getNodes().get(nodes.get(i));
+				if (!node.getNeighbours().contains(customer) && node.getNeighbours().size() <= maximumNeighbourhoodSize)
+				{
+					node.addNeighbour(customer);
+					isEnlarged = true;
+				}
+			}
+		}
+		return isEnlarged;
+	}
 }
@@ -9,5 +9,5 @@ public class CVRPConstants
 	public static String FORMULATION;
 	public static boolean RESOURCE_IS_DEMAND = false;
 	public static boolean USE_U = false;
-	public static final int NG_NEIGHBOURHOOD_SIZE = 8;
+	public static int NG_NEIGHBOURHOOD_SIZE = 8;
 }
@@ -1,5 +1,7 @@
 package CVRP.instance;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.LinkedHashSet;
@@ -7,8 +9,10 @@ import java.util.List;
 import java.util.Set;
 import java.util.stream.IntStream;
 
+import graph.structures.digraph.CompactDirectedGraph;
 import graph.structures.digraph.DirectedGraph;
 import optimisation.columnGeneration.AbstractInstance;
+import util.LongBitSet;
 
 public class CVRPInstance extends AbstractInstance
 {
@@ -20,6 +24,11 @@ public class CVRPInstance extends AbstractInstance
 
 	private final DirectedGraph<CustomerNode, Integer> graph;
 
+	// Compact view of the graph shared by all pricing problems, and the demand of every
+	// node, including the depot.
+	private final CompactDirectedGraph compactGraph;
+	private final int[] nodeDemands;
+
 	public CVRPInstance(int N, int K, int Q, int[] demands, int[][] distances)
 	{
 		this.N = N;
@@ -48,6 +57,12 @@ public class CVRPInstance extends AbstractInstance
 				}
 			}
 		}
+		this.compactGraph = new CompactDirectedGraph(graph);
+		this.nodeDemands = new int[N + 1];
+		for (int i = 1; i <= N; i++)
+		{
+			nodeDemands[i] = demands[i - 1];
+		}
 	}
 
 	private Set<Integer> computeNeighbours(int customer)
@@ -61,18 +76,88 @@ public class CVRPInstance extends AbstractInstance
 		int[] intArray = IntStream	.range(1, N + 1).boxed()
 									.sorted(Comparator.comparing(i -> distances[customer][i]))
 									.mapToInt(Integer::intValue).toArray();
-		for (int i = 0; i <= CVRPConstants.NG_NEIGHBOURHOOD_SIZE; i++)
+		for (int i = 0; i <= Math.min(CVRPConstants.NG_NEIGHBOURHOOD_SIZE, N - 1); i++)
 		{
 			neighbours.add(intArray[i]);
 		}
 		return neighbours;
 	}
 
+	/**
+	 * Recomputes the ng-neighbourhoods of all customers with the given number of nearest
+	 * customers, replacing any neighbours added since.
+	 */
+	public void setNeighbourhoodSize(int neighbourhoodSize)
+	{
+		CVRPConstants.NG_NEIGHBOURHOOD_SIZE = neighbourhoodSize;
+		for (CustomerNode node : graph.getNodes())
+		{
+			node.setNeighbours(computeNeighbours(node.getCustomer()));
+		}
+	}
+
+	@Override
+	public Serializable getSearchState()
+	{
+		// The ng-neighbourhoods of all nodes, which may have grown since they were computed.
+		ArrayList<LinkedHashSet<Integer>> neighbourhoods = new ArrayList<>();
+		for (CustomerNode node : graph.getNodes())
+		{
+			neighbourhoods.add(new LinkedHashSet<>(node.getNeighbours()));
+		}
+		return neighbourhoods;
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public void setSearchState(Serializable searchState)
+	{
+		if (searchState == null)
+		{
+			return;
+		}
+		List<LinkedHashSet<Integer>> neighbourhoods = (List<LinkedHashSet<Integer>>) searchState;
+		int i = 0;
+		for (CustomerNode node : graph.getNodes())
+		{
+			node.setNeighbours(new LinkedHashSet<>(neighbourhoods.get(i++)));
+		}
+	}
+
+	/**
+	 * Returns whether a route is an ng-route for the current neighbourhoods, that is, whether
+	 * no customer is visited again while it is in the memory of the route.
+	 */
+	public boolean isNgFeasible(List<Integer> nodes)
+	{
+		long[] memory = new long[LongBitSet.getNumberOfWords(N + 1)];
+		for (int i = 1; i < nodes.size() - 1; i++)
+		{
+			int customer = nodes.get(i);
+			if (LongBitSet.contains(memory, customer))
+			{
+				return false;
+			}
+			memory = LongBitSet.extend(memory, graph.getNodes().get(customer).getBitwiseNeighbours(), customer);
+		}
+		return true;
+	}
+
 	public DirectedGraph<CustomerNode, Integer> getGraph()
 	{
 		return graph;
 	}
 
+	public CompactDirectedGraph getCompactGraph()
+	{
+		return compactGraph;
+	}
+
+	public int[] getNodeDemands()
+	{
+		return nodeDemands;
+	}
+
 	public int getN()
 	{
 		return N;
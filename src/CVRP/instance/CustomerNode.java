@@ -3,25 +3,20 @@ package CVRP.instance;
 import java.util.Set;
 
 import graph.structures.digraph.DirectedGraphNodeIndex;
+import util.LongBitSet;
 
 public class CustomerNode extends DirectedGraphNodeIndex
 {
 	private final int customer;
 	private final int demand;
-	private final Set<Integer> neighbours;
-	private int bitwiseNeighbours;
+	private Set<Integer> neighbours;
+	private long[] bitwiseNeighbours;
 
 	public CustomerNode(int customer, int demand, Set<Integer> neighbours)
 	{
 		this.customer = customer;
 		this.demand = demand;
-		this.neighbours = neighbours;
-		
-		this.bitwiseNeighbours = 0;
-		for (int neighbour : neighbours)
-		{
-			bitwiseNeighbours += (1 << neighbour);
-		}
+		setNeighbours(neighbours);
 	}
 
 	public int getCustomer()
@@ -39,11 +34,27 @@ public class CustomerNode extends DirectedGraphNodeIndex
 		return neighbours;
 	}
 	
-	public int getBitwiseNeighbours()
+	public void setNeighbours(Set<Integer> neighbours)
+	{
+		this.neighbours = neighbours;
+		this.bitwiseNeighbours = new long[LongBitSet.getNumberOfWords(CVRPConstants.N + 1)];
+		for (int neighbour : neighbours)
+		{
+			LongBitSet.add(bitwiseNeighbours, neighbour);
+		}
+	}
+
+	public long[] getBitwiseNeighbours()
 	{
 		return bitwiseNeighbours;
 	}
 
+	public void addNeighbour(int neighbour)
+	{
+		neighbours.add(neighbour);
+		LongBitSet.add(bitwiseNeighbours, neighbour);
+	}
+
 	public boolean isDepot()
 	{
 		return customer == 0;
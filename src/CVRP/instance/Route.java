@@ -3,11 +3,14 @@ package CVRP.instance;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.List;
 
-public class Route
+public class Route implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int vehicleIndex;
 	private final int distance;
 	private final int demand;
@@ -1,5 +1,6 @@
 package CVRP.scripts;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.Arrays;
 import java.util.LinkedHashMap;
@@ -43,6 +44,7 @@ public class MainGini
 	{
 		// Parameter settings.
 		int setting = Integer.valueOf(args[0]);
+		boolean resume = args.length > 1 && args[1].equals("resume");
 		int[] numCustomers =
 		{ 15, 20, 25 };
 		int K = 5;
@@ -150,8 +152,18 @@ public class MainGini
 			}
 			branchAndPrice.addBranchingRule(new BranchingRuleArc(1));
 
-			// Solve with branch-and-price.
-			branchAndPrice.applyBranchAndPrice();
+			// Solve with branch-and-price, resuming from the checkpoint of an earlier run if
+			// requested.
+			String checkpointFile = "checkpoint_CVRP_" + setting + "_" + t + ".bin";
+			branchAndPrice.setCheckpointFile(checkpointFile);
+			if (resume && new File(checkpointFile).exists())
+			{
+				branchAndPrice.resumeBranchAndPrice(checkpointFile);
+			}
+			else
+			{
+				branchAndPrice.applyBranchAndPrice();
+			}
 
 			// Check whether solutions are TSP.
 			Map<CVRPColumn, Double> map = new LinkedHashMap<>();
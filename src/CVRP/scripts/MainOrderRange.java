@@ -1,5 +1,6 @@
 package CVRP.scripts;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
 
@@ -37,6 +38,7 @@ public class MainOrderRange
 	{
 		// Parameter settings.
 		int setting = Integer.valueOf(args[0]);
+		boolean resume = args.length > 1 && args[1].equals("resume");
 		int[] numCustomers =
 		{ 15, 20, 25 };
 		int K = 5;
@@ -153,8 +155,18 @@ public class MainOrderRange
 			}
 			branchAndPrice.addBranchingRule(new BranchingRuleArc(1));
 
-			// Solve with branch-and-price.
-			branchAndPrice.applyBranchAndPrice();
+			// Solve with branch-and-price, resuming from the checkpoint of an earlier run if
+			// requested.
+			String checkpointFile = "checkpoint_CVRP_" + setting + "_" + t + ".bin";
+			branchAndPrice.setCheckpointFile(checkpointFile);
+			if (resume && new File(checkpointFile).exists())
+			{
+				branchAndPrice.resumeBranchAndPrice(checkpointFile);
+			}
+			else
+			{
+				branchAndPrice.applyBranchAndPrice();
+			}
 
 			// Write logger.
 			Writer.write(Logger.getLogger().getOutput(), "logger_CVRP_" + setting + ".csv");
@@ -1,6 +1,8 @@
 package CVRP.tsp;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.LinkedList;
@@ -17,10 +19,12 @@ import CVRP.instance.CVRPConstants;
 import CVRP.instance.CVRPInstance;
 import CVRP.instance.CustomerNode;
 import CVRP.instance.Route;
+import graph.structures.digraph.CompactDirectedGraph;
 import graph.structures.digraph.DirectedGraph;
 import graph.structures.digraph.DirectedGraphArc;
 import optimisation.columnGeneration.AbstractMasterProblem;
 import optimisation.columnGeneration.pricing.AbstractPricingProblemSolver;
+import util.LongBitSet;
 import util.Pair;
 
 public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance, CVRPColumn, CVRPPricingProblem>
@@ -38,6 +42,9 @@ public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance,
 		// Reset label indices.
 		int index = 0;
 
+		// Determine the number of words needed to store the memory of a label.
+		final int words = LongBitSet.getNumberOfWords(CVRPConstants.N + 1);
+
 		// Initialise bucket map, mapping (last node, capacity) to a bucket.
 		Map<Integer, Map<Integer, List<CVRPLabel>>> forwardBucketMap = new LinkedHashMap<>();
 		Map<Integer, Map<Integer, List<CVRPLabel>>> backwardBucketMap = new LinkedHashMap<>();
@@ -54,10 +61,11 @@ public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance,
 
 		// Retrieve data.
 		DirectedGraph<CustomerNode, Integer> graph = pricingProblem.getGraph();
+		CompactDirectedGraph compactGraph = pricingProblem.getCompactGraph();
 
 		// Store a list of non-dominated labels and columns.
-		Map<Integer, Integer> distanceMap = new LinkedHashMap<>();
-		Map<Integer, Set<Pair<CVRPColumn, Double>>> columnMap = new LinkedHashMap<>();
+		Map<BitSet, Integer> distanceMap = new LinkedHashMap<>();
+		Map<BitSet, Set<Pair<CVRPColumn, Double>>> columnMap = new LinkedHashMap<>();
 
 		// Perform labelling.
 		while (backwardQ - forwardQ > 1)
@@ -79,12 +87,12 @@ public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance,
 			// Make initial label with fixed reduced cost.
 			if (forward && q == 0)
 			{
-				forwardLabels += addLabel(new CVRPLabel(index++, null, null, 0, 0, 0), 0, q, bucketMap, pricingProblem);
+				forwardLabels += addLabel(new CVRPLabel(index++, null, null, 0, new long[words], 0), 0, q, bucketMap, pricingProblem);
 			}
 			else
 				if (!forward)
 				{
-					backwardLabels += addLabel(new CVRPLabel(index++, null, null, 0, 0, 0), 0, q, bucketMap,
+					backwardLabels += addLabel(new CVRPLabel(index++, null, null, 0, new long[words], 0), 0, q, bucketMap,
 							pricingProblem);
 				}
 
@@ -96,26 +104,20 @@ public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance,
 					continue;
 				}
 
-				for (DirectedGraphArc<CustomerNode, Integer> arc : forward ? graph.getOutArcs(graph.getNodes().get(i))
-						: graph.getInArcs(graph.getNodes().get(i)))
+				for (int arc : forward ? pricingProblem.getAllowedOutArcs(i) : pricingProblem.getAllowedInArcs(i))
 				{
-					// Skip forbidden arcs.
-					if (!pricingProblem.isAllowed(arc))
-					{
-						continue;
-					}
-
 					// Retrieve next customer.
-					CustomerNode nextCustomer = forward ? arc.getTo() : arc.getFrom();
+					int next = forward ? compactGraph.getHead(arc) : compactGraph.getTail(arc);
 
 					// Backward labels can never be extended to the depot.
-					if (!forward && nextCustomer.getCustomer() == 0)
+					if (!forward && next == 0)
 					{
 						continue;
 					}
 
 					// Capacity check.
-					int newQ = forward ? q + arc.getTo().getDemand() : q - arc.getTo().getDemand();
+					int demand = pricingProblem.getDemand(compactGraph.getHead(arc));
+					int newQ = forward ? q + demand : q - demand;
 					if (newQ < 0 || newQ > CVRPConstants.Q)
 					{
 						continue;
@@ -126,63 +128,67 @@ public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance,
 					{
 						continue;
 					}
-					if (forward && newQ > backwardQ && nextCustomer.getCustomer() != 0)
+					if (forward && newQ > backwardQ && next != 0)
 					{
 						continue;
 					}
 
+					// Labels keep a reference to the arc of the graph for backtracking.
+					DirectedGraphArc<CustomerNode, Integer> graphArc = graph.getArcs().get(arc);
+					double arcCost = pricingProblem.getReducedCost(arc);
+					int arcDistance = compactGraph.getData(arc);
+
 					// Iterate over all labels.
 					for (CVRPLabel label : bucketMap.get(i).get(q))
 					{
 						// We cannot expand to nodes in the memory.
-						if ((label.getMemory() & (1 << nextCustomer.getCustomer())) > 0)
+						if (LongBitSet.contains(label.getMemory(), next))
 						{
 							continue;
 						}
 
 						// Expand label. Retain all nodes in ng-set of next node, and add next customer.
-						int distance = label.getDistance() + arc.getData();
-						int memory = label.getMemory();
-						memory += 1 << nextCustomer.getCustomer();
-						double cost = label.getCost() + arc.getWeight() - arc.getData();
-						CVRPLabel expandedLabel = new CVRPLabel(index++, label, arc, cost, memory, distance);
+						int distance = label.getDistance() + arcDistance;
+						long[] memory = label.getMemory().clone();
+						LongBitSet.add(memory, next);
+						double cost = label.getCost() + arcCost;
+						CVRPLabel expandedLabel = new CVRPLabel(index++, label, graphArc, cost, memory, distance);
 
 						// Add label to bucket.
 						if (forward)
 						{
-							forwardLabels += addLabel(expandedLabel, nextCustomer.getCustomer(), newQ, bucketMap,
-									pricingProblem);
+							forwardLabels += addLabel(expandedLabel, next, newQ, bucketMap, pricingProblem);
 						}
 						else
 						{
-							backwardLabels += addLabel(expandedLabel, nextCustomer.getCustomer(), newQ, bucketMap,
-									pricingProblem);
+							backwardLabels += addLabel(expandedLabel, next, newQ, bucketMap, pricingProblem);
 						}
 
 						// Moving back to depot.
-						if (nextCustomer.getCustomer() == 0 && forward)
+						if (next == 0 && forward)
 						{
 							Pair<CVRPColumn, Double> pair = backtrackPath(expandedLabel,
 									pricingProblem.getVehicleIndex());
 
 							// Add the column if it is not dominated.
-							if (distanceMap.containsKey(memory))
+							BitSet key = BitSet.valueOf(memory);
+							if (distanceMap.containsKey(key))
 							{
-								if (distanceMap.get(memory) < distance)
+								if (distanceMap.get(key) < distance)
 								{
 									continue;
 								}
-								if (distanceMap.get(memory) > distance)
+								if (distanceMap.get(key) > distance)
 								{
-									columnMap.put(memory, new LinkedHashSet<>());
+									columnMap.put(key, new LinkedHashSet<>());
 								}
 							}
-							distanceMap.put(memory, distance);
-							if (!columnMap.containsKey(memory))
+							distanceMap.put(key, distance);
+							if (!columnMap.containsKey(key))
 							{
-								columnMap.put(memory, new LinkedHashSet<>());
+								columnMap.put(key, new LinkedHashSet<>());
 							}
-							columnMap.get(memory).add(pair);
+							columnMap.get(key).add(pair);
 						}
 					}
 				}
@@ -190,25 +196,28 @@ public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance,
 		}
 
 		// Concatenate forward and backward labels.
-		for (DirectedGraphArc<CustomerNode, Integer> arc : graph.getArcs())
+		for (int arc = 0; arc < compactGraph.getNumberOfArcs(); arc++)
 		{
 			// Skip forbidden arcs.
-			if (!pricingProblem.isAllowed(arc))
+			if (!pricingProblem.isAllowedArc(arc))
 			{
 				continue;
 			}
 
 			// We cannot concatenate at the depot.
-			int customerFrom = arc.getFrom().getCustomer();
-			int customerTo = arc.getTo().getCustomer();
+			int customerFrom = compactGraph.getTail(arc);
+			int customerTo = compactGraph.getHead(arc);
 			if (customerFrom == 0 || customerTo == 0)
 			{
 				continue;
 			}
 
-			for (int q = forwardQ - arc.getTo().getDemand(); q <= forwardQ; q++)
+			double arcCost = pricingProblem.getReducedCost(arc);
+			int arcDistance = compactGraph.getData(arc);
+			int demand = pricingProblem.getDemand(customerTo);
+			for (int q = forwardQ - demand; q <= forwardQ; q++)
 			{
-				int nextQ = q + arc.getTo().getDemand();
+				int nextQ = q + demand;
 				if (nextQ < backwardQ)
 				{
 					continue;
@@ -229,40 +238,40 @@ public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance,
 					backwardLoop:
 					for (CVRPLabel backwardLabel : backwardBucketMap.get(customerTo).get(nextQ))
 					{
-						double reducedCost = forwardLabel.getCost() + backwardLabel.getCost() + arc.getWeight()
-								- arc.getData();
-						int distance = forwardLabel.getDistance() + backwardLabel.getDistance() + arc.getData();
+						double reducedCost = forwardLabel.getCost() + backwardLabel.getCost() + arcCost;
+						int distance = forwardLabel.getDistance() + backwardLabel.getDistance() + arcDistance;
 
 						// Check memory.
-						if ((forwardLabel.getMemory() & backwardLabel.getMemory()) > 0)
+						if (LongBitSet.intersects(forwardLabel.getMemory(), backwardLabel.getMemory()))
 						{
 							continue backwardLoop;
 						}
 
 						// Generate a new column.
-						Route route = concatenateLabels(forwardLabel, backwardLabel, arc,
+						Route route = concatenateLabels(forwardLabel, backwardLabel, distance,
 								pricingProblem.getVehicleIndex());
 						Pair<CVRPColumn, Double> pair = new Pair<>(new RouteColumn(route), reducedCost);
 
 						// Add the column if it is not dominated.
-						int memory = forwardLabel.getMemory() + backwardLabel.getMemory();
-						if (distanceMap.containsKey(memory))
+						BitSet key = BitSet
+								.valueOf(LongBitSet.union(forwardLabel.getMemory(), backwardLabel.getMemory()));
+						if (distanceMap.containsKey(key))
 						{
-							if (distanceMap.get(memory) < distance)
+							if (distanceMap.get(key) < distance)
 							{
 								continue;
 							}
-							if (distanceMap.get(memory) > distance)
+							if (distanceMap.get(key) > distance)
 							{
-								columnMap.put(memory, new LinkedHashSet<>());
+								columnMap.put(key, new LinkedHashSet<>());
 							}
 						}
-						distanceMap.put(memory, distance);
-						if (!columnMap.containsKey(memory))
+						distanceMap.put(key, distance);
+						if (!columnMap.containsKey(key))
 						{
-							columnMap.put(memory, new LinkedHashSet<>());
+							columnMap.put(key, new LinkedHashSet<>());
 						}
-						columnMap.get(memory).add(pair);
+						columnMap.get(key).add(pair);
 					}
 				}
 			}
@@ -270,9 +279,9 @@ public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance,
 
 		// Initialise a list of paths.
 		ArrayList<Pair<CVRPColumn, Double>> columns = new ArrayList<>();
-		for (int memory : columnMap.keySet())
+		for (BitSet key : columnMap.keySet())
 		{
-			for (Pair<CVRPColumn, Double> pair : columnMap.get(memory))
+			for (Pair<CVRPColumn, Double> pair : columnMap.get(key))
 			{
 				Route route = ((RouteColumn) pair.getKey()).getRoute();
 				if (!satisfiesResourceBounds(true, route.getDistance(), route.getDemand(),
@@ -330,7 +339,7 @@ public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance,
 			// Retrieve label.
 			CVRPLabel otherLabel = iterator.next();
 
-			if (label.getMemory() == otherLabel.getMemory())
+			if (Arrays.equals(label.getMemory(), otherLabel.getMemory()))
 			{
 				if (label.getDistance() > otherLabel.getDistance())
 				{
@@ -365,11 +374,10 @@ public class TSPBucketSolver extends AbstractPricingProblemSolver<CVRPInstance,
 		}
 	}
 
-	private Route concatenateLabels(CVRPLabel forwardLabel, CVRPLabel backwardLabel,
-			DirectedGraphArc<CustomerNode, Integer> arc, int vehicleIndex)
+	private Route concatenateLabels(CVRPLabel forwardLabel, CVRPLabel backwardLabel, int distance,
+			int vehicleIndex)
 	{
 		List<Integer> nodes = new ArrayList<>();
-		int distance = forwardLabel.getDistance() + backwardLabel.getDistance() + arc.getData();
 		int demand = 0;
 
 		// Add forward nodes.
@@ -1,5 +1,6 @@
 package GAP;
 
+import java.io.File;
 import java.io.IOException;
 import java.util.List;
 
@@ -35,6 +36,7 @@ public class MainGAP
 	{
 		// Read in instance.
 		int index = Integer.valueOf(args[0]);
+		boolean resume = args.length > 1 && args[1].equals("resume");
 		String[] instances =
 		{ "a", "b", "c" };
 		String[] agents =
@@ -157,8 +159,18 @@ public class MainGAP
 			// Impose time limit.
 			branchAndPrice.setTimeLimit(timeLimitSeconds * 1000);
 
-			// Solve with branch-and-price.
-			branchAndPrice.applyBranchAndPrice();
+			// Solve with branch-and-price, resuming from the checkpoint of an earlier run if
+			// requested.
+			String checkpointFile = "checkpoint_GAP_" + index + ".bin";
+			branchAndPrice.setCheckpointFile(checkpointFile);
+			if (resume && new File(checkpointFile).exists())
+			{
+				branchAndPrice.resumeBranchAndPrice(checkpointFile);
+			}
+			else
+			{
+				branchAndPrice.applyBranchAndPrice();
+			}
 
 			// Update bounds.
 			lowerBound = branchAndPrice.getLowerBound();
@@ -5,6 +5,8 @@ import java.util.Set;
 
 public class AssignmentColumn extends GAPColumn
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int agent;
 	private final int profit;
 	private final int cost;
@@ -42,6 +44,13 @@ public class AssignmentColumn extends GAPColumn
 		return jobs;
 	}
 
+	@Override
+	public long getMemoryEstimate()
+	{
+		// Add the set of boxed jobs.
+		return super.getMemoryEstimate() + 64 + 56L * jobs.size();
+	}
+
 	@Override
 	public int hashCode()
 	{
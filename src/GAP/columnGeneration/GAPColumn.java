@@ -6,11 +6,18 @@ import optimisation.columnGeneration.AbstractColumn;
 
 public abstract class GAPColumn extends AbstractColumn<GAPInstance, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	public GAPColumn(double coefficient)
 	{
 		super(coefficient, false);
 	}
 
+	public GAPColumn(double coefficient, boolean isAuxiliaryColumn)
+	{
+		super(coefficient, isAuxiliaryColumn);
+	}
+
 	@Override
 	public boolean equals(Object obj)
 	{
@@ -31,6 +31,12 @@ public class GAPMasterProblem extends AbstractMasterProblem<GAPInstance, GAPColu
 		this.orderMap = new LinkedHashMap<>();
 	}
 
+	@Override
+	protected AbstractMasterProblem<GAPInstance, GAPColumn, GAPPricingProblem> createMasterProblem() throws IloException
+	{
+		return new GAPMasterProblem(instance);
+	}
+
 	@Override
 	public List<Pair<GAPColumn, IloNumVar>> getColumns()
 	{
@@ -55,17 +61,7 @@ public class GAPMasterProblem extends AbstractMasterProblem<GAPInstance, GAPColu
 		}
 
 		// Initialise a new column.
-		IloColumn columnVar = cplex.column(objective, column.getCoefficient());
-
-		// Loop over all constraints.
-		for (AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem> constraint : constraintMap.keySet())
-		{
-			if (constraint.containsColumn(column))
-			{
-				columnVar = columnVar.and(
-						cplex.column(constraintMap.get(constraint), constraint.getCoefficient(column)));
-			}
-		}
+		IloColumn columnVar = createColumn(column);
 		if (column instanceof AssignmentColumn)
 		{
 			AssignmentColumn assignmentColumn = (AssignmentColumn) column;
@@ -151,7 +147,7 @@ public class GAPMasterProblem extends AbstractMasterProblem<GAPInstance, GAPColu
 	}
 
 	@Override
-	public int removeInactiveColumns() throws IloException
+	public List<GAPColumn> removeInactiveColumns() throws IloException
 	{
 		// Retrieve column removal threshold.
 		int removalThreshold = Configuration.getConfiguration()
@@ -165,6 +161,7 @@ public class GAPMasterProblem extends AbstractMasterProblem<GAPInstance, GAPColu
 		}
 
 		// Construct an array with columns to be removed.
+		List<GAPColumn> removedColumns = new ArrayList<>(count);
 		IloNumVar[] removeColumns = new IloNumVar[count];
 		int i = 0;
 		Iterator<Entry<AssignmentColumn, IloNumVar>> iter = assignmentMap.entrySet().iterator();
@@ -173,6 +170,7 @@ public class GAPMasterProblem extends AbstractMasterProblem<GAPInstance, GAPColu
 			Entry<AssignmentColumn, IloNumVar> entry = iter.next();
 			if (entry.getKey().getNumIterUnused() >= removalThreshold)
 			{
+				removedColumns.add(entry.getKey());
 				removeColumns[i] = entry.getValue();
 				iter.remove();
 				i++;
@@ -181,7 +179,7 @@ public class GAPMasterProblem extends AbstractMasterProblem<GAPInstance, GAPColu
 
 		// Remove columns from the model.
 		cplex.end(removeColumns);
-		return count;
+		return removedColumns;
 	}
 
 	@Override
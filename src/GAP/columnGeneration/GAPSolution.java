@@ -8,6 +8,8 @@ import optimisation.columnGeneration.AbstractSolution;
 
 public class GAPSolution extends AbstractSolution<GAPInstance, GAPColumn, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	public GAPSolution(double objectiveValue, Map<GAPColumn, Double> columnMap)
 	{
 		super(objectiveValue, columnMap);
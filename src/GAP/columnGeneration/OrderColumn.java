@@ -2,12 +2,15 @@ package GAP.columnGeneration;
 
 public class OrderColumn extends GAPColumn
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int index;
 	private final int numAgents;
 
 	public OrderColumn(int index, int numAgents)
 	{
-		super((double) (numAgents - 1 - 2 * index) / (numAgents - 1));
+		// Order columns are not generated by any pricing problem, and are auxiliary.
+		super((double) (numAgents - 1 - 2 * index) / (numAgents - 1), true);
 
 		this.index = index;
 		this.numAgents = numAgents;
@@ -10,6 +10,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class BranchingConstraintJobAgent extends AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int agent;
 	private final int job;
 	private final boolean allowed;
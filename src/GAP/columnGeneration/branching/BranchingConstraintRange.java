@@ -10,6 +10,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class BranchingConstraintRange extends AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isLowerBound;
 
 	public BranchingConstraintRange(boolean isLowerBound, int bound)
@@ -10,6 +10,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class BranchingConstraintRangeAssignment extends AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isLowerBound;
 	private final int resourceBound;
 
@@ -4,6 +4,7 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import GAP.GAPInstance;
+import GAP.columnGeneration.AssignmentColumn;
 import GAP.columnGeneration.GAPColumn;
 import GAP.columnGeneration.pricing.GAPPricingProblem;
 import optimisation.BAP.AbstractBranchingDecision;
@@ -11,6 +12,8 @@ import optimisation.columnGeneration.AbstractConstraint;
 
 public class BranchingDecisionJobAgent extends AbstractBranchingDecision<GAPInstance, GAPColumn, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int agent;
 	private final int job;
 	private final boolean allowed;
@@ -36,6 +39,22 @@ public class BranchingDecisionJobAgent extends AbstractBranchingDecision<GAPInst
 		return true;
 	}
 
+	@Override
+	public boolean isCompatible(GAPColumn column)
+	{
+		if (column instanceof AssignmentColumn)
+		{
+			AssignmentColumn assignmentColumn = (AssignmentColumn) column;
+			boolean containsJob = assignmentColumn.getJobs().contains(job);
+			if (assignmentColumn.getAgent() == agent)
+			{
+				return allowed == containsJob;
+			}
+			return !(allowed && containsJob);
+		}
+		return true;
+	}
+
 	@Override
 	public void modifyPricingProblem(GAPPricingProblem pricingProblem)
 	{
@@ -4,6 +4,7 @@ import java.util.LinkedHashSet;
 import java.util.Set;
 
 import GAP.GAPInstance;
+import GAP.columnGeneration.AssignmentColumn;
 import GAP.columnGeneration.GAPColumn;
 import GAP.columnGeneration.pricing.GAPPricingProblem;
 import optimisation.BAP.AbstractBranchingDecision;
@@ -12,6 +13,8 @@ import optimisation.columnGeneration.AbstractConstraint;
 public class BranchingDecisionRange
 		extends AbstractBranchingDecision<GAPInstance, GAPColumn, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final boolean isMinimum;
 	private final boolean isLowerBound;
 	private final int bound;
@@ -29,6 +32,24 @@ public class BranchingDecisionRange
 		return true;
 	}
 
+	@Override
+	public boolean isCompatible(GAPColumn column)
+	{
+		if (column instanceof AssignmentColumn)
+		{
+			AssignmentColumn assignmentColumn = (AssignmentColumn) column;
+			if (isMinimum && isLowerBound && assignmentColumn.getCost() < bound)
+			{
+				return false;
+			}
+			if (!isMinimum && !isLowerBound && assignmentColumn.getCost() > bound)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
 	@Override
 	public void modifyPricingProblem(GAPPricingProblem pricingProblem)
 	{
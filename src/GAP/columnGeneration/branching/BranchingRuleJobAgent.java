@@ -61,10 +61,13 @@ public class BranchingRuleJobAgent extends AbstractBranchingRule<GAPInstance, GA
 				double fractionalValue = Math.abs(value - Math.rint(value));
 				if (fractionalValue > PRECISION)
 				{
-					BranchingCandidate<GAPInstance, GAPColumn, GAPPricingProblem> candidate = new BranchingCandidate<>(
-							fractionalValue);
-					candidate.addBranchingDecision(new BranchingDecisionJobAgent(agent, job, true));
-					candidate.addBranchingDecision(new BranchingDecisionJobAgent(agent, job, false));
+					BranchingCandidate<GAPInstance, GAPColumn, GAPPricingProblem> candidate = createBranchingCandidate(
+							fractionalValue, agent, job);
+					// The allowed branch rounds the value up, and the other branch rounds it down.
+					candidate.addBranchingDecision(
+							new BranchingDecisionJobAgent(agent, job, true), Math.ceil(value) - value);
+					candidate.addBranchingDecision(
+							new BranchingDecisionJobAgent(agent, job, false), value - Math.floor(value));
 					candidates.add(candidate);
 				}
 			}
@@ -99,16 +99,16 @@ public class BranchingRuleRange extends AbstractBranchingRule<GAPInstance, GAPCo
 		List<BranchingCandidate<GAPInstance, GAPColumn, GAPPricingProblem>> candidates = new ArrayList<>();
 		if (fractionalValueMinimum > PRECISION)
 		{
-			BranchingCandidate<GAPInstance, GAPColumn, GAPPricingProblem> candidate = new BranchingCandidate<>(
-					fractionalValueMinimum);
+			BranchingCandidate<GAPInstance, GAPColumn, GAPPricingProblem> candidate = createBranchingCandidate(
+					fractionalValueMinimum, true);
 			candidate.addBranchingDecision(createBranchingDecision(true, true, minimum));
 			candidate.addBranchingDecision(createBranchingDecision(true, false, minimum));
 			candidates.add(candidate);
 		}
 		if (fractionalValueMaximum > PRECISION)
 		{
-			BranchingCandidate<GAPInstance, GAPColumn, GAPPricingProblem> candidate = new BranchingCandidate<>(
-					fractionalValueMinimum);
+			BranchingCandidate<GAPInstance, GAPColumn, GAPPricingProblem> candidate = createBranchingCandidate(
+					fractionalValueMinimum, false);
 			candidate.addBranchingDecision(createBranchingDecision(false, true, maximum));
 			candidate.addBranchingDecision(createBranchingDecision(false, false, maximum));
 			candidates.add(candidate);
@@ -10,6 +10,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class AgentAssignmentConstraint extends AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int agent;
 
 	public AgentAssignmentConstraint(int agent)
@@ -11,6 +11,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class AgentMinConstraint extends AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int agent;
 
 	public AgentMinConstraint(int agent)
@@ -12,6 +12,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 public class AgentOrderConstraint
 		extends AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final int agent;
 
 	public AgentOrderConstraint(int agent)
@@ -10,6 +10,8 @@ import optimisation.columnGeneration.AbstractMasterProblem;
 
 public class MinimumProfitConstraint extends AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem>
 {
+	private static final long serialVersionUID = 1L;
+
 	// Note: Since we are in minimisation form, we want to profit to be below a
 	// certain negative value.
 	public MinimumProfitConstraint(double profit)
@@ -76,6 +76,7 @@ public class GAPPPSolver extends AbstractPricingProblemSolver<GAPInstance, GAPCo
 		// Assignment is infeasible if cost of forced items exceeds capacity.
 		if (capacity < 0)
 		{
+			pricingProblem.setReducedCostBound(Double.MAX_VALUE);
 			return columns;
 		}
 
@@ -97,6 +98,12 @@ public class GAPPPSolver extends AbstractPricingProblemSolver<GAPInstance, GAPCo
 		// Apply DP algorithm.
 		for (int i = 1; i <= numJobs; i++)
 		{
+			// Stop if other pricing problems found sufficient columns.
+			if (pricingProblem.isTerminated())
+			{
+				return columns;
+			}
+
 			for (int j = 1; j <= capacity; j++)
 			{
 				int weight = weights[i - 1];
@@ -120,6 +127,31 @@ public class GAPPPSolver extends AbstractPricingProblemSolver<GAPInstance, GAPCo
 		{
 			forcedWeight += pricingProblem.getInstance().getCost(agent, job);
 		}
+
+		// The DP is exact, so the minimum reduced cost over all capacities is known.
+		double reducedCostBound = Double.MAX_VALUE;
+		for (int j = Math.max(0, minimumCapacity); j <= capacity; j++)
+		{
+			if (table[numJobs][j] != Double.MAX_VALUE)
+			{
+				reducedCostBound = Math.min(reducedCostBound,
+						reducedCost + table[numJobs][j] - pricingProblem.getValidDual(j + forcedWeight));
+			}
+		}
+		pricingProblem.setReducedCostBound(reducedCostBound);
+
+		// Enumerate all assignments below the threshold, rather than only the best ones.
+		if (enumerateColumns)
+		{
+			final int limit = Configuration.getConfiguration().getIntProperty("ENUMERATION_LIMIT");
+			for (int j = Math.max(0, minimumCapacity); j <= capacity && columns.size() <= limit; j++)
+			{
+				double constant = reducedCost - pricingProblem.getValidDual(j + forcedWeight);
+				enumerateKnapsacks(numJobs, j, 0, constant, new LinkedHashSet<>(), table, weights, values,
+						reducedCostThreshold, limit, pricingProblem, columns);
+			}
+			return columns;
+		}
 		for (int j = Math.max(0, minimumCapacity); j <= capacity; j++)
 		{
 			double potentialReducedCost = reducedCost + table[numJobs][j]
@@ -136,30 +168,72 @@ public class GAPPPSolver extends AbstractPricingProblemSolver<GAPInstance, GAPCo
 			// Retrieve index and reduced cost.
 			Pair<Integer, Double> candidate = candidates.poll();
 
-			// Retrieve optimal set of jobs, and add forced jobs.
+			// Retrieve optimal set of jobs.
 			Set<Integer> jobs = knapsack(numJobs, candidate.getKey(), table, weights);
-			for (int job : pricingProblem.getForcedJobs())
-			{
-				jobs.add(job);
-			}
-
-			// Compute parameters of assignment.
-			int profit = 0;
-			int cost = 0;
-			for (int job : jobs)
-			{
-				// We frame profit maximisation as profit minimisation.
-				profit -= instance.getProfit(agent, job);
-				cost += instance.getCost(agent, job);
-			}
-			AssignmentColumn column = new AssignmentColumn(agent, profit, cost, jobs);
-			columns.add(new Pair<>(column, candidate.getValue()));
+			columns.add(new Pair<>(createColumn(pricingProblem, jobs), candidate.getValue()));
 		}
 
 		// Return columns.
 		return columns;
 	}
 
+	private GAPColumn createColumn(GAPPricingProblem pricingProblem, Set<Integer> jobs)
+	{
+		// Add forced jobs.
+		GAPInstance instance = pricingProblem.getInstance();
+		int agent = pricingProblem.getAgent();
+		for (int job : pricingProblem.getForcedJobs())
+		{
+			jobs.add(job);
+		}
+
+		// Compute parameters of assignment.
+		int profit = 0;
+		int cost = 0;
+		for (int job : jobs)
+		{
+			// We frame profit maximisation as profit minimisation.
+			profit -= instance.getProfit(agent, job);
+			cost += instance.getCost(agent, job);
+		}
+		return new AssignmentColumn(agent, profit, cost, jobs);
+	}
+
+	private void enumerateKnapsacks(int i, int j, double value, double constant, Set<Integer> jobs,
+			double[][] table, int[] weights, double[] values, double reducedCostThreshold, int limit,
+			GAPPricingProblem pricingProblem, List<Pair<GAPColumn, Double>> columns)
+	{
+		// Stop once the enumeration limit is exceeded, the caller discards the result.
+		if (columns.size() > limit)
+		{
+			return;
+		}
+
+		// All items have been decided, and the remaining capacity is exactly used.
+		if (i == 0)
+		{
+			columns.add(new Pair<>(createColumn(pricingProblem, new LinkedHashSet<>(jobs)), value + constant));
+			return;
+		}
+
+		// The table bounds the best completion of the first i - 1 items, so branches that
+		// can not reach the threshold are pruned.
+		if (table[i - 1][j] != Double.MAX_VALUE && value + table[i - 1][j] + constant < reducedCostThreshold)
+		{
+			enumerateKnapsacks(i - 1, j, value, constant, jobs, table, weights, values, reducedCostThreshold, limit,
+					pricingProblem, columns);
+		}
+		int weight = weights[i - 1];
+		if (weight <= j && table[i - 1][j - weight] != Double.MAX_VALUE
+				&& value + values[i - 1] + table[i - 1][j - weight] + constant < reducedCostThreshold)
+		{
+			jobs.add(i - 1);
+			enumerateKnapsacks(i - 1, j - weight, value + values[i - 1], constant, jobs, table, weights, values,
+					reducedCostThreshold, limit, pricingProblem, columns);
+			jobs.remove(i - 1);
+		}
+	}
+
 	private Set<Integer> knapsack(int i, int j, double[][] table, int[] weights)
 	{
 		// Retrieve items in optimal knapack.
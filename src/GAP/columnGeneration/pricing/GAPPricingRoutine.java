@@ -27,7 +27,10 @@ public class GAPPricingRoutine extends AbstractPricingRoutine<GAPInstance, GAPCo
 		List<GAPPricingProblem> pricingProblems = new ArrayList<>();
 		for (int i = 0; i < instance.getNumAgents(); i++)
 		{
-			pricingProblems.add(new GAPPricingProblem(instance, i));
+			// Every agent is assigned at most once.
+			GAPPricingProblem pricingProblem = new GAPPricingProblem(instance, i);
+			pricingProblem.setMaximumNumberOfColumns(1);
+			pricingProblems.add(pricingProblem);
 		}
 		return pricingProblems;
 	}
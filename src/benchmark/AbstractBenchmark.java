@@ -0,0 +1,24 @@
+package benchmark;
+
+public abstract class AbstractBenchmark
+{
+	private final String name;
+
+	public AbstractBenchmark(String name)
+	{
+		this.name = name;
+	}
+
+	public String getName()
+	{
+		return name;
+	}
+
+	public abstract void setup() throws Exception;
+
+	/**
+	 * Execute a single operation. The result is consumed by the runner, such that the
+	 * computation can not be eliminated.
+	 */
+	public abstract Object run() throws Exception;
+}
@@ -0,0 +1,92 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import util.Writer;
+
+public class BenchmarkRunner
+{
+	private final int warmupIterations;
+	private final int measurementIterations;
+	private final List<AbstractBenchmark> benchmarks;
+
+	private final StringBuilder stringBuilder;
+	private int sink = 0;
+
+	public BenchmarkRunner(int warmupIterations, int measurementIterations)
+	{
+		this.warmupIterations = warmupIterations;
+		this.measurementIterations = measurementIterations;
+		this.benchmarks = new ArrayList<>();
+
+		this.stringBuilder = new StringBuilder();
+		stringBuilder.append("benchmark;iterations;mean_ms;min_ms;max_ms;stdev_ms");
+	}
+
+	public void addBenchmark(AbstractBenchmark benchmark)
+	{
+		benchmarks.add(benchmark);
+	}
+
+	public void run() throws Exception
+	{
+		for (AbstractBenchmark benchmark : benchmarks)
+		{
+			benchmark.setup();
+
+			// Warm up, such that the measured code has been compiled.
+			for (int i = 0; i < warmupIterations; i++)
+			{
+				consume(benchmark.run());
+			}
+
+			// Measure every iteration separately.
+			double[] times = new double[measurementIterations];
+			for (int i = 0; i < measurementIterations; i++)
+			{
+				long time = System.nanoTime();
+				Object result = benchmark.run();
+				times[i] = (System.nanoTime() - time) / 1e6;
+				consume(result);
+			}
+			report(benchmark.getName(), times);
+		}
+	}
+
+	private void consume(Object result)
+	{
+		// Keep results alive, such that the computation is not removed as dead code.
+		sink += (result == null) ? 0 : result.hashCode();
+	}
+
+	private void report(String name, double[] times)
+	{
+		double mean = 0;
+		double min = Double.MAX_VALUE;
+		double max = 0;
+		for (double time : times)
+		{
+			mean += time / times.length;
+			min = Math.min(min, time);
+			max = Math.max(max, time);
+		}
+		double variance = 0;
+		for (double time : times)
+		{
+			variance += (time - mean) * (time - mean) / Math.max(1, times.length - 1);
+		}
+		double stdev = Math.sqrt(variance);
+
+		System.out.println(name + ". Mean (ms): " + Writer.formatDouble(mean) + ". Min (ms): "
+				+ Writer.formatDouble(min) + ". Max (ms): " + Writer.formatDouble(max) + ". Stdev (ms): "
+				+ Writer.formatDouble(stdev) + ". Sink: " + (sink & 1));
+		stringBuilder.append("\n" + name + ";" + times.length + ";" + Writer.formatDouble(mean) + ";"
+				+ Writer.formatDouble(min) + ";" + Writer.formatDouble(max) + ";" + Writer.formatDouble(stdev));
+	}
+
+	public String getOutput()
+	{
+		return stringBuilder.toString();
+	}
+}
@@ -0,0 +1,55 @@
+package benchmark;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+
+import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.CVRPSolution;
+import CVRP.columnGeneration.branching.BranchingRuleArc;
+import CVRP.columnGeneration.labelling.CVRPBucketSolver;
+import CVRP.columnGeneration.pricing.CVRPPricingProblem;
+import CVRP.instance.CVRPInstance;
+import optimisation.BAP.BAPNode;
+import util.Pair;
+
+public class BranchingRuleArcBenchmark extends AbstractBenchmark
+{
+	private final CVRPInstance instance;
+	private final double[] duals;
+	private final long seed;
+
+	private BranchingRuleArc branchingRule;
+	private BAPNode<CVRPInstance, CVRPColumn, CVRPPricingProblem> node;
+
+	public BranchingRuleArcBenchmark(String name, CVRPInstance instance, double[] duals, long seed)
+	{
+		super(name);
+
+		this.instance = instance;
+		this.duals = duals;
+		this.seed = seed;
+	}
+
+	@Override
+	public void setup()
+	{
+		// Construct a fractional solution from the columns found by labelling.
+		Random random = new Random(seed);
+		CVRPPricingProblem pricingProblem = CVRPLabellingBenchmark.createPricingProblem(instance, duals);
+		Map<CVRPColumn, Double> columnMap = new LinkedHashMap<>();
+		for (Pair<CVRPColumn, Double> pair : new CVRPBucketSolver().generateColumns(null, pricingProblem, 0, false))
+		{
+			columnMap.put(pair.getKey(), random.nextDouble());
+		}
+		node = new BAPNode<>(null);
+		node.setSolution(new CVRPSolution(0, columnMap));
+		branchingRule = new BranchingRuleArc(1);
+	}
+
+	@Override
+	public Object run()
+	{
+		return branchingRule.getBranchingCandidates(node).size();
+	}
+}
@@ -0,0 +1,49 @@
+package benchmark;
+
+import java.util.Random;
+
+import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.pricing.CVRPPricingProblem;
+import CVRP.instance.CVRPInstance;
+import optimisation.BAP.BAPNode;
+import optimisation.BAP.BranchingTree;
+import optimisation.BAP.NodeComparators.BoundComparator;
+
+public class BranchingTreeBenchmark extends AbstractBenchmark
+{
+	private final int numberOfNodes;
+	private final long seed;
+
+	private BranchingTree<CVRPInstance, CVRPColumn, CVRPPricingProblem> branchingTree;
+
+	public BranchingTreeBenchmark(String name, int numberOfNodes, long seed)
+	{
+		super(name);
+
+		this.numberOfNodes = numberOfNodes;
+		this.seed = seed;
+	}
+
+	@Override
+	public void setup()
+	{
+		// Fill the tree with open nodes with random lower bounds below the upper bound.
+		Random random = new Random(seed);
+		branchingTree = new BranchingTree<>(new BoundComparator<>());
+		branchingTree.setUpperBound(1000);
+		BAPNode<CVRPInstance, CVRPColumn, CVRPPricingProblem> rootNode = new BAPNode<>(null);
+		for (int i = 0; i < numberOfNodes; i++)
+		{
+			BAPNode<CVRPInstance, CVRPColumn, CVRPPricingProblem> node = new BAPNode<>(rootNode);
+			node.setLowerBound(900 * random.nextDouble());
+			branchingTree.enqueue(node);
+		}
+	}
+
+	@Override
+	public Object run()
+	{
+		branchingTree.updateLowerBound();
+		return branchingTree.getLowerBound();
+	}
+}
@@ -0,0 +1,59 @@
+package benchmark;
+
+import java.util.List;
+
+import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.constraints.PartitionConstraint;
+import CVRP.columnGeneration.pricing.CVRPPricingProblem;
+import CVRP.instance.CVRPInstance;
+import optimisation.columnGeneration.pricing.AbstractPricingProblemSolver;
+import util.Configuration;
+import util.Pair;
+
+public class CVRPLabellingBenchmark extends AbstractBenchmark
+{
+	private final CVRPInstance instance;
+	private final double[] duals;
+	private final AbstractPricingProblemSolver<CVRPInstance, CVRPColumn, CVRPPricingProblem> solver;
+
+	private CVRPPricingProblem pricingProblem;
+	private double reducedCostThreshold;
+
+	public CVRPLabellingBenchmark(String name, CVRPInstance instance, double[] duals,
+			AbstractPricingProblemSolver<CVRPInstance, CVRPColumn, CVRPPricingProblem> solver)
+	{
+		super(name);
+
+		this.instance = instance;
+		this.duals = duals;
+		this.solver = solver;
+	}
+
+	@Override
+	public void setup()
+	{
+		pricingProblem = createPricingProblem(instance, duals);
+		reducedCostThreshold = -Configuration.getConfiguration().getDoubleProperty("PRECISION");
+	}
+
+	@Override
+	public Object run()
+	{
+		// No master problem is needed, as all duals are stored in the pricing problem.
+		List<Pair<CVRPColumn, Double>> columns = solver.generateColumns(null, pricingProblem, reducedCostThreshold,
+				false);
+		return columns.size();
+	}
+
+	public static CVRPPricingProblem createPricingProblem(CVRPInstance instance, double[] duals)
+	{
+		CVRPPricingProblem pricingProblem = new CVRPPricingProblem(0, instance);
+
+		// Load the frozen duals of the partition constraints.
+		for (int i = 1; i <= instance.getN(); i++)
+		{
+			new PartitionConstraint(i).updatePricingProblemDuals(pricingProblem, duals[i]);
+		}
+		return pricingProblem;
+	}
+}
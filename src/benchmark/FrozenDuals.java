@@ -0,0 +1,121 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.Random;
+
+import CVRP.columnGeneration.CVRPMasterProblem;
+import CVRP.columnGeneration.constraints.PartitionConstraint;
+import CVRP.instance.CVRPInstance;
+import GAP.GAPInstance;
+import GAP.columnGeneration.GAPMasterProblem;
+import GAP.columnGeneration.constraints.JobAssignmentConstraint;
+import ilog.concert.IloException;
+import optimisation.columnGeneration.AbstractConstraint;
+import util.Writer;
+
+public class FrozenDuals
+{
+	// Frozen duals are stored with a single "index dual" pair per line, where the index is
+	// the customer of a partition constraint or the job of a job assignment constraint.
+
+	public static double[] read(String file, int size) throws IOException
+	{
+		double[] duals = new double[size];
+		BufferedReader bufferedReader = new BufferedReader(new FileReader(file));
+		String line = bufferedReader.readLine();
+		while (line != null)
+		{
+			String[] data = line.trim().split("\\s+");
+			if (data.length == 2)
+			{
+				duals[Integer.valueOf(data[0])] = Double.valueOf(data[1]);
+			}
+			line = bufferedReader.readLine();
+		}
+		bufferedReader.close();
+		return duals;
+	}
+
+	public static void write(double[] duals, String file) throws IOException
+	{
+		StringBuilder stringBuilder = new StringBuilder();
+		for (int i = 0; i < duals.length; i++)
+		{
+			stringBuilder.append(i + " " + duals[i] + "\n");
+		}
+		Writer.write(stringBuilder.toString(), file);
+	}
+
+	public static double[] capture(CVRPMasterProblem masterProblem, CVRPInstance instance) throws IloException
+	{
+		// Store the smoothed duals of the partition constraints of a solved master problem.
+		double[] duals = new double[instance.getN() + 1];
+		for (AbstractConstraint<?, ?, ?> constraint : masterProblem.getConstraints())
+		{
+			if (constraint instanceof PartitionConstraint)
+			{
+				PartitionConstraint partitionConstraint = (PartitionConstraint) constraint;
+				duals[partitionConstraint.getCustomer()] = masterProblem.getDual(partitionConstraint);
+			}
+		}
+		return duals;
+	}
+
+	public static double[] capture(GAPMasterProblem masterProblem, GAPInstance instance) throws IloException
+	{
+		// Store the smoothed duals of the job assignment constraints of a solved master problem.
+		double[] duals = new double[instance.getNumJobs()];
+		for (AbstractConstraint<?, ?, ?> constraint : masterProblem.getConstraints())
+		{
+			if (constraint instanceof JobAssignmentConstraint)
+			{
+				JobAssignmentConstraint jobConstraint = (JobAssignmentConstraint) constraint;
+				duals[jobConstraint.getJob()] = masterProblem.getDual(jobConstraint);
+			}
+		}
+		return duals;
+	}
+
+	public static double[] getDuals(String file, CVRPInstance instance, long seed) throws IOException
+	{
+		if (file != null && new File(file).exists())
+		{
+			return read(file, instance.getN() + 1);
+		}
+
+		// Draw duals proportional to the cost of a return trip to the depot.
+		Random random = new Random(seed);
+		double[] duals = new double[instance.getN() + 1];
+		for (int i = 1; i <= instance.getN(); i++)
+		{
+			int[][] distances = instance.getDistances();
+			duals[i] = (0.5 + 0.5 * random.nextDouble()) * (distances[0][i] + distances[i][0]);
+		}
+		return duals;
+	}
+
+	public static double[] getDuals(String file, GAPInstance instance, long seed) throws IOException
+	{
+		if (file != null && new File(file).exists())
+		{
+			return read(file, instance.getNumJobs());
+		}
+
+		// Draw duals proportional to the largest profit of a job.
+		Random random = new Random(seed);
+		double[] duals = new double[instance.getNumJobs()];
+		for (int j = 0; j < instance.getNumJobs(); j++)
+		{
+			int maximumProfit = 0;
+			for (int i = 0; i < instance.getNumAgents(); i++)
+			{
+				maximumProfit = Math.max(maximumProfit, instance.getProfit(i, j));
+			}
+			duals[j] = random.nextDouble() * maximumProfit;
+		}
+		return duals;
+	}
+}
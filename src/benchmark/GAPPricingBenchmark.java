@@ -0,0 +1,57 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import GAP.GAPInstance;
+import GAP.columnGeneration.pricing.GAPPPSolver;
+import GAP.columnGeneration.pricing.GAPPricingProblem;
+import util.Configuration;
+
+public class GAPPricingBenchmark extends AbstractBenchmark
+{
+	private final GAPInstance instance;
+	private final double[] duals;
+	private final GAPPPSolver solver;
+
+	private List<GAPPricingProblem> pricingProblems;
+	private double reducedCostThreshold;
+
+	public GAPPricingBenchmark(String name, GAPInstance instance, double[] duals)
+	{
+		super(name);
+
+		this.instance = instance;
+		this.duals = duals;
+		this.solver = new GAPPPSolver();
+	}
+
+	@Override
+	public void setup()
+	{
+		// Construct a pricing problem per agent with the frozen job duals.
+		pricingProblems = new ArrayList<>();
+		for (int i = 0; i < instance.getNumAgents(); i++)
+		{
+			GAPPricingProblem pricingProblem = new GAPPricingProblem(instance, i);
+			pricingProblem.resetDuals();
+			for (int j = 0; j < instance.getNumJobs(); j++)
+			{
+				pricingProblem.setJobDual(j, duals[j]);
+			}
+			pricingProblems.add(pricingProblem);
+		}
+		reducedCostThreshold = -Configuration.getConfiguration().getDoubleProperty("PRECISION");
+	}
+
+	@Override
+	public Object run()
+	{
+		int columns = 0;
+		for (GAPPricingProblem pricingProblem : pricingProblems)
+		{
+			columns += solver.generateColumns(null, pricingProblem, reducedCostThreshold, false).size();
+		}
+		return columns;
+	}
+}
@@ -0,0 +1,57 @@
+package benchmark;
+
+import CVRP.columnGeneration.labelling.CVRPBucketSolver;
+import CVRP.data.InstanceReader;
+import CVRP.instance.CVRPConstants;
+import CVRP.instance.CVRPInstance;
+import CVRP.tsp.TSPBucketSolver;
+import GAP.GAPInstance;
+import util.Configuration;
+import util.Writer;
+
+public class MainBenchmark
+{
+	public static void main(String[] args) throws Exception
+	{
+		// Instances and optional frozen duals, captured with FrozenDuals.capture.
+		String cvrpFile = args.length > 0 ? args[0] : "dataCVRP/n20_k5_0.txt";
+		String gapFile = args.length > 1 ? args[1] : "dataGAP/a10100";
+		String cvrpDualsFile = args.length > 2 ? args[2] : null;
+		String gapDualsFile = args.length > 3 ? args[3] : null;
+		int warmupIterations = 10;
+		int measurementIterations = 30;
+		long seed = 129012;
+
+		// Routing benchmarks.
+		String settingsFile = "defaultCVRP.properties";
+		Configuration.initialiseConfiguration(settingsFile, settingsFile);
+		CVRPConstants.FORMULATION = "NO_CONSTRAINTS";
+		CVRPInstance cvrpInstance = InstanceReader.readCVRPInstance(5, cvrpFile);
+		cvrpInstance.setNeighbourhoodSize(Configuration.getConfiguration().getIntProperty("NG_NEIGHBOURHOOD_SIZE"));
+		double[] cvrpDuals = FrozenDuals.getDuals(cvrpDualsFile, cvrpInstance, seed);
+
+		BenchmarkRunner cvrpRunner = new BenchmarkRunner(warmupIterations, measurementIterations);
+		cvrpRunner.addBenchmark(new CVRPLabellingBenchmark("CVRPBucketSolver", cvrpInstance, cvrpDuals,
+				new CVRPBucketSolver()));
+		cvrpRunner.addBenchmark(new CVRPLabellingBenchmark("TSPBucketSolver", cvrpInstance, cvrpDuals,
+				new TSPBucketSolver()));
+		cvrpRunner.addBenchmark(new ReducedCostBenchmark("ReducedCost", cvrpInstance, cvrpDuals));
+		cvrpRunner.addBenchmark(new BranchingRuleArcBenchmark("BranchingRuleArc", cvrpInstance, cvrpDuals, seed));
+		cvrpRunner.addBenchmark(new BranchingTreeBenchmark("BranchingTree", 100000, seed));
+		cvrpRunner.run();
+
+		// Assignment benchmarks.
+		settingsFile = "defaultGAP.properties";
+		Configuration.initialiseConfiguration(settingsFile, settingsFile);
+		GAPInstance gapInstance = GAPInstance.readInstance(gapFile);
+		double[] gapDuals = FrozenDuals.getDuals(gapDualsFile, gapInstance, seed);
+
+		BenchmarkRunner gapRunner = new BenchmarkRunner(warmupIterations, measurementIterations);
+		gapRunner.addBenchmark(new GAPPricingBenchmark("GAPPPSolver", gapInstance, gapDuals));
+		gapRunner.run();
+
+		// Write results.
+		String gapOutput = gapRunner.getOutput();
+		Writer.write(cvrpRunner.getOutput() + gapOutput.substring(gapOutput.indexOf("\n")), "benchmark.csv");
+	}
+}
@@ -0,0 +1,71 @@
+package benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import CVRP.columnGeneration.CVRPColumn;
+import CVRP.columnGeneration.constraints.PartitionConstraint;
+import CVRP.columnGeneration.labelling.CVRPBucketSolver;
+import CVRP.columnGeneration.pricing.CVRPPricingProblem;
+import CVRP.instance.CVRPInstance;
+import optimisation.columnGeneration.DualVariables;
+import optimisation.columnGeneration.RowRegistry;
+import util.Pair;
+
+public class ReducedCostBenchmark extends AbstractBenchmark
+{
+	private final CVRPInstance instance;
+	private final double[] duals;
+
+	private List<CVRPColumn> columns;
+	private RowRegistry<CVRPInstance, CVRPColumn, CVRPPricingProblem> rowRegistry;
+	private DualVariables<CVRPInstance, CVRPColumn, CVRPPricingProblem> dualVariables;
+	private boolean[] isActiveRow;
+
+	public ReducedCostBenchmark(String name, CVRPInstance instance, double[] duals)
+	{
+		super(name);
+
+		this.instance = instance;
+		this.duals = duals;
+	}
+
+	@Override
+	public void setup()
+	{
+		// Register the partition constraints with their frozen duals.
+		rowRegistry = new RowRegistry<>();
+		dualVariables = new DualVariables<>();
+		for (int i = 1; i <= instance.getN(); i++)
+		{
+			int row = rowRegistry.register(new PartitionConstraint(i));
+			dualVariables.set(row, duals[i]);
+		}
+		isActiveRow = new boolean[rowRegistry.getNumberOfRows()];
+		for (int row = 0; row < isActiveRow.length; row++)
+		{
+			isActiveRow[row] = true;
+		}
+
+		// Use all columns with a nonpositive reduced cost as input.
+		CVRPPricingProblem pricingProblem = CVRPLabellingBenchmark.createPricingProblem(instance, duals);
+		columns = new ArrayList<>();
+		for (Pair<CVRPColumn, Double> pair : new CVRPBucketSolver().generateColumns(null, pricingProblem, 0,
+				false))
+		{
+			columns.add(pair.getKey());
+		}
+	}
+
+	@Override
+	public Object run()
+	{
+		// This is the same kernel as AbstractMasterProblem.getReducedCost.
+		double sum = 0;
+		for (CVRPColumn column : columns)
+		{
+			sum += rowRegistry.getReducedCost(column, dualVariables, isActiveRow);
+		}
+		return sum;
+	}
+}
@@ -0,0 +1,167 @@
+package graph.structures.digraph;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Immutable compressed sparse row view of a directed graph with integer arc data. Nodes
+ * are identified by their position in the node list of the original graph, and arcs by
+ * their position in its arc list. The out-arcs of node i are stored at positions
+ * getOutBegin(i) up to getOutEnd(i), in the order of the original graph, and similarly for
+ * the in-arcs.
+ */
+public class CompactDirectedGraph
+{
+	private final int numberOfNodes;
+	private final int numberOfArcs;
+
+	// End points and data of every arc.
+	private final int[] tails;
+	private final int[] heads;
+	private final int[] data;
+
+	// Out- and in-adjacency, with the arc and the other end point for every position.
+	private final int[] outOffsets;
+	private final int[] outArcs;
+	private final int[] outTargets;
+	private final int[] inOffsets;
+	private final int[] inArcs;
+	private final int[] inSources;
+
+	public <V extends DirectedGraphNodeIndex> CompactDirectedGraph(DirectedGraph<V, Integer> graph)
+	{
+		List<V> nodes = graph.getNodes();
+		List<DirectedGraphArc<V, Integer>> arcs = graph.getArcs();
+		this.numberOfNodes = nodes.size();
+		this.numberOfArcs = arcs.size();
+
+		// Index nodes and arcs by their position.
+		Map<V, Integer> nodeIndices = new IdentityHashMap<>();
+		for (int i = 0; i < numberOfNodes; i++)
+		{
+			nodeIndices.put(nodes.get(i), i);
+		}
+		Map<DirectedGraphArc<V, Integer>, Integer> arcIndices = new IdentityHashMap<>();
+		this.tails = new int[numberOfArcs];
+		this.heads = new int[numberOfArcs];
+		this.data = new int[numberOfArcs];
+		for (int a = 0; a < numberOfArcs; a++)
+		{
+			DirectedGraphArc<V, Integer> arc = arcs.get(a);
+			arcIndices.put(arc, a);
+			tails[a] = nodeIndices.get(arc.getFrom());
+			heads[a] = nodeIndices.get(arc.getTo());
+			data[a] = arc.getData();
+		}
+
+		// Build the adjacency.
+		this.outOffsets = new int[numberOfNodes + 1];
+		this.outArcs = new int[numberOfArcs];
+		this.outTargets = new int[numberOfArcs];
+		this.inOffsets = new int[numberOfNodes + 1];
+		this.inArcs = new int[numberOfArcs];
+		this.inSources = new int[numberOfArcs];
+		int outPosition = 0;
+		int inPosition = 0;
+		for (int i = 0; i < numberOfNodes; i++)
+		{
+			outOffsets[i] = outPosition;
+			for (DirectedGraphArc<V, Integer> arc : graph.getOutArcs(nodes.get(i)))
+			{
+				int a = arcIndices.get(arc);
+				outArcs[outPosition] = a;
+				outTargets[outPosition++] = heads[a];
+			}
+			inOffsets[i] = inPosition;
+			for (DirectedGraphArc<V, Integer> arc : graph.getInArcs(nodes.get(i)))
+			{
+				int a = arcIndices.get(arc);
+				inArcs[inPosition] = a;
+				inSources[inPosition++] = tails[a];
+			}
+		}
+		outOffsets[numberOfNodes] = outPosition;
+		inOffsets[numberOfNodes] = inPosition;
+	}
+
+	public int getNumberOfNodes()
+	{
+		return numberOfNodes;
+	}
+
+	public int getNumberOfArcs()
+	{
+		return numberOfArcs;
+	}
+
+	public int getTail(int arc)
+	{
+		return tails[arc];
+	}
+
+	public int getHead(int arc)
+	{
+		return heads[arc];
+	}
+
+	public int getData(int arc)
+	{
+		return data[arc];
+	}
+
+	/**
+	 * Returns the first arc from one node to another, or -1 if there is no such arc.
+	 */
+	public int getArc(int from, int to)
+	{
+		for (int position = outOffsets[from]; position < outOffsets[from + 1]; position++)
+		{
+			if (outTargets[position] == to)
+			{
+				return outArcs[position];
+			}
+		}
+		return -1;
+	}
+
+	public int getOutBegin(int node)
+	{
+		return outOffsets[node];
+	}
+
+	public int getOutEnd(int node)
+	{
+		return outOffsets[node + 1];
+	}
+
+	public int getOutArc(int position)
+	{
+		return outArcs[position];
+	}
+
+	public int getOutTarget(int position)
+	{
+		return outTargets[position];
+	}
+
+	public int getInBegin(int node)
+	{
+		return inOffsets[node];
+	}
+
+	public int getInEnd(int node)
+	{
+		return inOffsets[node + 1];
+	}
+
+	public int getInArc(int position)
+	{
+		return inArcs[position];
+	}
+
+	public int getInSource(int position)
+	{
+		return inSources[position];
+	}
+}
@@ -1,5 +1,6 @@
 package optimisation.BAP;
 
+import java.io.Serializable;
 import java.util.Set;
 
 import optimisation.columnGeneration.AbstractColumn;
@@ -8,10 +9,19 @@ import optimisation.columnGeneration.AbstractInstance;
 import optimisation.columnGeneration.pricing.AbstractPricingProblem;
 
 public abstract class AbstractBranchingDecision<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+		implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public abstract Set<AbstractConstraint<T, U, V>> getBranchingConstraints();
 
 	public abstract boolean isCompatible(V pricingProblem);
 
+	public boolean isCompatible(U column)
+	{
+		// By default, compatibility is enforced by the branching constraints.
+		return true;
+	}
+
 	public abstract void modifyPricingProblem(V pricingProblem);
 }
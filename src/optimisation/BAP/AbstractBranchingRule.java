@@ -1,5 +1,7 @@
 package optimisation.BAP;
 
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import optimisation.columnGeneration.AbstractColumn;
@@ -15,5 +17,15 @@ public abstract class AbstractBranchingRule<T extends AbstractInstance, U extend
 		this.priority = priority;
 	}
 	
+	protected BranchingCandidate<T, U, V> createBranchingCandidate(double fractionalValue, Object... identity)
+	{
+		// Candidates are identified by the type of rule and the branching object, such that
+		// pseudocosts can be shared among nodes.
+		List<Object> key = new ArrayList<>();
+		key.add(getClass());
+		key.addAll(Arrays.asList(identity));
+		return new BranchingCandidate<>(fractionalValue, key);
+	}
+
 	public abstract List<BranchingCandidate<T, U, V>> getBranchingCandidates(BAPNode<T, U, V> parent);
 }
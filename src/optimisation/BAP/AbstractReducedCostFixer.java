@@ -0,0 +1,25 @@
+package optimisation.BAP;
+
+import ilog.concert.IloException;
+import optimisation.columnGeneration.AbstractColumn;
+import optimisation.columnGeneration.AbstractInstance;
+import optimisation.columnGeneration.AbstractMasterProblem;
+import optimisation.columnGeneration.pricing.AbstractPricingProblem;
+import optimisation.columnGeneration.pricing.AbstractPricingRoutine;
+
+public abstract class AbstractReducedCostFixer<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+{
+	protected int numberOfFixedVariables;
+
+	/**
+	 * Returns a branching decision that removes all pricing variables whose reduced
+	 * cost bound is at least the given gap, or null if no variables can be fixed.
+	 */
+	public abstract AbstractBranchingDecision<T, U, V> fixVariables(AbstractMasterProblem<T, U, V> masterProblem,
+			AbstractPricingRoutine<T, U, V> pricingRoutine, T instance, double gap) throws IloException;
+
+	public int getNumberOfFixedVariables()
+	{
+		return numberOfFixedVariables;
+	}
+}
@@ -1,41 +1,57 @@
 package optimisation.BAP;
 
-import java.util.LinkedHashSet;
+import java.util.ArrayList;
 import java.util.List;
-import java.util.Set;
 
 import optimisation.columnGeneration.AbstractColumn;
 import optimisation.columnGeneration.AbstractInstance;
 import optimisation.columnGeneration.AbstractSolution;
+import optimisation.columnGeneration.Basis;
 import optimisation.columnGeneration.pricing.AbstractPricingProblem;
 
 public class BAPNode<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
 {
 	protected final BAPNode<T, U, V> parent;
 	protected final int depth;
+	protected int index;
 	protected AbstractSolution<T, U, V> solution;
 	protected double lowerBound;
 	protected double upperBound;
-	protected Set<AbstractBranchingDecision<T, U, V>> branchingDecisions;
+	protected List<AbstractBranchingDecision<T, U, V>> branchingDecisions;
 	protected List<U> potentialColumns;
+	protected Basis<T, U, V> basis;
+
+	// Number of child nodes that have not been started yet. The basis is only kept for
+	// warm starting these children.
+	protected int numberOfOpenChildren;
+
+	// Candidate and branch that created this node, used to update pseudocosts.
+	protected BranchingCandidate<T, U, V> branchingCandidate;
+	protected int branch;
 
 	public BAPNode(BAPNode<T, U, V> parent)
+	{
+		this(parent, (parent != null) ? parent.getDepth() + 1 : 0);
+	}
+
+	/**
+	 * Creates a node whose depth differs from the depth of its parent plus one, used for
+	 * nodes that are restored from a checkpoint.
+	 */
+	public BAPNode(BAPNode<T, U, V> parent, int depth)
 	{
 		this.parent = parent;
-		if (parent != null)
-		{
-			this.depth = parent.getDepth() + 1;
-		}
-		else
-		{
-			this.depth = 0;
-		}
-		this.branchingDecisions = new LinkedHashSet<>();
+		this.depth = depth;
+		this.branchingDecisions = new ArrayList<>(1);
 	}
 
 	public void addBranchingDecision(AbstractBranchingDecision<T, U, V> branchingDecision)
 	{
-		branchingDecisions.add(branchingDecision);
+		// Only the decisions that differ from the parent node are stored.
+		if (!branchingDecisions.contains(branchingDecision))
+		{
+			branchingDecisions.add(branchingDecision);
+		}
 	}
 
 	public BAPNode<T, U, V> getParent()
@@ -48,6 +64,16 @@ public class BAPNode<T extends AbstractInstance, U extends AbstractColumn<T, V>,
 		return depth;
 	}
 
+	public void setIndex(int index)
+	{
+		this.index = index;
+	}
+
+	public int getIndex()
+	{
+		return index;
+	}
+
 	public void setPotentialColumns(List<U> potentialColumns)
 	{
 		this.potentialColumns = potentialColumns;
@@ -58,6 +84,42 @@ public class BAPNode<T extends AbstractInstance, U extends AbstractColumn<T, V>,
 		return potentialColumns;
 	}
 
+	public void setBasis(Basis<T, U, V> basis)
+	{
+		this.basis = basis;
+	}
+
+	public Basis<T, U, V> getBasis()
+	{
+		return basis;
+	}
+
+	public void setNumberOfOpenChildren(int numberOfOpenChildren)
+	{
+		this.numberOfOpenChildren = numberOfOpenChildren;
+	}
+
+	public int getNumberOfOpenChildren()
+	{
+		return numberOfOpenChildren;
+	}
+
+	public void setBranchingCandidate(BranchingCandidate<T, U, V> branchingCandidate, int branch)
+	{
+		this.branchingCandidate = branchingCandidate;
+		this.branch = branch;
+	}
+
+	public BranchingCandidate<T, U, V> getBranchingCandidate()
+	{
+		return branchingCandidate;
+	}
+
+	public int getBranch()
+	{
+		return branch;
+	}
+
 	public void setSolution(AbstractSolution<T, U, V> solution)
 	{
 		this.solution = solution;
@@ -88,8 +150,24 @@ public class BAPNode<T extends AbstractInstance, U extends AbstractColumn<T, V>,
 		return upperBound;
 	}
 
-	public Set<AbstractBranchingDecision<T, U, V>> getBranchingDecisions()
+	public List<AbstractBranchingDecision<T, U, V>> getBranchingDecisions()
 	{
 		return branchingDecisions;
 	}
+
+	public long getMemoryEstimate()
+	{
+		// Rough estimate in bytes of the object header, fields and decisions. Candidates and
+		// potential columns are shared with other nodes.
+		long memory = 104 + 48L * branchingDecisions.size();
+		if (basis != null)
+		{
+			memory += basis.getMemoryEstimate();
+		}
+		if (solution != null)
+		{
+			memory += 64 + 48L * solution.getColumnMap().size();
+		}
+		return memory;
+	}
 }
@@ -1,12 +1,16 @@
 package optimisation.BAP;
 
+import java.io.File;
+import java.io.IOException;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
 
 import ilog.concert.IloException;
+import ilog.concert.IloNumVar;
 import optimisation.BAP.strongBranching.StrongBranching;
 import optimisation.columnGeneration.AbstractColumn;
 import optimisation.columnGeneration.AbstractConstraint;
@@ -22,6 +26,7 @@ import util.Logger;
 import util.Logger.CountQuantity;
 import util.Logger.TimeQuantity;
 import util.Logger.ValueQuantity;
+import util.Pair;
 
 public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
 {
@@ -32,41 +37,125 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 	private final T instance;
 	private final AbstractMasterProblem<T, U, V> masterProblem;
 	private final ColumnGeneration<T, U, V> columnGeneration;
+	private final StrongBranching<T, U, V> strongBranching;
+	private AbstractReducedCostFixer<T, U, V> reducedCostFixer;
 
 	private AbstractSolution<T, U, V> bestSolution;
 
 	private long timeLimit = Long.MAX_VALUE;
+	private final double enumerationGap;
+	private final int heuristicFrequency;
+	private final RestrictedMasterHeuristic<T, U, V> heuristic;
+
+	// File to which the state of the search is written every given number of nodes, and
+	// when the time limit is reached.
+	private String checkpointFile;
+	private final int checkpointFrequency;
 
 	public BranchAndPrice(Comparator<BAPNode<T, U, V>> comparator, T instance,
 			AbstractMasterProblem<T, U, V> masterProblem, ColumnGeneration<T, U, V> columnGeneration)
 	{
-		this.branchingTree = new BranchingTree<T, U, V>(comparator);
+		this.branchingTree = new BranchingTree<T, U, V>(comparator,
+				1024L * 1024 * Configuration.getConfiguration().getIntProperty("MAX_TREE_MEMORY"));
 		this.branchingRules = new ArrayList<>();
 		this.cutSeparators = new ArrayList<>();
 
 		this.instance = instance;
 		this.masterProblem = masterProblem;
 		this.columnGeneration = columnGeneration;
+		this.strongBranching = new StrongBranching<>();
+		this.enumerationGap = Configuration.getConfiguration().getDoubleProperty("ENUMERATION_GAP");
+		this.heuristicFrequency = Configuration.getConfiguration().getIntProperty("HEURISTIC_FREQUENCY");
+		this.heuristic = new RestrictedMasterHeuristic<>(
+				Configuration.getConfiguration().getIntProperty("HEURISTIC_TIME_LIMIT"));
+		this.checkpointFrequency = Configuration.getConfiguration().getIntProperty("CHECKPOINT_FREQUENCY");
 
 		this.bestSolution = null;
 	}
 
 	public void applyBranchAndPrice() throws IloException
 	{
-		// Retrieve logger.
-		Logger logger = Logger.getLogger();
+		// Initialise a root node and add it to the tree.
+		BAPNode<T, U, V> rootNode = new BAPNode<T, U, V>(null);
+		Logger.getLogger().resetNode();
+		branchingTree.enqueue(rootNode);
+		search(rootNode);
+	}
 
-		// Initialise a root node and last processed node.
+	public void resumeBranchAndPrice(String fileName) throws IloException, IOException
+	{
+		// Restore the master problem from the checkpoint, adding the constraints before the
+		// columns. The columns of the master problem at the time of the checkpoint replace
+		// column generation in the root node.
+		Checkpoint<T, U, V> checkpoint = Checkpoint.read(fileName);
+		List<AbstractConstraint<T, U, V>> constraints = masterProblem.getConstraints();
+		for (AbstractConstraint<T, U, V> constraint : checkpoint.getConstraints())
+		{
+			if (!constraints.contains(constraint))
+			{
+				masterProblem.addConstraint(constraint);
+			}
+		}
+		// The search state of the instance is restored first, such that columns which are no
+		// longer compatible with it are fixed to zero again.
+		instance.setSearchState(checkpoint.getSearchState());
+		for (U column : checkpoint.getColumns())
+		{
+			masterProblem.addColumn(column);
+			if (!masterProblem.isCompatible(column))
+			{
+				masterProblem.fixColumn(column, 0);
+			}
+		}
+
+		// Restore the incumbent, pseudocosts and logger.
+		bestSolution = checkpoint.getBestSolution();
+		if (checkpoint.getUpperBound() < branchingTree.getUpperBound())
+		{
+			branchingTree.setUpperBound(checkpoint.getUpperBound());
+		}
+		strongBranching.setPseudoCosts(checkpoint.getPseudoCosts());
+		Logger.setLogger(checkpoint.getLogger());
+
+		// Open nodes become children of an empty root node, and carry all decisions on
+		// their original path.
 		BAPNode<T, U, V> rootNode = new BAPNode<T, U, V>(null);
+		for (int i = 0; i < checkpoint.getNumberOfNodes(); i++)
+		{
+			BAPNode<T, U, V> node = new BAPNode<T, U, V>(rootNode, Math.max(1, checkpoint.getDepth(i)));
+			for (AbstractBranchingDecision<T, U, V> decision : checkpoint.getBranchingDecisions(i))
+			{
+				node.addBranchingDecision(decision);
+			}
+			node.setLowerBound(checkpoint.getLowerBound(i));
+			branchingTree.enqueue(node);
+		}
+		branchingTree.updateLowerBound();
+		System.out.println("Resumed " + checkpoint.getNumberOfNodes() + " nodes with LB: "
+				+ branchingTree.getLowerBound() + ". UB: " + branchingTree.getUpperBound());
+		search(rootNode);
+	}
+
+	private void search(BAPNode<T, U, V> rootNode) throws IloException
+	{
+		// Retrieve logger. A resumed logger includes the time of earlier runs, while the time
+		// limit applies from the start of this run.
+		Logger logger = Logger.getLogger();
+		long startTime = logger.getTime();
+
+		// Initialise the last processed node.
 		BAPNode<T, U, V> previousNode = rootNode;
 
 		// Keep track of performance.
 		double previousUB = branchingTree.getUpperBound();
 		double previousGap = Double.MAX_VALUE;
-		logger.resetNode();
+		boolean timeLimitReached = false;
 
-		// Add root node to the tree.
-		branchingTree.enqueue(rootNode);
+		// Pricing problems are solved in a work-stealing pool if multiple threads are
+		// available. The pool is owned by the search, and shut down once it ends.
+		int numThreads = Configuration.getConfiguration().getIntProperty("NUM_THREADS");
+		ForkJoinPool pricingThreadPool = (numThreads > 1) ? new ForkJoinPool(numThreads) : null;
+		columnGeneration.setThreadPool(pricingThreadPool);
 
 		while (!branchingTree.isEmpty())
 		{
@@ -76,6 +165,13 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 			// Process branching decisions.
 			processBranchingDecisions(previousNode, parent);
 
+			// Warm start from the optimal basis of the parent node, if available.
+			if (parent.getParent() != null && parent.getParent().getBasis() != null)
+			{
+				masterProblem.setBasis(parent.getParent().getBasis());
+			}
+			branchingTree.releaseParent(parent);
+
 			// Determine whether we are in enumeration mode.
 			boolean enumerating = parent.getPotentialColumns() != null;
 			int nodeIndex = Logger.getLogger().getNode();
@@ -89,7 +185,9 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 				
 				// We can terminate column generation at the primal lower bound.
 				double lowerBound = parent.getLowerBound();
-				columnGeneration.applyColumnGeneration(masterProblem, instance, lowerBound);
+				columnGeneration.setUpperBound(branchingTree.getUpperBound());
+				columnGeneration.applyColumnGeneration(masterProblem, instance, lowerBound,
+						parent.getPotentialColumns());
 
 				// Prune the node if it is infeasible.
 				if (!masterProblem.isFeasible())
@@ -136,6 +234,14 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 				}
 			}
 
+			// Run the restricted master heuristic in the background. The snapshot is taken
+			// before the node is processed, as reduced cost fixing and strong branching modify
+			// and resolve the master problem.
+			if (heuristicFrequency > 0)
+			{
+				updateHeuristic(masterProblem.isFeasible());
+			}
+
 			// Process the node.
 			processNode(parent.equals(rootNode), parent);
 
@@ -145,6 +251,7 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 			// Update bounds and node counter.
 			logger.setValue(ValueQuantity.VALUE_LOWER_BOUND, branchingTree.getLowerBound());
 			logger.setValue(ValueQuantity.VALUE_UPPER_BOUND, branchingTree.getUpperBound());
+			logger.setValue(ValueQuantity.VALUE_TREE_MEMORY, branchingTree.getMemoryEstimate() / 1024.0);
 			logger.increaseNode();
 
 			// Termination criterion.
@@ -164,12 +271,18 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 				break;
 			}
 
-			// Terminate if time limit has been reached.
-			if (logger.getTime() >= timeLimit)
+			// Terminate if time limit has been reached, such that the search can be resumed
+			// from a checkpoint.
+			if (logger.getTime() - startTime >= timeLimit)
 			{
 				System.out.println("Terminating due to time limit.");
+				timeLimitReached = true;
 				break;
 			}
+			if (checkpointFrequency > 0 && logger.getNode() % checkpointFrequency == 0)
+			{
+				writeCheckpoint();
+			}
 
 			// Update last processed node.
 			previousNode = parent;
@@ -177,6 +290,101 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 			previousGap = gap;
 		}
 
+		// Collect the last run of the heuristic, which may still improve the incumbent,
+		// before the state of the search is stored.
+		if (applyHeuristicSolution(heuristic.shutdown()))
+		{
+			branchingTree.updateLowerBound();
+		}
+		// Store the state of the search if it was interrupted. A completed search removes its
+		// checkpoint, such that it is not resumed again.
+		if (timeLimitReached)
+		{
+			writeCheckpoint();
+		}
+		else if (checkpointFile != null)
+		{
+			new File(checkpointFile).delete();
+		}
+		strongBranching.shutdown();
+		columnGeneration.setThreadPool(null);
+		if (pricingThreadPool != null)
+		{
+			pricingThreadPool.shutdownNow();
+		}
+		branchingTree.close();
+	}
+
+	private void writeCheckpoint()
+	{
+		// Checkpoints are only written to a given file, and are disabled by a frequency of zero.
+		if (checkpointFile == null || checkpointFrequency <= 0)
+		{
+			return;
+		}
+
+		// Store the global constraints and columns, the incumbent, the search state of the
+		// instance and all open nodes.
+		List<U> columns = new ArrayList<>();
+		for (Pair<U, IloNumVar> pair : masterProblem.getColumns())
+		{
+			columns.add(pair.getKey());
+		}
+		Checkpoint<T, U, V> checkpoint = new Checkpoint<>(masterProblem.getGlobalConstraints(), columns,
+				bestSolution, branchingTree.getUpperBound(), strongBranching.getPseudoCosts(), Logger.getLogger(),
+				instance.getSearchState());
+		try
+		{
+			for (BAPNode<T, U, V> node : branchingTree.getNodes())
+			{
+				// Collect the decisions from the root to the node.
+				List<AbstractBranchingDecision<T, U, V>> decisions = new ArrayList<>(node.getBranchingDecisions());
+				for (BAPNode<T, U, V> ancestor = node.getParent(); ancestor != null; ancestor = ancestor.getParent())
+				{
+					decisions.addAll(0, ancestor.getBranchingDecisions());
+				}
+				checkpoint.addNode(node.getLowerBound(), node.getDepth(), decisions);
+			}
+			checkpoint.write(checkpointFile);
+		}
+		catch (IOException e)
+		{
+			// The search continues without a checkpoint.
+			e.printStackTrace();
+		}
+	}
+
+	private void updateHeuristic(boolean isFeasible) throws IloException
+	{
+		// Collect the incumbent of the last run, if it has finished.
+		applyHeuristicSolution(heuristic.poll());
+
+		// Start a new run on the columns of the current node periodically, if the node is
+		// feasible after column generation.
+		if (!heuristic.isRunning() && Logger.getLogger().getNode() % heuristicFrequency == 0 && isFeasible)
+		{
+			Logger.getLogger().startTimer(TimeQuantity.TIME_HEURISTIC);
+			heuristic.start(masterProblem);
+			Logger.getLogger().stopTimer(TimeQuantity.TIME_HEURISTIC);
+		}
+	}
+
+	private boolean applyHeuristicSolution(AbstractSolution<T, U, V> solution)
+	{
+		// Returns whether the solution of the heuristic improves the incumbent.
+		if (solution == null)
+		{
+			return false;
+		}
+		Logger.getLogger().addTime(TimeQuantity.TIME_HEURISTIC, heuristic.getSolveTime());
+		if (solution.getObjectiveValue() >= branchingTree.getUpperBound())
+		{
+			return false;
+		}
+		System.out.println("Heuristic solution with objective " + solution.getObjectiveValue());
+		bestSolution = solution;
+		branchingTree.setUpperBound(solution.getObjectiveValue());
+		return true;
 	}
 
 	private void processNode(boolean isRootNode, BAPNode<T, U, V> parent) throws IloException
@@ -189,9 +397,20 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 			return;
 		}
 
-		// Update the upper and lower bound of this node.
+		// Update the upper and lower bound of this node. If column generation was cut off,
+		// only the Lagrangian bound is valid.
 		parent.setSolution(masterProblem.getSolution());
-		parent.setLowerBound(masterProblem.getObjectiveValue());
+		if (columnGeneration.hasTerminatedEarly())
+		{
+			parent.setLowerBound(Math.max(parent.getLowerBound(), columnGeneration.getLagrangianBound()));
+		}
+		else
+		{
+			parent.setLowerBound(masterProblem.getObjectiveValue());
+		}
+
+		// Learn from the change of the lower bound with respect to the parent node.
+		strongBranching.updatePseudoCosts(parent);
 
 		// If the lower bound exceeds the best incumbent solution, we can terminate
 		// early.
@@ -228,18 +447,60 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 			return;
 		}
 
+		// Store the optimal basis, such that the child nodes can be warm started.
+		parent.setBasis(masterProblem.getBasis());
+
+		// Fix variables by reduced cost, which requires optimal duals and an incumbent.
+		double gap = branchingTree.getUpperBound() - parent.getLowerBound();
+		if (reducedCostFixer != null && columnGeneration.isConverged()
+				&& branchingTree.getUpperBound() < Double.MAX_VALUE)
+		{
+			Logger.getLogger().startTimer(TimeQuantity.TIME_REDUCED_COST_FIXING);
+			AbstractBranchingDecision<T, U, V> decision = reducedCostFixer.fixVariables(masterProblem,
+					columnGeneration.getPricingRoutine(), instance, gap);
+			if (decision != null)
+			{
+				// The decision is inherited by all descendants of this node.
+				parent.addBranchingDecision(decision);
+				masterProblem.processBranchingDecision(decision);
+				Logger.getLogger().incrementCount(CountQuantity.NUM_FIXED_VAR,
+						reducedCostFixer.getNumberOfFixedVariables());
+			}
+			Logger.getLogger().stopTimer(TimeQuantity.TIME_REDUCED_COST_FIXING);
+		}
+
+		// Enumerate all columns that may improve the incumbent if the gap is small. Pricing
+		// in the subtree then reduces to a scan over these columns.
+		if (enumerationGap > 0 && parent.getPotentialColumns() == null && columnGeneration.isConverged()
+				&& branchingTree.getUpperBound() < Double.MAX_VALUE
+				&& 100.0 * gap / Math.abs(branchingTree.getUpperBound()) <= enumerationGap)
+		{
+			Logger.getLogger().startTimer(TimeQuantity.TIME_ENUMERATION);
+			List<U> potentialColumns = columnGeneration.enumerateColumns(masterProblem, instance, gap);
+			if (potentialColumns != null)
+			{
+				parent.setPotentialColumns(potentialColumns);
+				Logger.getLogger().incrementCount(CountQuantity.NUM_ENUMERATED_COL, potentialColumns.size());
+			}
+			Logger.getLogger().stopTimer(TimeQuantity.TIME_ENUMERATION);
+		}
+
 		// Complete strong branching procedure.
 		Logger.getLogger().startTimer(TimeQuantity.TIME_BRANCHING);
-		StrongBranching<T, U, V> strongBranching = new StrongBranching<>();
 		BranchingCandidate<T, U, V> candidate = strongBranching.determineBranchingCandidate(branchingCandidates,
 				masterProblem, columnGeneration, parent.getLowerBound());
 		for (BAPNode<T, U, V> child : strongBranching.getChildren(parent, candidate))
 		{
-			// Pass lower bound to child node.
+			// Pass lower bound and potential columns to child node.
 			child.setLowerBound(parent.getLowerBound());
+			child.setPotentialColumns(parent.getPotentialColumns());
 			branchingTree.enqueue(child);
 		}
 		Logger.getLogger().stopTimer(TimeQuantity.TIME_BRANCHING);
+
+		// The solution of a node is no longer needed once it has been branched on, and only
+		// its bound, depth, decisions and basis are kept.
+		parent.setSolution(null);
 	}
 
 	public void addCutSeparator(AbstractCutSeparator<T, U, V> cutSeparator)
@@ -248,6 +509,11 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 		Collections.sort(cutSeparators, new CutSeparatorComparator());
 	}
 
+	public void setReducedCostFixer(AbstractReducedCostFixer<T, U, V> reducedCostFixer)
+	{
+		this.reducedCostFixer = reducedCostFixer;
+	}
+
 	public void addBranchingRule(AbstractBranchingRule<T, U, V> branchingRule)
 	{
 		branchingRules.add(branchingRule);
@@ -320,9 +586,15 @@ public class BranchAndPrice<T extends AbstractInstance, U extends AbstractColumn
 		branchingTree.setUpperBound(upperBound);
 	}
 
+	public void setCheckpointFile(String checkpointFile)
+	{
+		this.checkpointFile = checkpointFile;
+	}
+
 	/**
 	 * 
-	 * @param timeLimit Time limit in milliseconds.
+	 * @param timeLimit Time limit in milliseconds, measured from the start of
+	 *                  applyBranchAndPrice or resumeBranchAndPrice.
 	 */
 	public void setTimeLimit(long timeLimit)
 	{
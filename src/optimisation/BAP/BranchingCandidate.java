@@ -1,6 +1,9 @@
 package optimisation.BAP;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 
 import optimisation.columnGeneration.AbstractColumn;
@@ -8,19 +11,44 @@ import optimisation.columnGeneration.AbstractInstance;
 import optimisation.columnGeneration.pricing.AbstractPricingProblem;
 
 public class BranchingCandidate<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+		implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final Set<AbstractBranchingDecision<T, U, V>> branchingDecisions;
 	private final double fractionalValue;
 
+	// Distance by which every branch moves the branching value, in the order of the
+	// branching decisions.
+	private final List<Double> distances;
+
+	// Identifies the candidate across nodes, or null if it can not be identified.
+	private final Object key;
+
 	public BranchingCandidate(double fractionalValue)
+	{
+		this(fractionalValue, null);
+	}
+
+	public BranchingCandidate(double fractionalValue, Object key)
 	{
 		this.branchingDecisions = new LinkedHashSet<>();
 		this.fractionalValue = fractionalValue;
+		this.distances = new ArrayList<>();
+		this.key = key;
 	}
 	
 	public void addBranchingDecision(AbstractBranchingDecision<T, U, V> decision)
 	{
-		branchingDecisions.add(decision);
+		addBranchingDecision(decision, fractionalValue);
+	}
+
+	public void addBranchingDecision(AbstractBranchingDecision<T, U, V> decision, double distance)
+	{
+		if (branchingDecisions.add(decision))
+		{
+			distances.add(distance);
+		}
 	}
 
 	public Set<AbstractBranchingDecision<T, U, V>> getBranchingDecisions()
@@ -33,6 +61,16 @@ public class BranchingCandidate<T extends AbstractInstance, U extends AbstractCo
 		return fractionalValue;
 	}
 
+	public double getDistance(int branch)
+	{
+		return distances.get(branch);
+	}
+
+	public Object getKey()
+	{
+		return key;
+	}
+
 	@Override
 	public int hashCode()
 	{
@@ -51,7 +89,7 @@ public class BranchingCandidate<T extends AbstractInstance, U extends AbstractCo
 		if (this == obj) return true;
 		if (obj == null) return false;
 		if (getClass() != obj.getClass()) return false; 
-		BranchingCandidate other = (BranchingCandidate) obj; 
+		BranchingCandidate<?, ?, ?> other = (BranchingCandidate<?, ?, ?>) obj;
 		if (branchingDecisions == null)
 		{ 
 			if (other.branchingDecisions != null) return false;
@@ -1,8 +1,11 @@
 package optimisation.BAP;
 
+import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.Iterator;
-import java.util.PriorityQueue;
+import java.util.List;
+import java.util.TreeSet;
 
 import optimisation.BAP.NodeComparators.DynamicComparator;
 import optimisation.columnGeneration.AbstractColumn;
@@ -11,47 +14,259 @@ import optimisation.columnGeneration.pricing.AbstractPricingProblem;
 
 public class BranchingTree<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
 {
-	private PriorityQueue<BAPNode<T, U, V>> queue;
+	private final Comparator<BAPNode<T, U, V>> comparator;
+
+	// Open nodes in order of selection, and in order of lower bound. Ties are broken by
+	// node index, such that distinct nodes never compare equal. Once the selection order
+	// coincides with the bound order, the selection index is dropped.
+	private TreeSet<BAPNode<T, U, V>> selectionIndex;
+	private final TreeSet<BAPNode<T, U, V>> boundIndex;
+	private int nodeIndex = 0;
+
+	// Open nodes are moved to disk once the estimated memory exceeds the maximum, where
+	// zero means that all nodes are kept in memory. Moved nodes are read back as children of
+	// the root node.
+	private final long maxMemory;
+	private NodeFile<T, U, V> nodeFile;
+	private BAPNode<T, U, V> rootNode;
+	private boolean isSpillingDisabled = false;
+	private double prunedUpperBound = Double.MAX_VALUE;
+
+	// Estimated memory in bytes of the open nodes and the bases kept for warm starting them.
+	private long memoryEstimate = 0;
+
 	private double upperBound = Double.MAX_VALUE;
 	private double lowerBound = Double.MIN_VALUE;
 
 	public BranchingTree(Comparator<BAPNode<T, U, V>> comparator)
 	{
-		this.queue = new PriorityQueue<>(comparator);
+		this(comparator, 0);
+	}
+
+	/**
+	 * 
+	 * @param maxMemory Estimated memory in bytes of the open nodes above which nodes are
+	 *                  moved to disk, where zero means that all nodes are kept in memory.
+	 */
+	public BranchingTree(Comparator<BAPNode<T, U, V>> comparator, long maxMemory)
+	{
+		this.comparator = comparator;
+		this.boundIndex = new TreeSet<>(Comparator.comparingDouble((BAPNode<T, U, V> node) -> node.getLowerBound())
+				.thenComparing((o1, o2) -> o2.getDepth() - o1.getDepth()).thenComparingInt(BAPNode::getIndex));
+		this.selectionIndex = new TreeSet<>(comparator.thenComparingInt(BAPNode::getIndex));
+		this.maxMemory = maxMemory;
 	}
 
 	public int getNumberOfNodes()
 	{
-		return queue.size();
+		return boundIndex.size() + ((nodeFile != null) ? nodeFile.size() : 0);
 	}
 
 	public boolean isEmpty()
 	{
-		return queue.isEmpty();
+		return getNumberOfNodes() == 0;
 	}
 
 	public void enqueue(BAPNode<T, U, V> node)
 	{
-		queue.add(node);
+		// The lower bound of a node may not change while it is part of the tree.
+		node.setIndex(nodeIndex++);
+		memoryEstimate += node.getMemoryEstimate();
+		addOpenChild(node.getParent());
+		boundIndex.add(node);
+		if (selectionIndex != null)
+		{
+			selectionIndex.add(node);
+		}
+		if (maxMemory > 0 && memoryEstimate > maxMemory && !isSpillingDisabled)
+		{
+			spillNodes();
+		}
+	}
+
+	private void addOpenChild(BAPNode<T, U, V> parent)
+	{
+		if (parent != null)
+		{
+			if (parent.getNumberOfOpenChildren() == 0 && parent.getBasis() != null)
+			{
+				memoryEstimate += parent.getBasis().getMemoryEstimate();
+			}
+			parent.setNumberOfOpenChildren(parent.getNumberOfOpenChildren() + 1);
+		}
+	}
+
+	private void spillNodes()
+	{
+		// Move the least promising open nodes to disk until the estimated memory is halved.
+		// Nodes that share potential columns with other nodes are kept in memory. A node on
+		// disk no longer refers to its parent, such that ancestors without other open
+		// descendants can be collected. Its branching candidate is dropped, such that no
+		// pseudocosts are learned from it.
+		try
+		{
+			if (nodeFile == null)
+			{
+				nodeFile = new NodeFile<>(getSelectionComparator());
+			}
+			Iterator<BAPNode<T, U, V>> iterator = (selectionIndex != null) ? selectionIndex.descendingIterator()
+					: boundIndex.descendingIterator();
+			while (memoryEstimate > maxMemory / 2 && iterator.hasNext())
+			{
+				BAPNode<T, U, V> node = iterator.next();
+				if (node.getParent() == null || node.getPotentialColumns() != null)
+				{
+					continue;
+				}
+				if (rootNode == null)
+				{
+					rootNode = node.getParent();
+					while (rootNode.getParent() != null)
+					{
+						rootNode = rootNode.getParent();
+					}
+				}
+				nodeFile.write(node, getPathDecisions(node));
+				iterator.remove();
+				if (selectionIndex != null)
+				{
+					boundIndex.remove(node);
+				}
+				memoryEstimate -= node.getMemoryEstimate() - NodeFile.RECORD_MEMORY;
+				releaseParent(node);
+			}
+		}
+		catch (IOException e)
+		{
+			// Nodes that can not be written remain in memory, and no further attempts are made.
+			System.out.println("Open nodes can no longer be moved to disk: " + e.getMessage());
+			isSpillingDisabled = true;
+		}
+	}
+
+	private List<AbstractBranchingDecision<T, U, V>> getPathDecisions(BAPNode<T, U, V> node)
+	{
+		// Collect the decisions from the root to the node, excluding the decisions of the root
+		// itself, which hold for all nodes.
+		List<AbstractBranchingDecision<T, U, V>> decisions = new ArrayList<>();
+		for (BAPNode<T, U, V> current = node; current.getParent() != null; current = current.getParent())
+		{
+			decisions.addAll(0, current.getBranchingDecisions());
+		}
+		return decisions;
+	}
+
+	private Comparator<? super BAPNode<T, U, V>> getSelectionComparator()
+	{
+		return (selectionIndex != null) ? selectionIndex.comparator() : boundIndex.comparator();
+	}
+
+	public void close()
+	{
+		// Release the file of nodes that were moved to disk, if any.
+		if (nodeFile == null)
+		{
+			return;
+		}
+		try
+		{
+			nodeFile.close();
+		}
+		catch (IOException e)
+		{
+			System.out.println("Node file could not be closed: " + e.getMessage());
+		}
+		nodeFile = null;
 	}
 
 	public BAPNode<T, U, V> dequeue()
 	{
-		return queue.remove();
+		// The parent of the node should be released once it has been warm started.
+		BAPNode<T, U, V> node = boundIndex.isEmpty() ? null
+				: (selectionIndex == null) ? boundIndex.first() : selectionIndex.first();
+
+		// Read back the first node on disk if it precedes the first node in memory.
+		if (nodeFile != null && nodeFile.size() > 0 && (node == null || nodeFile.compareFirst(node) < 0))
+		{
+			try
+			{
+				node = nodeFile.readFirst(rootNode);
+			}
+			catch (IOException e)
+			{
+				throw new IllegalStateException("Node could not be read.", e);
+			}
+			memoryEstimate -= NodeFile.RECORD_MEMORY;
+			addOpenChild(rootNode);
+			return node;
+		}
+
+		boundIndex.remove(node);
+		if (selectionIndex != null)
+		{
+			selectionIndex.remove(node);
+		}
+		memoryEstimate -= node.getMemoryEstimate();
+		return node;
+	}
+
+	public void releaseParent(BAPNode<T, U, V> node)
+	{
+		// Drop the basis of the parent once all of its children have been started or
+		// pruned.
+		BAPNode<T, U, V> parent = node.getParent();
+		if (parent == null)
+		{
+			return;
+		}
+		parent.setNumberOfOpenChildren(parent.getNumberOfOpenChildren() - 1);
+		if (parent.getNumberOfOpenChildren() == 0 && parent.getBasis() != null)
+		{
+			memoryEstimate -= parent.getBasis().getMemoryEstimate();
+			parent.setBasis(null);
+		}
+	}
+
+	public long getMemoryEstimate()
+	{
+		return memoryEstimate;
+	}
+
+	public List<BAPNode<T, U, V>> getNodes() throws IOException
+	{
+		// Nodes on disk are read as copies, which are children of the root node and carry
+		// all decisions on their path.
+		List<BAPNode<T, U, V>> nodes = new ArrayList<>(boundIndex);
+		if (nodeFile != null)
+		{
+			nodes.addAll(nodeFile.readAll(rootNode));
+		}
+		return nodes;
 	}
 
 	public void updateLowerBound()
 	{
-		lowerBound = upperBound;
-		Iterator<BAPNode<T, U, V>> iterator = queue.iterator();
-		while (iterator.hasNext())
+		// Prune nodes whose lower bound exceeds the upper bound, which are found at the end
+		// of the bound index. Nodes on disk are only checked when the upper bound changes.
+		while (!boundIndex.isEmpty() && boundIndex.last().getLowerBound() >= upperBound)
 		{
-			BAPNode<T, U, V> node = iterator.next();
-			lowerBound = Math.min(lowerBound, node.getLowerBound());
-			if (node.getLowerBound() >= upperBound)
+			BAPNode<T, U, V> node = boundIndex.pollLast();
+			if (selectionIndex != null)
 			{
-				iterator.remove();
+				selectionIndex.remove(node);
+			}
+			memoryEstimate -= node.getMemoryEstimate();
+			releaseParent(node);
+		}
+		lowerBound = boundIndex.isEmpty() ? upperBound : Math.min(upperBound, boundIndex.first().getLowerBound());
+		if (nodeFile != null)
+		{
+			if (upperBound < prunedUpperBound)
+			{
+				memoryEstimate -= (long) NodeFile.RECORD_MEMORY * nodeFile.prune(upperBound);
+				prunedUpperBound = upperBound;
 			}
+			lowerBound = Math.min(lowerBound, nodeFile.getLowerBound());
 		}
 	}
 
@@ -62,17 +277,18 @@ public class BranchingTree<T extends AbstractInstance, U extends AbstractColumn<
 
 	public void setUpperBound(double upperBound)
 	{
-		if (queue.comparator() instanceof DynamicComparator && this.upperBound == Double.MAX_VALUE)
+		if (comparator instanceof DynamicComparator && this.upperBound == Double.MAX_VALUE)
 		{
-			// Switch comparator setting.
+			// Switch comparator setting. Nodes are then selected in order of lower bound,
+			// which is exactly the order of the bound index.
 			@SuppressWarnings("unchecked")
-			DynamicComparator<T, U, V> dynamicComparator = (DynamicComparator<T, U, V>) queue.comparator();
+			DynamicComparator<T, U, V> dynamicComparator = (DynamicComparator<T, U, V>) comparator;
 			dynamicComparator.performSwitch();
-
-			// Initialise a new priority queue.
-			PriorityQueue<BAPNode<T, U, V>> newQueue = new PriorityQueue<>(dynamicComparator);
-			newQueue.addAll(queue);
-			this.queue = newQueue;
+			selectionIndex = null;
+			if (nodeFile != null)
+			{
+				nodeFile.setComparator(boundIndex.comparator());
+			}
 		}
 		this.upperBound = upperBound;
 	}
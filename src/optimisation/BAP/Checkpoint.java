@@ -0,0 +1,186 @@
+package optimisation.BAP;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import optimisation.BAP.strongBranching.PseudoCosts;
+import optimisation.columnGeneration.AbstractColumn;
+import optimisation.columnGeneration.AbstractConstraint;
+import optimisation.columnGeneration.AbstractInstance;
+import optimisation.columnGeneration.AbstractSolution;
+import optimisation.columnGeneration.pricing.AbstractPricingProblem;
+import util.Logger;
+
+/**
+ * State of a branch-and-price run from which the search can be resumed. Open nodes are
+ * stored by their lower bound, depth and all branching decisions on the path from the root.
+ */
+public class Checkpoint<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+{
+	private final List<AbstractConstraint<T, U, V>> constraints;
+	private final List<U> columns;
+	private final AbstractSolution<T, U, V> bestSolution;
+	private final double upperBound;
+	private final PseudoCosts pseudoCosts;
+	private final Logger logger;
+	private final Serializable searchState;
+
+	private final List<Double> lowerBounds;
+	private final List<Integer> depths;
+	private final List<List<AbstractBranchingDecision<T, U, V>>> branchingDecisions;
+
+	public Checkpoint(List<AbstractConstraint<T, U, V>> constraints, List<U> columns,
+			AbstractSolution<T, U, V> bestSolution, double upperBound, PseudoCosts pseudoCosts, Logger logger,
+			Serializable searchState)
+	{
+		this.constraints = constraints;
+		this.columns = columns;
+		this.bestSolution = bestSolution;
+		this.upperBound = upperBound;
+		this.pseudoCosts = pseudoCosts;
+		this.logger = logger;
+		this.searchState = searchState;
+
+		this.lowerBounds = new ArrayList<>();
+		this.depths = new ArrayList<>();
+		this.branchingDecisions = new ArrayList<>();
+	}
+
+	public void addNode(double lowerBound, int depth, List<AbstractBranchingDecision<T, U, V>> branchingDecisions)
+	{
+		this.lowerBounds.add(lowerBound);
+		this.depths.add(depth);
+		this.branchingDecisions.add(branchingDecisions);
+	}
+
+	public void write(String fileName) throws IOException
+	{
+		// Write to a temporary file first, such that an interrupted write never replaces the
+		// previous checkpoint. Decisions shared by several paths are written only once.
+		File file = new File(fileName);
+		File tempFile = new File(fileName + ".tmp");
+		try (ObjectOutputStream output = new ObjectOutputStream(
+				new GZIPOutputStream(new BufferedOutputStream(new FileOutputStream(tempFile)))))
+		{
+			output.writeObject(constraints);
+			output.writeObject(columns);
+			output.writeObject(bestSolution);
+			output.writeDouble(upperBound);
+			output.writeObject(pseudoCosts);
+			output.writeObject(logger);
+			output.writeObject(searchState);
+			output.writeInt(lowerBounds.size());
+			for (int i = 0; i < lowerBounds.size(); i++)
+			{
+				output.writeDouble(lowerBounds.get(i));
+				output.writeInt(depths.get(i));
+				output.writeObject(branchingDecisions.get(i));
+			}
+		}
+		try
+		{
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING,
+					StandardCopyOption.ATOMIC_MOVE);
+		}
+		catch (AtomicMoveNotSupportedException e)
+		{
+			// Fall back to a regular move on file systems without atomic moves.
+			Files.move(tempFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	public static <T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>> Checkpoint<T, U, V> read(
+			String fileName) throws IOException
+	{
+		try (ObjectInputStream input = new ObjectInputStream(
+				new GZIPInputStream(new BufferedInputStream(new FileInputStream(fileName)))))
+		{
+			Checkpoint<T, U, V> checkpoint = new Checkpoint<>((List<AbstractConstraint<T, U, V>>) input.readObject(),
+					(List<U>) input.readObject(), (AbstractSolution<T, U, V>) input.readObject(), input.readDouble(),
+					(PseudoCosts) input.readObject(), (Logger) input.readObject(),
+					(Serializable) input.readObject());
+			int numberOfNodes = input.readInt();
+			for (int i = 0; i < numberOfNodes; i++)
+			{
+				double lowerBound = input.readDouble();
+				int depth = input.readInt();
+				checkpoint.addNode(lowerBound, depth, (List<AbstractBranchingDecision<T, U, V>>) input.readObject());
+			}
+			return checkpoint;
+		}
+		catch (ClassNotFoundException e)
+		{
+			throw new IOException(e);
+		}
+	}
+
+	public List<AbstractConstraint<T, U, V>> getConstraints()
+	{
+		return constraints;
+	}
+
+	public List<U> getColumns()
+	{
+		return columns;
+	}
+
+	public AbstractSolution<T, U, V> getBestSolution()
+	{
+		return bestSolution;
+	}
+
+	public double getUpperBound()
+	{
+		return upperBound;
+	}
+
+	public PseudoCosts getPseudoCosts()
+	{
+		return pseudoCosts;
+	}
+
+	public Logger getLogger()
+	{
+		return logger;
+	}
+
+	public Serializable getSearchState()
+	{
+		return searchState;
+	}
+
+	public int getNumberOfNodes()
+	{
+		return lowerBounds.size();
+	}
+
+	public double getLowerBound(int node)
+	{
+		return lowerBounds.get(node);
+	}
+
+	public int getDepth(int node)
+	{
+		return depths.get(node);
+	}
+
+	public List<AbstractBranchingDecision<T, U, V>> getBranchingDecisions(int node)
+	{
+		return branchingDecisions.get(node);
+	}
+}
@@ -0,0 +1,288 @@
+package optimisation.BAP;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import optimisation.columnGeneration.AbstractColumn;
+import optimisation.columnGeneration.AbstractInstance;
+import optimisation.columnGeneration.pricing.AbstractPricingProblem;
+
+/**
+ * Open nodes that are moved to disk. Only a record of the lower bound, depth, index and file
+ * offset of every node is kept in memory, such that the nodes can still be ordered. A node
+ * is read back as a child of the root node, carrying all branching decisions on its path.
+ */
+public class NodeFile<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+{
+	// Estimated memory in bytes of the record of a node.
+	public static final int RECORD_MEMORY = 24;
+
+	// Append-only file of serialized branching decisions. Space of nodes that are read back
+	// or pruned is not reclaimed.
+	private final File tempFile;
+	private final RandomAccessFile file;
+
+	// Records in parallel arrays, which form a binary heap in order of the comparator.
+	private Comparator<? super BAPNode<T, U, V>> comparator;
+	private double[] lowerBounds;
+	private int[] depths;
+	private int[] indices;
+	private long[] offsets;
+	private int size;
+
+	// Smallest lower bound of the records, which is recomputed once it may have changed.
+	private double lowerBound = Double.MAX_VALUE;
+	private boolean isLowerBoundValid = true;
+
+	// Nodes that take the values of records, such that records can be compared.
+	private final ProbeNode<T, U, V> firstProbe;
+	private final ProbeNode<T, U, V> secondProbe;
+
+	public NodeFile(Comparator<? super BAPNode<T, U, V>> comparator) throws IOException
+	{
+		this.tempFile = File.createTempFile("nodes", ".bin");
+		tempFile.deleteOnExit();
+		this.file = new RandomAccessFile(tempFile, "rw");
+
+		this.comparator = comparator;
+		this.lowerBounds = new double[16];
+		this.depths = new int[16];
+		this.indices = new int[16];
+		this.offsets = new long[16];
+		this.size = 0;
+
+		this.firstProbe = new ProbeNode<>();
+		this.secondProbe = new ProbeNode<>();
+	}
+
+	public int size()
+	{
+		return size;
+	}
+
+	public void write(BAPNode<T, U, V> node, List<AbstractBranchingDecision<T, U, V>> branchingDecisions)
+			throws IOException
+	{
+		// Serialize the decisions on the path of the node, and add its record.
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		ObjectOutputStream output = new ObjectOutputStream(bytes);
+		output.writeObject(branchingDecisions);
+		output.close();
+
+		long offset = file.length();
+		file.seek(offset);
+		file.writeInt(bytes.size());
+		file.write(bytes.toByteArray());
+
+		if (size == lowerBounds.length)
+		{
+			lowerBounds = Arrays.copyOf(lowerBounds, 2 * size);
+			depths = Arrays.copyOf(depths, 2 * size);
+			indices = Arrays.copyOf(indices, 2 * size);
+			offsets = Arrays.copyOf(offsets, 2 * size);
+		}
+		lowerBounds[size] = node.getLowerBound();
+		depths[size] = node.getDepth();
+		indices[size] = node.getIndex();
+		offsets[size] = offset;
+		siftUp(size++);
+		lowerBound = Math.min(lowerBound, node.getLowerBound());
+	}
+
+	public int compareFirst(BAPNode<T, U, V> node)
+	{
+		// Compare the first record with a node in memory.
+		return comparator.compare(setProbe(firstProbe, 0), node);
+	}
+
+	public BAPNode<T, U, V> readFirst(BAPNode<T, U, V> rootNode) throws IOException
+	{
+		// Read back the first node, and remove its record.
+		BAPNode<T, U, V> node = read(0, rootNode);
+		if (lowerBounds[0] <= lowerBound)
+		{
+			isLowerBoundValid = false;
+		}
+		swap(0, --size);
+		siftDown(0);
+		return node;
+	}
+
+	public List<BAPNode<T, U, V>> readAll(BAPNode<T, U, V> rootNode) throws IOException
+	{
+		// Read copies of all nodes, leaving them on disk.
+		List<BAPNode<T, U, V>> nodes = new ArrayList<>(size);
+		for (int i = 0; i < size; i++)
+		{
+			nodes.add(read(i, rootNode));
+		}
+		return nodes;
+	}
+
+	@SuppressWarnings("unchecked")
+	private BAPNode<T, U, V> read(int record, BAPNode<T, U, V> rootNode) throws IOException
+	{
+		file.seek(offsets[record]);
+		byte[] bytes = new byte[file.readInt()];
+		file.readFully(bytes);
+		List<AbstractBranchingDecision<T, U, V>> branchingDecisions;
+		try (ObjectInputStream input = new ObjectInputStream(new ByteArrayInputStream(bytes)))
+		{
+			branchingDecisions = (List<AbstractBranchingDecision<T, U, V>>) input.readObject();
+		}
+		catch (ClassNotFoundException e)
+		{
+			throw new IOException(e);
+		}
+
+		BAPNode<T, U, V> node = new BAPNode<>(rootNode, depths[record]);
+		for (AbstractBranchingDecision<T, U, V> decision : branchingDecisions)
+		{
+			node.addBranchingDecision(decision);
+		}
+		node.setLowerBound(lowerBounds[record]);
+		node.setIndex(indices[record]);
+		return node;
+	}
+
+	public int prune(double upperBound)
+	{
+		// Remove the records whose lower bound exceeds the upper bound, and return their
+		// number.
+		int newSize = 0;
+		for (int i = 0; i < size; i++)
+		{
+			if (lowerBounds[i] < upperBound)
+			{
+				lowerBounds[newSize] = lowerBounds[i];
+				depths[newSize] = depths[i];
+				indices[newSize] = indices[i];
+				offsets[newSize] = offsets[i];
+				newSize++;
+			}
+		}
+		int numberOfPrunedNodes = size - newSize;
+		if (numberOfPrunedNodes > 0)
+		{
+			size = newSize;
+			heapify();
+		}
+		return numberOfPrunedNodes;
+	}
+
+	public double getLowerBound()
+	{
+		if (!isLowerBoundValid)
+		{
+			lowerBound = Double.MAX_VALUE;
+			for (int i = 0; i < size; i++)
+			{
+				lowerBound = Math.min(lowerBound, lowerBounds[i]);
+			}
+			isLowerBoundValid = true;
+		}
+		return lowerBound;
+	}
+
+	public void setComparator(Comparator<? super BAPNode<T, U, V>> comparator)
+	{
+		this.comparator = comparator;
+		heapify();
+	}
+
+	public void close() throws IOException
+	{
+		file.close();
+		tempFile.delete();
+	}
+
+	private BAPNode<T, U, V> setProbe(ProbeNode<T, U, V> probe, int record)
+	{
+		probe.setLowerBound(lowerBounds[record]);
+		probe.probeDepth = depths[record];
+		probe.setIndex(indices[record]);
+		return probe;
+	}
+
+	private int compare(int i, int j)
+	{
+		return comparator.compare(setProbe(firstProbe, i), setProbe(secondProbe, j));
+	}
+
+	private void heapify()
+	{
+		for (int i = size / 2 - 1; i >= 0; i--)
+		{
+			siftDown(i);
+		}
+	}
+
+	private void siftUp(int i)
+	{
+		while (i > 0 && compare(i, (i - 1) / 2) < 0)
+		{
+			swap(i, (i - 1) / 2);
+			i = (i - 1) / 2;
+		}
+	}
+
+	private void siftDown(int i)
+	{
+		while (2 * i + 1 < size)
+		{
+			int child = 2 * i + 1;
+			if (child + 1 < size && compare(child + 1, child) < 0)
+			{
+				child++;
+			}
+			if (compare(child, i) >= 0)
+			{
+				return;
+			}
+			swap(i, child);
+			i = child;
+		}
+	}
+
+	private void swap(int i, int j)
+	{
+		double lowerBound = lowerBounds[i];
+		lowerBounds[i] = lowerBounds[j];
+		lowerBounds[j] = lowerBound;
+		int depth = depths[i];
+		depths[i] = depths[j];
+		depths[j] = depth;
+		int index = indices[i];
+		indices[i] = indices[j];
+		indices[j] = index;
+		long offset = offsets[i];
+		offsets[i] = offsets[j];
+		offsets[j] = offset;
+	}
+
+	private static class ProbeNode<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+			extends BAPNode<T, U, V>
+	{
+		private int probeDepth;
+
+		private ProbeNode()
+		{
+			super(null);
+		}
+
+		@Override
+		public int getDepth()
+		{
+			return probeDepth;
+		}
+	}
+}
@@ -0,0 +1,131 @@
+package optimisation.BAP;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import ilog.concert.IloException;
+import optimisation.columnGeneration.AbstractColumn;
+import optimisation.columnGeneration.AbstractInstance;
+import optimisation.columnGeneration.AbstractMasterProblem;
+import optimisation.columnGeneration.AbstractSolution;
+import optimisation.columnGeneration.pricing.AbstractPricingProblem;
+
+public class RestrictedMasterHeuristic<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+{
+	private final int timeLimit;
+
+	// A single background thread, which does not keep the application alive.
+	private final ExecutorService executor;
+	private Future<AbstractSolution<T, U, V>> future;
+	private long solveTime;
+
+	/**
+	 *
+	 * @param timeLimit Time limit of a single run in seconds.
+	 */
+	public RestrictedMasterHeuristic(int timeLimit)
+	{
+		this.timeLimit = timeLimit;
+		this.executor = Executors.newSingleThreadExecutor(runnable ->
+		{
+			Thread thread = new Thread(runnable, "restricted-master-heuristic");
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	public boolean isRunning()
+	{
+		return future != null;
+	}
+
+	public void start(AbstractMasterProblem<T, U, V> masterProblem) throws IloException
+	{
+		// Solve a snapshot of the current columns, such that the main master problem is
+		// neither blocked nor modified. Since branching constraints only restrict the
+		// master problem, any integer solution of the snapshot is globally feasible. Slack
+		// variables are removed, such that only solutions of actual columns are reported.
+		AbstractMasterProblem<T, U, V> copy = masterProblem.copy();
+		copy.removeSlackVariables();
+		copy.setNumberOfThreads(1);
+		future = executor.submit(() ->
+		{
+			long time = System.currentTimeMillis();
+			try
+			{
+				return copy.applyRestrictedMasterHeuristic(timeLimit);
+			}
+			catch (IloException e)
+			{
+				// No integer solution was found within the time limit.
+				return null;
+			}
+			finally
+			{
+				copy.clean();
+				solveTime = System.currentTimeMillis() - time;
+			}
+		});
+	}
+
+	public AbstractSolution<T, U, V> poll()
+	{
+		// Retrieve the solution of the last run if it has finished, without blocking.
+		if (future == null || !future.isDone())
+		{
+			return null;
+		}
+		return getSolution(0);
+	}
+
+	private AbstractSolution<T, U, V> getSolution(long timeout)
+	{
+		// Wait at most the given number of milliseconds for the last run. Runs that fail or
+		// do not finish in time yield no solution.
+		try
+		{
+			return future.get(timeout, TimeUnit.MILLISECONDS);
+		}
+		catch (InterruptedException e)
+		{
+			Thread.currentThread().interrupt();
+			System.out.println("Restricted master heuristic was interrupted.");
+		}
+		catch (ExecutionException e)
+		{
+			System.out.println("Restricted master heuristic failed: " + e.getCause());
+		}
+		catch (TimeoutException e)
+		{
+			future.cancel(true);
+			System.out.println("Restricted master heuristic did not finish in time.");
+		}
+		finally
+		{
+			future = null;
+		}
+		return null;
+	}
+
+	public long getSolveTime()
+	{
+		return solveTime;
+	}
+
+	public AbstractSolution<T, U, V> shutdown()
+	{
+		// Wait for a pending run, such that an incumbent found at the end of the search is
+		// not lost. The run stops at its own time limit, and is given one second to report.
+		AbstractSolution<T, U, V> solution = null;
+		if (future != null)
+		{
+			solution = getSolution(1000L * timeLimit + 1000);
+		}
+		executor.shutdownNow();
+		return solution;
+	}
+}
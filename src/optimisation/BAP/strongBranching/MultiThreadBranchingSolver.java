@@ -1,41 +1,85 @@
 package optimisation.BAP.strongBranching;
 
-import java.io.File;
 import java.util.Map;
+import java.util.Queue;
 
-import ilog.cplex.IloCplex;
-import util.Configuration;
+import ilog.concert.IloException;
+import ilog.cplex.IloCplex.Status;
+import optimisation.BAP.AbstractBranchingDecision;
+import optimisation.BAP.BranchingCandidate;
+import optimisation.columnGeneration.AbstractColumn;
+import optimisation.columnGeneration.AbstractInstance;
+import optimisation.columnGeneration.AbstractMasterProblem;
+import optimisation.columnGeneration.Basis;
+import optimisation.columnGeneration.pricing.AbstractPricingProblem;
+import util.Pair;
 
-public class MultiThreadBranchingSolver<T extends Object> implements Runnable
+public class MultiThreadBranchingSolver<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+		implements Runnable
 {
-	private final Map<T, Double> minDeltaMap;
-	private final Map<T, Double> maxDeltaMap;
-	private final T object;
-	private final String modelFile;
+	private final Map<BranchingCandidate<T, U, V>, Double> minDeltaMap;
+	private final Map<BranchingCandidate<T, U, V>, Double> maxDeltaMap;
+	private final Queue<Pair<BranchingCandidate<T, U, V>, AbstractBranchingDecision<T, U, V>>> decisions;
+	private final AbstractMasterProblem<T, U, V> masterProblem;
+	private final Basis<T, U, V> basis;
 
-	public MultiThreadBranchingSolver(Map<T, Double> minDeltaMap, Map<T, Double> maxDeltaMap, T object, String modelFile)
+	public MultiThreadBranchingSolver(Map<BranchingCandidate<T, U, V>, Double> minDeltaMap,
+			Map<BranchingCandidate<T, U, V>, Double> maxDeltaMap,
+			Queue<Pair<BranchingCandidate<T, U, V>, AbstractBranchingDecision<T, U, V>>> decisions,
+			AbstractMasterProblem<T, U, V> masterProblem, Basis<T, U, V> basis)
 	{
 		this.minDeltaMap = minDeltaMap;
 		this.maxDeltaMap = maxDeltaMap;
-		this.object = object;
-		this.modelFile = modelFile;
+		this.decisions = decisions;
+		this.masterProblem = masterProblem;
+		this.basis = basis;
 	}
 
 	@Override
 	public void run()
 	{
+		// Evaluate decisions on this master problem until none are left.
 		try
 		{
-			IloCplex model = new IloCplex();
-			model.setOut(null);
-			model.importModel(modelFile);
-			int numThreads = Configuration.getConfiguration().getIntProperty("NUM_THREADS_STRONG_BRANCHING_SOLVER");
-			model.setParam(IloCplex.Param.Threads, numThreads);
-			model.solve();
-			double delta = model.getObjValue();
-			model.clearModel();
-			model.close();
-			
+			Pair<BranchingCandidate<T, U, V>, AbstractBranchingDecision<T, U, V>> pair;
+			while ((pair = decisions.poll()) != null)
+			{
+				Double objective = solve(masterProblem, pair.getValue(), basis);
+				if (objective != null)
+				{
+					updateDeltas(minDeltaMap, maxDeltaMap, pair.getKey(), objective);
+				}
+			}
+		}
+		catch (Exception e)
+		{
+			e.printStackTrace();
+		}
+	}
+
+	public static <T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>> Double solve(
+			AbstractMasterProblem<T, U, V> masterProblem, AbstractBranchingDecision<T, U, V> decision,
+			Basis<T, U, V> basis) throws IloException
+	{
+		// Apply the decision in place, warm start from the given basis, and revert the
+		// decision afterwards.
+		masterProblem.processBranchingDecision(decision);
+		masterProblem.setBasis(basis);
+		masterProblem.solve();
+		Double objective = null;
+		if (masterProblem.getStatus().equals(Status.Optimal))
+		{
+			objective = masterProblem.getObjectiveValue();
+		}
+		masterProblem.undoBranchingDecision(decision);
+		return objective;
+	}
+
+	public static <T> void updateDeltas(Map<T, Double> minDeltaMap, Map<T, Double> maxDeltaMap, T object,
+			double delta)
+	{
+		synchronized (minDeltaMap)
+		{
 			if (minDeltaMap.containsKey(object))
 			{
 				minDeltaMap.put(object, Math.min(minDeltaMap.get(object), delta));
@@ -52,14 +96,6 @@ public class MultiThreadBranchingSolver<T extends Object> implements Runnable
 			{
 				maxDeltaMap.put(object, delta);
 			}
-			
-			// Delete file.
-			File file = new File(modelFile);
-			file.delete();
-		}
-		catch (Exception e)
-		{
-			e.printStackTrace();
 		}
 	}
 }
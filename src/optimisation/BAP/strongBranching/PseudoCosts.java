@@ -0,0 +1,92 @@
+package optimisation.BAP.strongBranching;
+
+import java.io.Serializable;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class PseudoCosts implements Serializable
+{
+	private static final long serialVersionUID = 1L;
+
+	// Sums and numbers of observed bound changes per unit of distance by which the branch
+	// moves the branching value, indexed by candidate key and branch.
+	private final Map<Object, double[]> sums;
+	private final Map<Object, int[]> counts;
+
+	// Objective changes observed with bounded heuristic column generation, which are no
+	// valid bound changes. They are only used for branches without observed bound changes,
+	// and do not count towards reliability.
+	private final Map<Object, double[]> heuristicSums;
+	private final Map<Object, int[]> heuristicCounts;
+
+	// Average over all observed bound changes, used for candidates without observations.
+	private double totalSum;
+	private int totalCount;
+
+	public PseudoCosts()
+	{
+		this.sums = new LinkedHashMap<>();
+		this.counts = new LinkedHashMap<>();
+		this.heuristicSums = new LinkedHashMap<>();
+		this.heuristicCounts = new LinkedHashMap<>();
+	}
+
+	public synchronized void update(Object key, int branch, int numberOfBranches, double distance, double delta)
+	{
+		if (update(sums, counts, key, branch, numberOfBranches, distance, delta))
+		{
+			totalSum += Math.max(0, delta) / distance;
+			totalCount++;
+		}
+	}
+
+	public synchronized void updateHeuristic(Object key, int branch, int numberOfBranches, double distance,
+			double delta)
+	{
+		update(heuristicSums, heuristicCounts, key, branch, numberOfBranches, distance, delta);
+	}
+
+	private boolean update(Map<Object, double[]> sums, Map<Object, int[]> counts, Object key, int branch,
+			int numberOfBranches, double distance, double delta)
+	{
+		if (key == null || distance <= 0)
+		{
+			return false;
+		}
+		if (!sums.containsKey(key))
+		{
+			sums.put(key, new double[numberOfBranches]);
+			counts.put(key, new int[numberOfBranches]);
+		}
+		sums.get(key)[branch] += Math.max(0, delta) / distance;
+		counts.get(key)[branch]++;
+		return true;
+	}
+
+	public synchronized int getNumberOfObservations(Object key, int branch)
+	{
+		return getNumberOfObservations(counts, key, branch);
+	}
+
+	private int getNumberOfObservations(Map<Object, int[]> counts, Object key, int branch)
+	{
+		if (key == null || !counts.containsKey(key))
+		{
+			return 0;
+		}
+		return counts.get(key)[branch];
+	}
+
+	public synchronized double getPseudoCost(Object key, int branch)
+	{
+		if (getNumberOfObservations(counts, key, branch) > 0)
+		{
+			return sums.get(key)[branch] / counts.get(key)[branch];
+		}
+		if (getNumberOfObservations(heuristicCounts, key, branch) > 0)
+		{
+			return heuristicSums.get(key)[branch] / heuristicCounts.get(key)[branch];
+		}
+		return totalCount > 0 ? totalSum / totalCount : 1;
+	}
+}
@@ -3,31 +3,57 @@ package optimisation.BAP.strongBranching;
 import java.util.ArrayList;
 import java.util.Collections;
 import java.util.Comparator;
+import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Queue;
 import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.Future;
 
 import ilog.concert.IloException;
+import ilog.concert.IloNumVar;
 import optimisation.BAP.AbstractBranchingDecision;
 import optimisation.BAP.BAPNode;
 import optimisation.BAP.BranchingCandidate;
 import optimisation.columnGeneration.AbstractColumn;
 import optimisation.columnGeneration.AbstractInstance;
 import optimisation.columnGeneration.AbstractMasterProblem;
+import optimisation.columnGeneration.Basis;
 import optimisation.columnGeneration.ColumnGeneration;
 import optimisation.columnGeneration.pricing.AbstractPricingProblem;
+import util.Configuration;
 import util.Pair;
 
 public class StrongBranching<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
 {
 	private final static double MU = 1.0 / 6.0;
-	private final static int NUMBER_CANDIDATES = 1;
-	private final static int NUMBER_STRONG_CANDIDATES = 1;
+	private final static int NUMBER_CANDIDATES = Configuration.getConfiguration()
+			.getIntProperty("NUMBER_CANDIDATES_STRONG_BRANCHING");
+	private final static int NUMBER_STRONG_CANDIDATES = Configuration.getConfiguration()
+			.getIntProperty("NUMBER_CANDIDATES_COLUMN_GENERATION");
+	private final static int RELIABILITY_THRESHOLD = Configuration.getConfiguration()
+			.getIntProperty("RELIABILITY_THRESHOLD");
+	private final static int ITERATION_LIMIT = Configuration.getConfiguration()
+			.getIntProperty("STRONG_BRANCHING_ITERATIONS");
+
+	private ExecutorService threadPool;
+	private PseudoCosts pseudoCosts = new PseudoCosts();
+
+	private ExecutorService getThreadPool()
+	{
+		// The thread pool is kept alive across nodes.
+		if (threadPool == null)
+		{
+			threadPool = new ForkJoinPool(
+					Configuration.getConfiguration().getIntProperty("NUM_THREADS_STRONG_BRANCHING"));
+		}
+		return threadPool;
+	}
 
 	public BranchingCandidate<T, U, V> determineBranchingCandidate(
 			List<BranchingCandidate<T, U, V>> branchingCandidates, AbstractMasterProblem<T, U, V> masterProblem,
@@ -41,58 +67,110 @@ public class StrongBranching<T extends AbstractInstance, U extends AbstractColum
 			return branchingCandidates.get(0);
 		}
 
-		// Apply pseudo-strong branching on the candidates. Start by initialising a
-		// synchronised map.
-		Map<BranchingCandidate<T, U, V>, Double> minDeltaMap = Collections.synchronizedMap(new LinkedHashMap<>());
-		Map<BranchingCandidate<T, U, V>, Double> maxDeltaMap = Collections.synchronizedMap(new LinkedHashMap<>());
-
-		// Initialise a thread pool.
-		int numThreads = util.Configuration.getConfiguration().getIntProperty("NUM_THREADS_STRONG_BRANCHING");
-		ExecutorService threadPool = Executors.newFixedThreadPool(numThreads);
-
-		// Generate a list of models to solve.
-		List<Future<?>> futures = new ArrayList<>();
-		int index = 0;
+		// Score reliable candidates by their pseudocosts, and evaluate the remaining
+		// candidates by strong branching.
+		List<Pair<BranchingCandidate<T, U, V>, Double>> candidateScores = new ArrayList<>();
+		List<BranchingCandidate<T, U, V>> unreliableCandidates = new ArrayList<>();
 		for (BranchingCandidate<T, U, V> candidate : branchingCandidates)
 		{
-			try
+			if (isReliable(candidate))
 			{
-				for (AbstractBranchingDecision<T, U, V> decision : candidate.getBranchingDecisions())
-				{
-					// Submit first job.
-					String model = "model_" + index + ".lp";
-					masterProblem.processBranchingDecision(decision);
-					masterProblem.export(model);
-					masterProblem.undoBranchingDecision(decision);
-
-					MultiThreadBranchingSolver<BranchingCandidate<T, U, V>> runnable = new MultiThreadBranchingSolver<>(
-							minDeltaMap, maxDeltaMap, candidate, model);
-					Future<?> future = threadPool.submit(() -> runnable.run());
-					futures.add(future);
-					index++;
-				}
+				candidateScores.add(new Pair<>(candidate, getPseudoCostScore(candidate)));
 			}
-			catch (Exception e)
+			else
 			{
-				e.printStackTrace();
+				unreliableCandidates.add(candidate);
 			}
 		}
+		if (unreliableCandidates.size() > 0)
+		{
+			candidateScores.addAll(applyStrongBranching(unreliableCandidates, masterProblem, columnGeneration,
+					originalObjective));
+		}
 
-		// Proceed when jobs are done.
-		for (Future<?> future : futures)
+		// Select the candidate with the highest score.
+		double highestScore = -1;
+		BranchingCandidate<T, U, V> bestCandidate = branchingCandidates.get(0);
+		for (Pair<BranchingCandidate<T, U, V>, Double> pair : candidateScores)
 		{
-			try
+			if (pair.getValue() > highestScore)
 			{
-				future.get();
+				bestCandidate = pair.getKey();
+				highestScore = pair.getValue();
 			}
-			catch (Exception e)
+		}
+		return bestCandidate;
+	}
+
+	private List<Pair<BranchingCandidate<T, U, V>, Double>> applyStrongBranching(
+			List<BranchingCandidate<T, U, V>> branchingCandidates, AbstractMasterProblem<T, U, V> masterProblem,
+			ColumnGeneration<T, U, V> columnGeneration, double originalObjective) throws IloException
+	{
+		// Apply pseudo-strong branching on the candidates, by solving the restricted master
+		// LP for each branching decision. All solves are warm started from the current
+		// basis.
+		Map<BranchingCandidate<T, U, V>, Double> minDeltaMap = Collections.synchronizedMap(new LinkedHashMap<>());
+		Map<BranchingCandidate<T, U, V>, Double> maxDeltaMap = Collections.synchronizedMap(new LinkedHashMap<>());
+		Basis<T, U, V> basis = masterProblem.getBasis();
+		Queue<Pair<BranchingCandidate<T, U, V>, AbstractBranchingDecision<T, U, V>>> decisions = new ConcurrentLinkedQueue<>();
+		for (BranchingCandidate<T, U, V> candidate : branchingCandidates)
+		{
+			for (AbstractBranchingDecision<T, U, V> decision : candidate.getBranchingDecisions())
 			{
-				e.printStackTrace();
+				decisions.add(new Pair<>(candidate, decision));
 			}
 		}
 
-		// Shut down threadpool and return columns.
-		threadPool.shutdown();
+		int numThreads = Math.min(decisions.size(),
+				Configuration.getConfiguration().getIntProperty("NUM_THREADS_STRONG_BRANCHING"));
+		if (numThreads > 1)
+		{
+			// Every thread works on its own in-memory copy of the master problem.
+			int numThreadsSolver = Configuration.getConfiguration()
+					.getIntProperty("NUM_THREADS_STRONG_BRANCHING_SOLVER");
+			List<AbstractMasterProblem<T, U, V>> copies = new ArrayList<>();
+			List<Future<?>> futures = new ArrayList<>();
+			for (int i = 0; i < numThreads; i++)
+			{
+				AbstractMasterProblem<T, U, V> copy = masterProblem.copy();
+				copy.setNumberOfThreads(numThreadsSolver);
+				copies.add(copy);
+				MultiThreadBranchingSolver<T, U, V> runnable = new MultiThreadBranchingSolver<>(minDeltaMap,
+						maxDeltaMap, decisions, copy, basis);
+				futures.add(getThreadPool().submit(() -> runnable.run()));
+			}
+
+			// Proceed when jobs are done.
+			for (Future<?> future : futures)
+			{
+				try
+				{
+					future.get();
+				}
+				catch (Exception e)
+				{
+					e.printStackTrace();
+				}
+			}
+			for (AbstractMasterProblem<T, U, V> copy : copies)
+			{
+				copy.clean();
+			}
+		}
+		else
+		{
+			// Evaluate the decisions on the master problem itself, and restore the basis
+			// afterwards.
+			for (Pair<BranchingCandidate<T, U, V>, AbstractBranchingDecision<T, U, V>> pair : decisions)
+			{
+				Double objective = MultiThreadBranchingSolver.solve(masterProblem, pair.getValue(), basis);
+				if (objective != null)
+				{
+					MultiThreadBranchingSolver.updateDeltas(minDeltaMap, maxDeltaMap, pair.getKey(), objective);
+				}
+			}
+			masterProblem.setBasis(basis);
+		}
 
 		// Gather the best candidates
 		List<Pair<BranchingCandidate<T, U, V>, Double>> scorePairs = new ArrayList<>();
@@ -109,45 +187,162 @@ public class StrongBranching<T extends AbstractInstance, U extends AbstractColum
 		scorePairs.sort(new PairComparator());
 		scorePairs = scorePairs.subList(0, Math.min(scorePairs.size(), NUMBER_STRONG_CANDIDATES));
 
-		// Assess the best candidates using heuristic column generation.
-		double highestScore = -1;
-		BranchingCandidate<T, U, V> bestCandidate = null;
+		// Assess the best candidates using a bounded number of iterations of heuristic
+		// column generation, and store the observed objective changes as pseudocosts. The
+		// candidates are evaluated on a copy, such that the generated columns do not stay in
+		// the master problem of the node, and the column pool is left alone meanwhile.
+		List<Pair<BranchingCandidate<T, U, V>, Double>> candidateScores = new ArrayList<>();
+		if (scorePairs.isEmpty())
+		{
+			return candidateScores;
+		}
+		AbstractMasterProblem<T, U, V> copy = masterProblem.copy();
+		copy.setBasis(basis);
 		columnGeneration.disableLogger();
-		for (Pair<BranchingCandidate<T, U, V>, Double> pair : scorePairs)
+		columnGeneration.setIterationLimit(ITERATION_LIMIT);
+		columnGeneration.setHeuristicPricingOnly(true);
+		columnGeneration.setUseColumnPool(false);
+		try
 		{
-			double deltaMin = Double.MAX_VALUE;
-			double deltaMax = 0;
-			for (AbstractBranchingDecision<T, U, V> decision : pair.getKey().getBranchingDecisions())
+			for (Pair<BranchingCandidate<T, U, V>, Double> pair : scorePairs)
 			{
-				masterProblem.processBranchingDecision(decision);
-				columnGeneration.applyColumnGeneration(masterProblem, masterProblem.getInstance(), Double.MAX_VALUE);
-				double delta = masterProblem.getObjectiveValue() - originalObjective;
-				if (delta < -0.01)
+				BranchingCandidate<T, U, V> candidate = pair.getKey();
+				double deltaMin = Double.MAX_VALUE;
+				double deltaMax = 0;
+				int branch = 0;
+				for (AbstractBranchingDecision<T, U, V> decision : candidate.getBranchingDecisions())
 				{
-					throw new IllegalArgumentException("NEGATIVE DELTA: " + delta);
+					copy.processBranchingDecision(decision);
+					columnGeneration.applyColumnGeneration(copy, copy.getInstance(), Double.MAX_VALUE);
+					double delta = copy.getObjectiveValue() - originalObjective;
+					if (delta < -0.01)
+					{
+						throw new IllegalArgumentException("NEGATIVE DELTA: " + delta);
+					}
+					deltaMin = Math.min(deltaMin, delta);
+					deltaMax = Math.max(deltaMax, delta);
+					copy.undoBranchingDecision(decision);
+
+					// Only converged column generation yields a bound change. Other objective
+					// changes are kept apart, such that they do not make candidates reliable.
+					if (columnGeneration.isConverged())
+					{
+						pseudoCosts.update(candidate.getKey(), branch, candidate.getBranchingDecisions().size(),
+								candidate.getDistance(branch), delta);
+					}
+					else
+					{
+						pseudoCosts.updateHeuristic(candidate.getKey(), branch,
+								candidate.getBranchingDecisions().size(), candidate.getDistance(branch), delta);
+					}
+					branch++;
 				}
-				deltaMin = Math.min(deltaMin, delta);
-				deltaMax = Math.max(deltaMax, delta);
-				masterProblem.undoBranchingDecision(decision);
+				double score = (1.0 - MU) * deltaMin + MU * deltaMax;
+				candidateScores.add(new Pair<>(candidate, score));
 			}
-			double score = (1.0 - MU) * deltaMin + MU * deltaMax;
-			if (score > highestScore)
+		}
+		finally
+		{
+			// Restore the settings of column generation, also if an evaluation fails.
+			columnGeneration.setIterationLimit(Integer.MAX_VALUE);
+			columnGeneration.setHeuristicPricingOnly(false);
+			columnGeneration.setUseColumnPool(true);
+			columnGeneration.enableLogger();
+
+			// Keep the columns that were generated on the copy in the pool, such that the
+			// children of the node can still reactivate them without pricing.
+			Set<U> columns = new HashSet<>();
+			for (Pair<U, IloNumVar> pair : masterProblem.getColumns())
 			{
-				bestCandidate = pair.getKey();
-				highestScore = score;
+				columns.add(pair.getKey());
 			}
+			List<U> generatedColumns = new ArrayList<>();
+			for (Pair<U, IloNumVar> pair : copy.getColumns())
+			{
+				if (!columns.contains(pair.getKey()))
+				{
+					generatedColumns.add(pair.getKey());
+				}
+			}
+			columnGeneration.getColumnPool().addColumns(masterProblem, generatedColumns);
+			copy.clean();
 		}
-		columnGeneration.enableLogger();
-		return bestCandidate;
+		return candidateScores;
+	}
+
+	private boolean isReliable(BranchingCandidate<T, U, V> candidate)
+	{
+		// A candidate is reliable if the bound change of every branch has been observed
+		// sufficiently often.
+		if (candidate.getKey() == null)
+		{
+			return false;
+		}
+		for (int branch = 0; branch < candidate.getBranchingDecisions().size(); branch++)
+		{
+			if (pseudoCosts.getNumberOfObservations(candidate.getKey(), branch) < RELIABILITY_THRESHOLD)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private double getPseudoCostScore(BranchingCandidate<T, U, V> candidate)
+	{
+		// Estimate the bound change of every branch, and combine them with the product rule.
+		double deltaMin = Double.MAX_VALUE;
+		double deltaMax = 0;
+		for (int branch = 0; branch < candidate.getBranchingDecisions().size(); branch++)
+		{
+			double delta = candidate.getDistance(branch) * pseudoCosts.getPseudoCost(candidate.getKey(), branch);
+			deltaMin = Math.min(deltaMin, delta);
+			deltaMax = Math.max(deltaMax, delta);
+		}
+		return (1.0 - MU) * deltaMin + MU * deltaMax;
+	}
+
+	public void shutdown()
+	{
+		if (threadPool != null)
+		{
+			threadPool.shutdownNow();
+			threadPool = null;
+		}
+	}
+
+	public PseudoCosts getPseudoCosts()
+	{
+		return pseudoCosts;
+	}
+
+	public void setPseudoCosts(PseudoCosts pseudoCosts)
+	{
+		this.pseudoCosts = pseudoCosts;
+	}
+
+	public void updatePseudoCosts(BAPNode<T, U, V> node)
+	{
+		// Store the observed change of the lower bound with respect to the parent node.
+		BranchingCandidate<T, U, V> candidate = node.getBranchingCandidate();
+		if (candidate == null || node.getParent() == null || node.getLowerBound() == Double.MAX_VALUE)
+		{
+			return;
+		}
+		double delta = node.getLowerBound() - node.getParent().getLowerBound();
+		pseudoCosts.update(candidate.getKey(), node.getBranch(), candidate.getBranchingDecisions().size(),
+				candidate.getDistance(node.getBranch()), delta);
 	}
 
 	public Set<BAPNode<T, U, V>> getChildren(BAPNode<T, U, V> parent, BranchingCandidate<T, U, V> candidate)
 	{
 		Set<BAPNode<T, U, V>> children = new LinkedHashSet<>();
+		int branch = 0;
 		for (AbstractBranchingDecision<T, U, V> decision : candidate.getBranchingDecisions())
 		{
 			BAPNode<T, U, V> child = new BAPNode<>(parent);
 			child.addBranchingDecision(decision);
+			child.setBranchingCandidate(candidate, branch++);
 			children.add(child);
 		}
 		return children;
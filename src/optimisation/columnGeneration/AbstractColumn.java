@@ -1,13 +1,24 @@
 package optimisation.columnGeneration;
 
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.Serializable;
+
 import optimisation.columnGeneration.pricing.AbstractPricingProblem;
 
 public abstract class AbstractColumn<T extends AbstractInstance, V extends AbstractPricingProblem<T>>
+		implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final double coefficient;
 	private final boolean isAuxiliaryColumn;
 	private int numIterUnused = 0;
 
+	// Sparse incidence of this column in the rows of a row registry. The incidence is only
+	// updated by the registry, and replaced as a whole such that it can be read without locking.
+	private transient volatile ColumnIncidence incidence = ColumnIncidence.EMPTY;
+
 	public AbstractColumn(double coefficient, boolean isAuxiliaryColumn)
 	{
 		this.coefficient = coefficient;
@@ -39,6 +50,30 @@ public abstract class AbstractColumn<T extends AbstractInstance, V extends Abstr
 		numIterUnused = 0;
 	}
 
+	private void readObject(ObjectInputStream input) throws IOException, ClassNotFoundException
+	{
+		// The incidence is rebuilt with respect to the row registry of the master problem
+		// the column is added to.
+		input.defaultReadObject();
+		incidence = ColumnIncidence.EMPTY;
+	}
+
+	ColumnIncidence getIncidence()
+	{
+		return incidence;
+	}
+
+	void setIncidence(ColumnIncidence incidence)
+	{
+		this.incidence = incidence;
+	}
+
+	public long getMemoryEstimate()
+	{
+		// Rough estimate in bytes of the object header, fields and incidence.
+		return 48 + incidence.getMemoryEstimate();
+	}
+
 	public abstract boolean equals(Object o);
 
 	public abstract int hashCode();
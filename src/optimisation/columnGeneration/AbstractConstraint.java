@@ -1,10 +1,15 @@
 package optimisation.columnGeneration;
 
+import java.io.Serializable;
+
 import ilog.concert.IloException;
 import optimisation.columnGeneration.pricing.AbstractPricingProblem;
 
 public abstract class AbstractConstraint<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+		implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public enum ConstraintType
 	{
 		EQUALITY, LESSER, GREATER
@@ -1,5 +1,19 @@
 package optimisation.columnGeneration;
 
+import java.io.Serializable;
+
 public abstract class AbstractInstance
 {
+	/**
+	 * Returns the part of the instance that changes during the search, such as strengthened
+	 * relaxations, which is stored in checkpoints. Instances that do not change return null.
+	 */
+	public Serializable getSearchState()
+	{
+		return null;
+	}
+
+	public void setSearchState(Serializable searchState)
+	{
+	}
 }
@@ -2,6 +2,7 @@ package optimisation.columnGeneration;
 
 import java.io.OutputStream;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -10,7 +11,7 @@ import java.util.Map.Entry;
 import ilog.concert.IloColumn;
 import ilog.concert.IloConversion;
 import ilog.concert.IloException;
-import ilog.concert.IloNumExpr;
+import ilog.concert.IloLinearNumExpr;
 import ilog.concert.IloNumVar;
 import ilog.concert.IloNumVarType;
 import ilog.concert.IloObjective;
@@ -35,13 +36,38 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 	protected List<AbstractBranchingDecision<T, U, V>> branchingDecisions;
 	protected Map<AbstractConstraint<T, U, V>, IloNumVar> slackVarMap;
 
+	// Row indices are shared with copies of this master problem, and ranges are stored per
+	// row index, with null entries for rows that are not part of this master problem.
+	protected RowRegistry<T, U, V> rowRegistry;
+	protected List<IloRange> rowRanges;
+
+	// Mask of the rows that are currently part of this master problem, which is kept up to
+	// date, and the rows, constraints and ranges in these rows, which are rebuilt once they
+	// are used after a change.
+	private boolean[] isActiveRow;
+	private int numberOfActiveRows;
+	private boolean isActiveRowsChanged;
+	private int[] activeRows;
+	private List<AbstractConstraint<T, U, V>> activeConstraints;
+	private IloRange[] activeRanges;
+
 	// Dual smoothing parameters.
 	protected DualVariables<T, U, V> currentDuals;
 	protected DualVariables<T, U, V> smoothedDuals;
 	protected int k = 1;
-	protected final double alpha = Configuration.getConfiguration().getDoubleProperty("DUAL_SMOOTHING_ALPHA");
+	protected double alpha = Configuration.getConfiguration().getDoubleProperty("DUAL_SMOOTHING_ALPHA");
 	protected double beta = 0;
 
+	// Automatic adjustment of alpha, and the maximum distance of the smoothed duals to the
+	// stability center, where a non-positive distance disables the box.
+	private final boolean adaptiveSmoothing = Configuration.getConfiguration()
+			.getBooleanProperty("DUAL_SMOOTHING_ADAPTIVE");
+	private final double boxStep = Configuration.getConfiguration().getDoubleProperty("DUAL_BOX_STEP");
+
+	// Activity of every row in the current solution that is not due to pricing columns, such
+	// as slack variables and auxiliary columns, indexed by row.
+	private double[] nonColumnActivity = new double[0];
+
 	// Restricted master heuristic information.
 	private double lowerBoundMILP;
 
@@ -56,6 +82,14 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 		this.branchingConstraints = new ArrayList<>();
 		this.branchingDecisions = new ArrayList<>();
 		this.slackVarMap = new LinkedHashMap<>();
+		this.rowRegistry = new RowRegistry<>();
+		this.rowRanges = new ArrayList<>();
+		this.isActiveRow = new boolean[0];
+		this.numberOfActiveRows = 0;
+		this.isActiveRowsChanged = false;
+		this.activeRows = new int[0];
+		this.activeConstraints = new ArrayList<>();
+		this.activeRanges = new IloRange[0];
 
 		this.currentDuals = new DualVariables<>();
 		this.smoothedDuals = new DualVariables<>();
@@ -73,17 +107,66 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 
 	public void updateDuals() throws IloException
 	{
-		// Set duals to initial values.
-		for (AbstractConstraint<T, U, V> constraint : constraintMap.keySet())
+		// Set duals to initial values, retrieving all duals at once.
+		updateActiveRows();
+		double[] duals = cplex.getDuals(activeRanges);
+		for (int i = 0; i < activeRows.length; i++)
+		{
+			currentDuals.set(activeRows[i], duals[i]);
+		}
+		if (adaptiveSmoothing)
 		{
-			double dual = cplex.getDual(constraintMap.get(constraint));
-			currentDuals.set(constraint, dual);
+			updateNonColumnActivity();
 		}
 
 		// Update dual parameter.
 		k = 1;
 	}
 
+	private void updateNonColumnActivity() throws IloException
+	{
+		// Start from the activity of every row, and subtract the contribution of all columns
+		// that may be generated by the pricing problems. The activities follow from the
+		// slacks, retrieved all at once, which are taken with respect to the upper bound of a
+		// range if it is finite, and to the lower bound otherwise.
+		nonColumnActivity = new double[rowRanges.size()];
+		double[] slacks = cplex.getSlacks(activeRanges);
+		for (int i = 0; i < activeRows.length; i++)
+		{
+			IloRange range = activeRanges[i];
+			double bound = (range.getUB() < Double.MAX_VALUE) ? range.getUB() : range.getLB();
+			nonColumnActivity[activeRows[i]] = bound - slacks[i];
+		}
+		List<U> columns = new ArrayList<>();
+		List<IloNumVar> vars = new ArrayList<>();
+		for (Pair<U, IloNumVar> pair : getColumns())
+		{
+			if (!pair.getKey().isAuxiliaryColumn())
+			{
+				columns.add(pair.getKey());
+				vars.add(pair.getValue());
+			}
+		}
+		double[] values = cplex.getValues(vars.toArray(new IloNumVar[0]));
+		for (int j = 0; j < columns.size(); j++)
+		{
+			if (values[j] == 0)
+			{
+				continue;
+			}
+			U column = columns.get(j);
+			ColumnIncidence incidence = rowRegistry.updateIncidence(column);
+			for (int i = 0; i < incidence.size(); i++)
+			{
+				int row = incidence.getRow(i);
+				if (row < isActiveRow.length && isActiveRow[row])
+				{
+					nonColumnActivity[row] -= values[j] * incidence.getCoefficient(i);
+				}
+			}
+		}
+	}
+
 	public void smootheDuals() throws IloException
 	{
 		// Update alpha and k.
@@ -91,14 +174,68 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 		k++;
 
 		// Compute smoothed duals.
-		for (AbstractConstraint<T, U, V> constraint : constraintMap.keySet())
+		updateActiveRows();
+		for (int row : activeRows)
 		{
-			if (!smoothedDuals.contains(constraint))
+			if (!smoothedDuals.contains(row))
+			{
+				smoothedDuals.set(row, currentDuals.get(row));
+			}
+			double center = smoothedDuals.get(row);
+			double value = beta * center + (1.0 - beta) * currentDuals.get(row);
+
+			// Keep the smoothed duals within the box around the stability center. Once beta
+			// reaches zero, the current duals are priced to guarantee convergence.
+			if (boxStep > 0 && beta > 0)
 			{
-				smoothedDuals.set(constraint, currentDuals.get(constraint));
+				value = Math.max(center - boxStep, Math.min(center + boxStep, value));
 			}
-			smoothedDuals.set(constraint,
-					beta * smoothedDuals.get(constraint) + (1.0 - beta) * currentDuals.get(constraint));
+			smoothedDuals.set(row, value);
+		}
+	}
+
+	public void updateSmoothingParameter(List<Pair<U, Integer>> columns)
+	{
+		// Adjust alpha based on the subgradient of the Lagrangian function at the smoothed
+		// duals, which is given by the right-hand sides minus the incidence of the best
+		// columns of all pricing problems, each taken as often as it may be used, and minus
+		// the activity of all other variables in the current solution.
+		if (!adaptiveSmoothing || beta <= 0 || columns == null)
+		{
+			return;
+		}
+		double product = 0;
+		updateActiveRows();
+		for (int row : activeRows)
+		{
+			double activity = (row < nonColumnActivity.length) ? nonColumnActivity[row] : 0;
+			product += (rowRegistry.getConstraint(row).getBound() - activity)
+					* (currentDuals.get(row) - smoothedDuals.get(row));
+		}
+		for (Pair<U, Integer> pair : columns)
+		{
+			U column = pair.getKey();
+			ColumnIncidence incidence = rowRegistry.updateIncidence(column);
+			for (int i = 0; i < incidence.size(); i++)
+			{
+				int row = incidence.getRow(i);
+				if (row < isActiveRow.length && isActiveRow[row])
+				{
+					product -= pair.getValue() * incidence.getCoefficient(i)
+							* (currentDuals.get(row) - smoothedDuals.get(row));
+				}
+			}
+		}
+
+		// If the subgradient points towards the current duals, smoothing is too strong, and
+		// alpha is decreased. Otherwise, alpha is increased.
+		if (product > 0)
+		{
+			alpha = Math.max(0, alpha - 0.1);
+		}
+		else
+		{
+			alpha = Math.min(0.99, alpha + 0.1 * (1.0 - alpha));
 		}
 	}
 
@@ -106,14 +243,22 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 	{
 		return beta;
 	}
+
+	public double getAlpha()
+	{
+		return alpha;
+	}
 	
 	public void setDuals(DualVariables<T, U, V> duals)
 	{
-		for (AbstractConstraint<T, U, V> constraint : duals.getConstraints())
+		for (int row = 0; row < duals.getNumberOfRows(); row++)
 		{
-			double value = duals.get(constraint);
-			currentDuals.set(constraint, value);
-			smoothedDuals.set(constraint, value);
+			if (duals.contains(row))
+			{
+				double value = duals.get(row);
+				currentDuals.set(row, value);
+				smoothedDuals.set(row, value);
+			}
 		}
 	}
 	
@@ -124,17 +269,7 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 	
 	public double getReducedCost(U column)
 	{
-		double reducedCost = column.getCoefficient();
-		for (AbstractConstraint<T, U, V> constraint : constraintMap.keySet())
-		{
-			if (constraint.containsColumn(column))
-			{
-				double dual = currentDuals.get(constraint);
-				double coefficient = constraint.getCoefficient(column);
-				reducedCost -= dual * coefficient;
-			}
-		}
-		return reducedCost;
+		return rowRegistry.getReducedCost(column, currentDuals, isActiveRow);
 	}
 
 	public List<AbstractConstraint<T, U, V>> getConstraints()
@@ -142,6 +277,20 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 		return new ArrayList<>(constraintMap.keySet());
 	}
 
+	public List<AbstractConstraint<T, U, V>> getGlobalConstraints()
+	{
+		// Return all constraints that do not stem from branching decisions.
+		List<AbstractConstraint<T, U, V>> globalConstraints = new ArrayList<>();
+		for (AbstractConstraint<T, U, V> constraint : constraintMap.keySet())
+		{
+			if (!branchingConstraints.contains(constraint))
+			{
+				globalConstraints.add(constraint);
+			}
+		}
+		return globalConstraints;
+	}
+
 	public void setOut(OutputStream outputStream) throws IloException
 	{
 		cplex.setOut(outputStream);
@@ -153,6 +302,11 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 		cplex.setParam(IloCplex.Param.TimeLimit, seconds);
 	}
 
+	public void setNumberOfThreads(int numThreads) throws IloException
+	{
+		cplex.setParam(IloCplex.Param.Threads, numThreads);
+	}
+
 	public double getObjectiveValue() throws IloException
 	{
 		return cplex.getObjValue();
@@ -165,7 +319,7 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 
 	public double getDual(AbstractConstraint<T, U, V> constraint) throws IloException
 	{
-		return smoothedDuals.get(constraint);
+		return smoothedDuals.get(rowRegistry.getRow(constraint));
 	}
 
 	public void setRightHandSide(AbstractConstraint<T, U, V> constraint, double coefficient) throws IloException
@@ -192,6 +346,7 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 				break;
 		}
 		constraintMap.put(constraint, range);
+		setRowRange(rowRegistry.register(constraint), range);
 
 		// Add a slack variable.
 		constraint.addSlackVariable(this);
@@ -201,13 +356,23 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 			List<Pair<U, IloNumVar>> columns)
 			throws IloException
 	{
-		// Add all columns to left-hand side.
-		IloNumExpr lhs = cplex.constant(0);
+		// A constraint can only be part of the model once.
+		if (constraintMap.containsKey(constraint))
+		{
+			throw new IllegalArgumentException("Constraint " + constraint + " of type "
+					+ constraint.getModelConstraintType() + " and bound " + constraint.getBound()
+					+ " is already contained.");
+		}
+
+		// Add all columns to left-hand side, using the incidence of the columns in the row.
+		int row = rowRegistry.register(constraint);
+		IloLinearNumExpr lhs = cplex.linearNumExpr();
 		for (Pair<U, IloNumVar> pair : columns)
 		{
-			if (constraint.containsColumn(pair.getKey()))
+			double coefficient = rowRegistry.updateIncidence(pair.getKey()).getCoefficient(row, 0);
+			if (coefficient != 0)
 			{
-				lhs = cplex.sum(lhs, cplex.prod(pair.getValue(), constraint.getCoefficient(pair.getKey())));
+				lhs.addTerm(coefficient, pair.getValue());
 			}
 		}
 
@@ -227,20 +392,83 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 				range = null;
 				break;
 		}
-		if (constraintMap.containsKey(constraint))
-		{
-			System.out.println("Class: " + constraint.getClass());
-			System.out.println("Type: " + constraint.getModelConstraintType());
-			System.out.println("Bound: " + constraint.getBound());
-			System.out.println(constraint);
-			throw new IllegalArgumentException("ALREADY CONTAINED.");
-		}
 		constraintMap.put(constraint, range);
+		setRowRange(row, range);
 
 		// Add a slack variable.
 		constraint.addSlackVariable(this);
 	}
 
+	private void setRowRange(int row, IloRange range)
+	{
+		while (rowRanges.size() <= row)
+		{
+			rowRanges.add(null);
+		}
+		rowRanges.set(row, range);
+
+		// Only update the mask, and mark the other cached rows as changed.
+		if (row >= isActiveRow.length)
+		{
+			isActiveRow = Arrays.copyOf(isActiveRow, Math.max(row + 1, 2 * isActiveRow.length));
+		}
+		if (isActiveRow[row] != (range != null))
+		{
+			isActiveRow[row] = (range != null);
+			numberOfActiveRows += (range != null) ? 1 : -1;
+		}
+		isActiveRowsChanged = true;
+	}
+
+	private void releaseRow(int row)
+	{
+		// Remove the row from this master problem, and forget its duals, such that the row
+		// starts without a stale stability center if it is added again.
+		setRowRange(row, null);
+		currentDuals.remove(row);
+		smoothedDuals.remove(row);
+	}
+
+	private void updateActiveRows()
+	{
+		// Rebuild the cached rows, constraints and ranges once after any number of changes.
+		if (!isActiveRowsChanged)
+		{
+			return;
+		}
+		activeRows = new int[numberOfActiveRows];
+		activeConstraints = new ArrayList<>(numberOfActiveRows);
+		activeRanges = new IloRange[numberOfActiveRows];
+		int i = 0;
+		for (int row = 0; row < rowRanges.size(); row++)
+		{
+			if (isActiveRow[row])
+			{
+				activeRows[i] = row;
+				activeConstraints.add(rowRegistry.getConstraint(row));
+				activeRanges[i] = rowRanges.get(row);
+				i++;
+			}
+		}
+		isActiveRowsChanged = false;
+	}
+
+	protected IloColumn createColumn(U column) throws IloException
+	{
+		// Initialise a new column, and add its coefficients in all active rows.
+		IloColumn columnVar = cplex.column(objective, column.getCoefficient());
+		ColumnIncidence incidence = rowRegistry.updateIncidence(column);
+		for (int i = 0; i < incidence.size(); i++)
+		{
+			int row = incidence.getRow(i);
+			if (row < rowRanges.size() && rowRanges.get(row) != null)
+			{
+				columnVar = columnVar.and(cplex.column(rowRanges.get(row), incidence.getCoefficient(i)));
+			}
+		}
+		return columnVar;
+	}
+
 	public void addSlackVariable(AbstractConstraint<T, U, V> constraint, double coefficient, double cost,
 			double lowerBound, double upperBound) throws IloException
 	{
@@ -287,6 +515,10 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 
 	public void clean() throws IloException
 	{
+		rowRanges.clear();
+		isActiveRow = new boolean[0];
+		numberOfActiveRows = 0;
+		isActiveRowsChanged = true;
 		cplex.clearModel();
 		cplex.end();
 	}
@@ -315,6 +547,17 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 	{
 		cplex.delete(constraintMap.get(constraint));
 		constraintMap.remove(constraint);
+		releaseRow(rowRegistry.getRow(constraint));
+		removeSlackVariable(constraint);
+	}
+
+	private void removeSlackVariable(AbstractConstraint<T, U, V> constraint) throws IloException
+	{
+		IloNumVar slackVar = slackVarMap.remove(constraint);
+		if (slackVar != null)
+		{
+			cplex.delete(slackVar);
+		}
 	}
 
 	public void undoBranchingDecision(AbstractBranchingDecision<T, U, V> branchingDecision) throws IloException
@@ -323,7 +566,9 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 		{
 			cplex.delete(constraintMap.get(branchingConstraint));
 			constraintMap.remove(branchingConstraint);
+			releaseRow(rowRegistry.getRow(branchingConstraint));
 			branchingConstraints.remove(branchingConstraint);
+			removeSlackVariable(branchingConstraint);
 		}
 		branchingDecisions.remove(branchingDecision);
 	}
@@ -343,6 +588,19 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 		return branchingDecisions;
 	}
 
+	public boolean isCompatible(U column)
+	{
+		// Check whether a column satisfies all branching decisions of the current node.
+		for (AbstractBranchingDecision<T, U, V> branchingDecision : branchingDecisions)
+		{
+			if (!branchingDecision.isCompatible(column))
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
 	public double getReducedCost(IloNumVar var) throws IloException
 	{
 		return cplex.getReducedCost(var);
@@ -358,6 +616,111 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 		return cplex.getBasisStatus(var).equals(BasisStatus.Basic);
 	}
 
+	public Basis<T, U, V> getBasis() throws IloException
+	{
+		Basis<T, U, V> basis = new Basis<>();
+
+		// Retrieve statuses of columns.
+		List<Pair<U, IloNumVar>> columns = getColumns();
+		IloNumVar[] vars = new IloNumVar[columns.size()];
+		for (int i = 0; i < columns.size(); i++)
+		{
+			vars[i] = columns.get(i).getValue();
+		}
+		BasisStatus[] statuses = cplex.getBasisStatuses(vars);
+		for (int i = 0; i < columns.size(); i++)
+		{
+			basis.setColumnStatus(columns.get(i).getKey(), statuses[i]);
+		}
+
+		// Retrieve statuses of slack variables.
+		List<AbstractConstraint<T, U, V>> slackConstraints = new ArrayList<>(slackVarMap.keySet());
+		statuses = cplex.getBasisStatuses(slackVarMap.values().toArray(new IloNumVar[0]));
+		for (int i = 0; i < slackConstraints.size(); i++)
+		{
+			basis.setSlackStatus(slackConstraints.get(i), statuses[i]);
+		}
+
+		// Retrieve statuses of constraints.
+		List<AbstractConstraint<T, U, V>> constraints = new ArrayList<>(constraintMap.keySet());
+		statuses = cplex.getBasisStatuses(constraintMap.values().toArray(new IloRange[0]));
+		for (int i = 0; i < constraints.size(); i++)
+		{
+			basis.setConstraintStatus(constraints.get(i), statuses[i]);
+		}
+		return basis;
+	}
+
+	public void setBasis(Basis<T, U, V> basis) throws IloException
+	{
+		// Columns and slack variables unknown to the basis are set nonbasic at their lower
+		// bound, and constraints unknown to the basis get a basic slack.
+		List<Pair<U, IloNumVar>> columns = getColumns();
+		IloNumVar[] vars = new IloNumVar[columns.size() + slackVarMap.size()];
+		BasisStatus[] varStatuses = new BasisStatus[vars.length];
+		int i = 0;
+		for (Pair<U, IloNumVar> pair : columns)
+		{
+			vars[i] = pair.getValue();
+			varStatuses[i++] = basis.getColumnStatus(pair.getKey());
+		}
+		for (Entry<AbstractConstraint<T, U, V>, IloNumVar> entry : slackVarMap.entrySet())
+		{
+			vars[i] = entry.getValue();
+			varStatuses[i++] = basis.getSlackStatus(entry.getKey());
+		}
+
+		IloRange[] ranges = new IloRange[constraintMap.size()];
+		BasisStatus[] rangeStatuses = new BasisStatus[ranges.length];
+		i = 0;
+		for (Entry<AbstractConstraint<T, U, V>, IloRange> entry : constraintMap.entrySet())
+		{
+			ranges[i] = entry.getValue();
+			rangeStatuses[i++] = basis.getConstraintStatus(entry.getKey());
+		}
+		cplex.setBasisStatuses(vars, varStatuses, ranges, rangeStatuses);
+	}
+
+	public AbstractMasterProblem<T, U, V> copy() throws IloException
+	{
+		AbstractMasterProblem<T, U, V> copy = createMasterProblem();
+
+		// Share the row registry, such that the incidence of the columns remains valid.
+		copy.rowRegistry = rowRegistry;
+
+		// Add all constraints that do not stem from branching decisions.
+		for (AbstractConstraint<T, U, V> constraint : getGlobalConstraints())
+		{
+			copy.addConstraint(constraint);
+		}
+
+		// Add all columns, including their bounds.
+		List<Pair<U, IloNumVar>> columns = getColumns();
+		for (Pair<U, IloNumVar> pair : columns)
+		{
+			copy.addColumn(pair.getKey());
+		}
+		List<Pair<U, IloNumVar>> columnCopies = copy.getColumns();
+		for (int i = 0; i < columns.size(); i++)
+		{
+			columnCopies.get(i).getValue().setLB(columns.get(i).getValue().getLB());
+			columnCopies.get(i).getValue().setUB(columns.get(i).getValue().getUB());
+		}
+
+		// Process branching decisions, and copy the bounds of slack variables.
+		for (AbstractBranchingDecision<T, U, V> branchingDecision : branchingDecisions)
+		{
+			copy.processBranchingDecision(branchingDecision);
+		}
+		for (Entry<AbstractConstraint<T, U, V>, IloNumVar> entry : slackVarMap.entrySet())
+		{
+			IloNumVar slackVar = copy.slackVarMap.get(entry.getKey());
+			slackVar.setLB(entry.getValue().getLB());
+			slackVar.setUB(entry.getValue().getUB());
+		}
+		return copy;
+	}
+
 	public void setLowerBound(IloNumVar var, double lowerBound) throws IloException
 	{
 		var.setLB(lowerBound);
@@ -385,23 +748,40 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 		return var;
 	}
 
+	/**
+	 * Create an empty master problem for the same instance, used to copy this master problem.
+	 */
+	protected abstract AbstractMasterProblem<T, U, V> createMasterProblem() throws IloException;
+
 	public abstract List<Pair<U, IloNumVar>> getColumns();
 
 	public abstract void addColumn(U column) throws IloException;
 	
 	public void updateGenericDuals() throws IloException
 	{
-		for (AbstractConstraint<T, U, V> constraint : constraintMap.keySet())
+		updateGenericDuals(smoothedDuals);
+	}
+
+	public void updateGenericDuals(DualVariables<T, U, V> duals) throws IloException
+	{
+		updateActiveRows();
+		for (int i = 0; i < activeRows.length; i++)
 		{
-			constraint.updateGenericDuals(instance, smoothedDuals.get(constraint));
+			activeConstraints.get(i).updateGenericDuals(instance, duals.get(activeRows[i]));
 		}
 	}
 
 	public void updatePricingProblemDuals(V pricingProblem) throws IloException
 	{
-		for (AbstractConstraint<T, U, V> constraint : constraintMap.keySet())
+		updatePricingProblemDuals(pricingProblem, smoothedDuals);
+	}
+
+	public void updatePricingProblemDuals(V pricingProblem, DualVariables<T, U, V> duals) throws IloException
+	{
+		updateActiveRows();
+		for (int i = 0; i < activeRows.length; i++)
 		{
-			constraint.updatePricingProblemDuals(pricingProblem, smoothedDuals.get(constraint));
+			activeConstraints.get(i).updatePricingProblemDuals(pricingProblem, duals.get(activeRows[i]));
 		}
 	}
 
@@ -439,5 +819,5 @@ public abstract class AbstractMasterProblem<T extends AbstractInstance, U extend
 
 	public abstract void updateInactiveColumns() throws IloException;
 
-	public abstract int removeInactiveColumns() throws IloException;
+	public abstract List<U> removeInactiveColumns() throws IloException;
 }
@@ -1,5 +1,6 @@
 package optimisation.columnGeneration;
 
+import java.io.Serializable;
 import java.util.Map;
 import java.util.Map.Entry;
 
@@ -7,7 +8,10 @@ import optimisation.columnGeneration.pricing.AbstractPricingProblem;
 import util.Configuration;
 
 public abstract class AbstractSolution<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+		implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	private final double objectiveValue;
 	protected Map<U, Double> columnMap;
 
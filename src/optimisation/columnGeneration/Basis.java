@@ -0,0 +1,73 @@
+package optimisation.columnGeneration;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import ilog.cplex.IloCplex.BasisStatus;
+import optimisation.columnGeneration.pricing.AbstractPricingProblem;
+
+public class Basis<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+{
+	// Only statuses that differ from the default are stored: variables are nonbasic at
+	// their lower bound, and constraints have a basic slack.
+	private final Map<U, BasisStatus> columnStatuses;
+	private final Map<AbstractConstraint<T, U, V>, BasisStatus> slackStatuses;
+	private final Map<AbstractConstraint<T, U, V>, BasisStatus> constraintStatuses;
+
+	public Basis()
+	{
+		this.columnStatuses = new LinkedHashMap<>();
+		this.slackStatuses = new LinkedHashMap<>();
+		this.constraintStatuses = new LinkedHashMap<>();
+	}
+
+	public void setColumnStatus(U column, BasisStatus status)
+	{
+		if (!status.equals(BasisStatus.AtLower))
+		{
+			columnStatuses.put(column, status);
+		}
+	}
+
+	public BasisStatus getColumnStatus(U column)
+	{
+		return columnStatuses.getOrDefault(column, BasisStatus.AtLower);
+	}
+
+	public void setSlackStatus(AbstractConstraint<T, U, V> constraint, BasisStatus status)
+	{
+		if (!status.equals(BasisStatus.AtLower))
+		{
+			slackStatuses.put(constraint, status);
+		}
+	}
+
+	public BasisStatus getSlackStatus(AbstractConstraint<T, U, V> constraint)
+	{
+		return slackStatuses.getOrDefault(constraint, BasisStatus.AtLower);
+	}
+
+	public void setConstraintStatus(AbstractConstraint<T, U, V> constraint, BasisStatus status)
+	{
+		if (!status.equals(BasisStatus.Basic))
+		{
+			constraintStatuses.put(constraint, status);
+		}
+	}
+
+	public BasisStatus getConstraintStatus(AbstractConstraint<T, U, V> constraint)
+	{
+		return constraintStatuses.getOrDefault(constraint, BasisStatus.Basic);
+	}
+
+	public int getSize()
+	{
+		return columnStatuses.size() + slackStatuses.size() + constraintStatuses.size();
+	}
+
+	public long getMemoryEstimate()
+	{
+		// Rough estimate in bytes of the maps and their entries.
+		return 3 * 64 + 48L * getSize();
+	}
+}
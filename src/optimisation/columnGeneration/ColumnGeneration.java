@@ -2,9 +2,11 @@ package optimisation.columnGeneration;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
 
 import ilog.concert.IloException;
 import optimisation.columnGeneration.columnManagement.AbstractColumnSelector;
+import optimisation.columnGeneration.columnManagement.ColumnPool;
 import optimisation.columnGeneration.pricing.AbstractPricingProblem;
 import optimisation.columnGeneration.pricing.AbstractPricingProblemSolver;
 import optimisation.columnGeneration.pricing.AbstractPricingRoutine;
@@ -25,6 +27,23 @@ public class ColumnGeneration<T extends AbstractInstance, U extends AbstractColu
 	private final AbstractPricingProblemSolver<T, U, V> heuristicPricingProblemSolver;
 	private final AbstractPricingProblemSolver<T, U, V> exactPricingProblemSolver;
 	private final AbstractColumnSelector<T, U, V> columnSelector;
+	private final ColumnPool<T, U, V> columnPool;
+	private final int enumerationLimit;
+
+	// Whether the last run proved optimality of the master problem with exact pricing.
+	private boolean converged;
+
+	// Best Lagrangian bound of the last run, and whether the run was cut off based on it.
+	private double lagrangianBound;
+	private boolean terminatedEarly;
+	private double upperBound = Double.MAX_VALUE;
+	private final double deltaObjectiveThreshold;
+	private final int tailingOffIterations;
+
+	// Bounded runs with heuristic pricing only, used to evaluate branching candidates.
+	private int iterationLimit = Integer.MAX_VALUE;
+	private boolean heuristicPricingOnly = false;
+	private boolean useColumnPool = true;
 
 	public ColumnGeneration(AbstractPricingRoutine<T, U, V> pricingRoutine,
 			AbstractPricingProblemSolver<T, U, V> heuristicPricingProblemSolver,
@@ -35,6 +54,18 @@ public class ColumnGeneration<T extends AbstractInstance, U extends AbstractColu
 		this.heuristicPricingProblemSolver = heuristicPricingProblemSolver;
 		this.exactPricingProblemSolver = exactPricingProblemSolver;
 		this.columnSelector = columnSelector;
+		this.columnPool = new ColumnPool<>(Configuration.getConfiguration().getIntProperty("COLUMN_POOL_SIZE"),
+				Configuration.getConfiguration().getIntProperty("COLUMN_POOL_SCAN_SIZE"));
+		this.enumerationLimit = Configuration.getConfiguration().getIntProperty("ENUMERATION_LIMIT");
+		this.deltaObjectiveThreshold = Configuration.getConfiguration().getDoubleProperty("DELTA_OBJECTIVE_THRESHOLD");
+		this.tailingOffIterations = Configuration.getConfiguration().getIntProperty("TAILING_OFF_ITERATIONS");
+	}
+
+	public void setThreadPool(ExecutorService threadPool)
+	{
+		// Pricing problems are solved in the given pool, which is owned by the caller, or
+		// sequentially without a pool.
+		pricingRoutine.setThreadPool(threadPool);
 	}
 
 	public void enableLogger()
@@ -69,11 +100,61 @@ public class ColumnGeneration<T extends AbstractInstance, U extends AbstractColu
 		return pricingRoutine;
 	}
 
+	public ColumnPool<T, U, V> getColumnPool()
+	{
+		return columnPool;
+	}
+
+	public boolean isConverged()
+	{
+		return converged;
+	}
+
+	public double getLagrangianBound()
+	{
+		return lagrangianBound;
+	}
+
+	public boolean hasTerminatedEarly()
+	{
+		return terminatedEarly;
+	}
+
+	public void setUpperBound(double upperBound)
+	{
+		this.upperBound = upperBound;
+	}
+
+	public void setIterationLimit(int iterationLimit)
+	{
+		this.iterationLimit = iterationLimit;
+	}
+
+	public void setHeuristicPricingOnly(boolean heuristicPricingOnly)
+	{
+		this.heuristicPricingOnly = heuristicPricingOnly;
+	}
+
+	public void setUseColumnPool(boolean useColumnPool)
+	{
+		this.useColumnPool = useColumnPool;
+	}
+
 	public void applyColumnGeneration(AbstractMasterProblem<T, U, V> masterProblem, T instance, double lowerBound)
 			throws IloException
+	{
+		applyColumnGeneration(masterProblem, instance, lowerBound, null);
+	}
+
+	/**
+	 * If potential columns are given, pricing is replaced by a scan over these
+	 * columns.
+	 */
+	public void applyColumnGeneration(AbstractMasterProblem<T, U, V> masterProblem, T instance, double lowerBound,
+			List<U> potentialColumns) throws IloException
 	{
 		// Set pricing settings and store past objective values.
-		PricingSettings.EXACT_PRICING = PricingSettings.START_EXACT_PRICING;
+		PricingSettings.EXACT_PRICING = PricingSettings.START_EXACT_PRICING && !heuristicPricingOnly;
 		double previousObjective = Double.MAX_VALUE;
 		Logger logger = Logger.getLogger();
 		if (!useLogger)
@@ -84,10 +165,16 @@ public class ColumnGeneration<T extends AbstractInstance, U extends AbstractColu
 		// Generate the pricing problems once.
 		pricingRoutine.constructPricingProblems(masterProblem, instance);
 
+		converged = false;
+		lagrangianBound = -Double.MAX_VALUE;
+		terminatedEarly = false;
+		int tailingOff = 0;
+		int iterations = 0;
 		boolean go = true;
 		while (go)
 		{
 			go = false;
+			iterations++;
 
 			// Solve LP relaxation.
 			long timeRMP = System.currentTimeMillis();
@@ -108,10 +195,17 @@ public class ColumnGeneration<T extends AbstractInstance, U extends AbstractColu
 			masterProblem.updateInactiveColumns();
 			logger.stopTimer(TimeQuantity.TIME_COL_MANAGEMENT);
 
+			// Reactivate columns from the pool, if any, before solving the pricing problems.
+			logger.startTimer(TimeQuantity.TIME_COL_MANAGEMENT);
+			List<U> columns = useColumnPool
+					? columnPool.retrieveColumns(masterProblem, -PRECISION)
+					: new ArrayList<>();
+			logger.stopTimer(TimeQuantity.TIME_COL_MANAGEMENT);
+			logger.incrementCount(CountQuantity.NUM_POOL_COL, columns.size());
+
 			// Dual smoothing framework.
-			List<U> columns = new ArrayList<>();
 			long timePricing = System.currentTimeMillis();
-			while (true)
+			while (columns.size() == 0)
 			{
 				// Compute smoothed duals.
 				masterProblem.smootheDuals();
@@ -122,12 +216,28 @@ public class ColumnGeneration<T extends AbstractInstance, U extends AbstractColu
 				AbstractPricingProblemSolver<T, U, V> pricingProblemSolver = PricingSettings.EXACT_PRICING
 						? exactPricingProblemSolver
 						: heuristicPricingProblemSolver;
-				List<Pair<U, Double>> generatedColumns = pricingRoutine.generateColumns(masterProblem,
-						pricingProblemSolver, instance);
+				List<Pair<U, Double>> generatedColumns = potentialColumns != null
+						? scanPotentialColumns(masterProblem, potentialColumns)
+						: pricingRoutine.generateColumns(masterProblem, pricingProblemSolver, instance);
 
 				logger.stopTimer(TimeQuantity.TIME_PRICING);
 				logger.incrementCount(CountQuantity.NUM_GENERATED_COL, generatedColumns.size());
 
+				// Exact pricing on the optimal duals yields a Lagrangian lower bound.
+				if (potentialColumns == null && PricingSettings.EXACT_PRICING && masterProblem.getBeta() < PRECISION)
+				{
+					lagrangianBound = Math.max(lagrangianBound, pricingRoutine.getLagrangianBound(objectiveValue));
+					logger.setValue(ValueQuantity.VALUE_LAGRANGIAN_BOUND, lagrangianBound);
+				}
+
+				// Adjust the smoothing parameter based on the outcome of the pricing problems, which
+				// only yields a subgradient if the pricing problems are solved exactly.
+				if (potentialColumns == null && PricingSettings.EXACT_PRICING)
+				{
+					masterProblem.updateSmoothingParameter(pricingRoutine.getBestColumns());
+					logger.setValue(ValueQuantity.VALUE_SMOOTHING_ALPHA, masterProblem.getAlpha());
+				}
+
 				// Select a subset of columns, filtering on reduced cost.
 				logger.startTimer(TimeQuantity.TIME_COL_MANAGEMENT);
 				for (U column : columnSelector.selectColumns(generatedColumns))
@@ -161,20 +271,37 @@ public class ColumnGeneration<T extends AbstractInstance, U extends AbstractColu
 			if (columns.size() == 0)
 			{
 				// Switch to exact pricing if necessary.
-				if (!PricingSettings.EXACT_PRICING && PricingSettings.SWITCH_TO_EXACT_PRICING)
+				if (!PricingSettings.EXACT_PRICING && PricingSettings.SWITCH_TO_EXACT_PRICING && !heuristicPricingOnly)
 				{
 					go = true;
 					PricingSettings.EXACT_PRICING = true;
 				}
+
+				// Continue if the relaxation of the pricing problems can be strengthened.
+				else if (PricingSettings.EXACT_PRICING && potentialColumns == null
+						&& pricingRoutine.strengthenRelaxation(masterProblem, instance))
+				{
+					go = true;
+				}
 			}
 			else
 			{
 				// Determine whether to continue or not based on improvement criterion.
 				double deltaObjective = Math.max(100.0 * (previousObjective - objectiveValue) / previousObjective, 0);
-				if (Math.abs(objectiveValue - lowerBound) < PRECISION)
+				tailingOff = deltaObjective < deltaObjectiveThreshold ? tailingOff + 1 : 0;
+				if (Math.abs(objectiveValue - lowerBound) < PRECISION || iterations >= iterationLimit)
 				{
 					go = false;
 				}
+				else if (lagrangianBound >= upperBound || (tailingOff >= tailingOffIterations
+						&& lagrangianBound > -Double.MAX_VALUE && !masterProblem.getSolution().isInteger()))
+				{
+					// The node can be pruned, or the objective is tailing off and we can branch on
+					// the fractional solution. In both cases, the Lagrangian bound serves as the
+					// lower bound of the node.
+					go = false;
+					terminatedEarly = true;
+				}
 				else
 				{
 					// Perform column management. If we are in an improvement iteration, we remove
@@ -182,7 +309,12 @@ public class ColumnGeneration<T extends AbstractInstance, U extends AbstractColu
 					logger.startTimer(TimeQuantity.TIME_COL_MANAGEMENT);
 					if (deltaObjective > PRECISION)
 					{
-						masterProblem.removeInactiveColumns();
+						List<U> removedColumns = masterProblem.removeInactiveColumns();
+						logger.incrementCount(CountQuantity.NUM_REMOVED_COL, removedColumns.size());
+						if (useColumnPool)
+						{
+							columnPool.addColumns(masterProblem, removedColumns);
+						}
 					}
 
 					// Add columns.
@@ -195,8 +327,51 @@ public class ColumnGeneration<T extends AbstractInstance, U extends AbstractColu
 				}
 			}
 
+			// Exact pricing without new columns proves that the master problem is optimal.
+			converged = !go && columns.size() == 0 && PricingSettings.EXACT_PRICING;
+
 			// Update stored objective value.
 			previousObjective = objectiveValue;
 		}
+
+		// Report the size of the column pool.
+		logger.setValue(ValueQuantity.VALUE_POOL_SIZE, columnPool.getSize());
+		logger.setValue(ValueQuantity.VALUE_POOL_MEMORY, columnPool.getMemoryEstimate() / 1024.0);
+	}
+
+	private List<Pair<U, Double>> scanPotentialColumns(AbstractMasterProblem<T, U, V> masterProblem,
+			List<U> potentialColumns)
+	{
+		// Return all negative reduced cost columns that satisfy the branching decisions.
+		List<Pair<U, Double>> columns = new ArrayList<>();
+		for (U column : potentialColumns)
+		{
+			double reducedCost = masterProblem.getReducedCost(column);
+			if (reducedCost < -PRECISION && masterProblem.isCompatible(column))
+			{
+				columns.add(new Pair<>(column, reducedCost));
+			}
+		}
+		return columns;
+	}
+
+	public List<U> enumerateColumns(AbstractMasterProblem<T, U, V> masterProblem, T instance, double gap)
+			throws IloException
+	{
+		// Enumerate all columns whose reduced cost with respect to the optimal duals is
+		// below the gap. Only these columns can be part of an improving solution in the
+		// subtree. Returns null if there are too many columns.
+		List<Pair<U, Double>> enumeratedColumns = pricingRoutine.enumerateColumns(masterProblem,
+				exactPricingProblemSolver, instance, gap, enumerationLimit);
+		if (enumeratedColumns == null)
+		{
+			return null;
+		}
+		List<U> columns = new ArrayList<>();
+		for (Pair<U, Double> pair : enumeratedColumns)
+		{
+			columns.add(pair.getKey());
+		}
+		return columns;
 	}
 }
@@ -0,0 +1,76 @@
+package optimisation.columnGeneration;
+
+import java.util.Arrays;
+
+/**
+ * Immutable sparse incidence of a column in the rows of a row registry, sorted by row index,
+ * together with the number of rows of the registry that have been checked. Updates create a
+ * new instance, such that readers never observe a partial update.
+ */
+class ColumnIncidence
+{
+	static final ColumnIncidence EMPTY = new ColumnIncidence(null, 0, new int[0], new double[0]);
+
+	private final Object registry;
+	private final int numberOfCheckedRows;
+	private final int[] rows;
+	private final double[] coefficients;
+
+	private ColumnIncidence(Object registry, int numberOfCheckedRows, int[] rows, double[] coefficients)
+	{
+		this.registry = registry;
+		this.numberOfCheckedRows = numberOfCheckedRows;
+		this.rows = rows;
+		this.coefficients = coefficients;
+	}
+
+	boolean isOf(Object registry)
+	{
+		return this.registry == registry;
+	}
+
+	int getNumberOfCheckedRows()
+	{
+		return numberOfCheckedRows;
+	}
+
+	int size()
+	{
+		return rows.length;
+	}
+
+	int getRow(int i)
+	{
+		return rows[i];
+	}
+
+	double getCoefficient(int i)
+	{
+		return coefficients[i];
+	}
+
+	double getCoefficient(int row, double defaultCoefficient)
+	{
+		int i = Arrays.binarySearch(rows, row);
+		return (i >= 0) ? coefficients[i] : defaultCoefficient;
+	}
+
+	ColumnIncidence append(Object registry, int numberOfCheckedRows, int[] newRows, double[] newCoefficients,
+			int size)
+	{
+		// The new rows should all exceed the rows of this incidence, which is discarded if it
+		// belongs to another registry.
+		int[] oldRows = isOf(registry) ? rows : EMPTY.rows;
+		double[] oldCoefficients = isOf(registry) ? coefficients : EMPTY.coefficients;
+		int[] mergedRows = Arrays.copyOf(oldRows, oldRows.length + size);
+		double[] mergedCoefficients = Arrays.copyOf(oldCoefficients, oldRows.length + size);
+		System.arraycopy(newRows, 0, mergedRows, oldRows.length, size);
+		System.arraycopy(newCoefficients, 0, mergedCoefficients, oldRows.length, size);
+		return new ColumnIncidence(registry, numberOfCheckedRows, mergedRows, mergedCoefficients);
+	}
+
+	long getMemoryEstimate()
+	{
+		return 40 + 12L * rows.length;
+	}
+}
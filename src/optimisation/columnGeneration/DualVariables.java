@@ -1,48 +1,57 @@
 package optimisation.columnGeneration;
 
-import java.util.LinkedHashMap;
-import java.util.Map;
-import java.util.Map.Entry;
-import java.util.Set;
+import java.util.Arrays;
 
 import optimisation.columnGeneration.pricing.AbstractPricingProblem;
 
 public class DualVariables<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
 {
-	private final Map<AbstractConstraint<T, U, V>, Double> dualMap;
-	
+	// Dense dual vector indexed by row, where rows without a dual value are stored as NaN.
+	private double[] duals;
+
 	public DualVariables()
 	{
-		this.dualMap = new LinkedHashMap<>();
+		this.duals = new double[0];
 	}
-	
-	public void set(AbstractConstraint<T, U, V> constraint, double dual)
+
+	public void set(int row, double dual)
 	{
-		dualMap.put(constraint, dual);
+		if (row >= duals.length)
+		{
+			int length = duals.length;
+			duals = Arrays.copyOf(duals, Math.max(row + 1, 2 * length));
+			Arrays.fill(duals, length, duals.length, Double.NaN);
+		}
+		duals[row] = dual;
 	}
-	
-	public double get(AbstractConstraint<T, U, V> constraint)
+
+	public void remove(int row)
 	{
-		return dualMap.get(constraint);
+		if (row < duals.length)
+		{
+			duals[row] = Double.NaN;
+		}
 	}
-	
-	public boolean contains(AbstractConstraint<T, U, V> constraint)
+
+	public double get(int row)
 	{
-		return dualMap.containsKey(constraint);
+		return duals[row];
 	}
-	
-	public Set<AbstractConstraint<T, U, V>> getConstraints()
+
+	public boolean contains(int row)
+	{
+		return row < duals.length && !Double.isNaN(duals[row]);
+	}
+
+	public int getNumberOfRows()
 	{
-		return dualMap.keySet();
+		return duals.length;
 	}
-	
+
 	public DualVariables<T, U, V> getCopy()
 	{
-		DualVariables<T, U, V> copy =new DualVariables<>();
-		for (Entry<AbstractConstraint<T, U, V>, Double> entry : dualMap.entrySet())
-		{
-			copy.set(entry.getKey(), entry.getValue());
-		}
+		DualVariables<T, U, V> copy = new DualVariables<>();
+		copy.duals = Arrays.copyOf(duals, duals.length);
 		return copy;
 	}
 }
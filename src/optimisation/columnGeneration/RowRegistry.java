@@ -0,0 +1,107 @@
+package optimisation.columnGeneration;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import optimisation.columnGeneration.pricing.AbstractPricingProblem;
+
+public class RowRegistry<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+{
+	// Every constraint that is part of a master problem, or one of its copies, gets a stable
+	// row index. Equal constraints share their index. Rows are only appended, and each master
+	// problem keeps track of the rows it contains itself.
+	private final Map<AbstractConstraint<T, U, V>, Integer> rowIndexMap;
+
+	// The rows are published by writing the array before the number of rows, such that a
+	// reader that sees a number of rows also sees the rows below it without locking.
+	private volatile AbstractConstraint<?, ?, ?>[] rows;
+	private volatile int numberOfRows;
+
+	public RowRegistry()
+	{
+		this.rowIndexMap = new ConcurrentHashMap<>();
+		this.rows = new AbstractConstraint<?, ?, ?>[16];
+		this.numberOfRows = 0;
+	}
+
+	public synchronized int register(AbstractConstraint<T, U, V> constraint)
+	{
+		// Return the row of the constraint, which is appended if necessary.
+		Integer row = rowIndexMap.get(constraint);
+		if (row != null)
+		{
+			return row;
+		}
+		row = numberOfRows;
+		if (row == rows.length)
+		{
+			rows = Arrays.copyOf(rows, 2 * row);
+		}
+		rows[row] = constraint;
+		rowIndexMap.put(constraint, row);
+		numberOfRows = row + 1;
+		return row;
+	}
+
+	public int getRow(AbstractConstraint<T, U, V> constraint)
+	{
+		return rowIndexMap.getOrDefault(constraint, -1);
+	}
+
+	@SuppressWarnings("unchecked")
+	public AbstractConstraint<T, U, V> getConstraint(int row)
+	{
+		return (AbstractConstraint<T, U, V>) rows[row];
+	}
+
+	public int getNumberOfRows()
+	{
+		return numberOfRows;
+	}
+
+	@SuppressWarnings("unchecked")
+	ColumnIncidence updateIncidence(U column)
+	{
+		// Only check the rows that were registered after the last update. Concurrent updates
+		// of the same column compute the same incidence, so the last one may simply win.
+		int numberOfRows = this.numberOfRows;
+		AbstractConstraint<?, ?, ?>[] rows = this.rows;
+		ColumnIncidence incidence = column.getIncidence();
+		int numberOfCheckedRows = incidence.isOf(this) ? incidence.getNumberOfCheckedRows() : 0;
+		if (numberOfCheckedRows < numberOfRows)
+		{
+			int size = 0;
+			int[] newRows = new int[numberOfRows - numberOfCheckedRows];
+			double[] newCoefficients = new double[newRows.length];
+			for (int row = numberOfCheckedRows; row < numberOfRows; row++)
+			{
+				AbstractConstraint<T, U, V> constraint = (AbstractConstraint<T, U, V>) rows[row];
+				if (constraint.containsColumn(column))
+				{
+					newRows[size] = row;
+					newCoefficients[size++] = constraint.getCoefficient(column);
+				}
+			}
+			incidence = incidence.append(this, numberOfRows, newRows, newCoefficients, size);
+			column.setIncidence(incidence);
+		}
+		return incidence;
+	}
+
+	public double getReducedCost(U column, DualVariables<T, U, V> duals, boolean[] isActiveRow)
+	{
+		// Only loop over the active rows in which the column has a nonzero coefficient.
+		ColumnIncidence incidence = updateIncidence(column);
+		double reducedCost = column.getCoefficient();
+		for (int i = 0; i < incidence.size(); i++)
+		{
+			int row = incidence.getRow(i);
+			if (row < isActiveRow.length && isActiveRow[row])
+			{
+				reducedCost -= duals.get(row) * incidence.getCoefficient(i);
+			}
+		}
+		return reducedCost;
+	}
+}
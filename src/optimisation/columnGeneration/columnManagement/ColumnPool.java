@@ -0,0 +1,119 @@
+package optimisation.columnGeneration.columnManagement;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import optimisation.columnGeneration.AbstractColumn;
+import optimisation.columnGeneration.AbstractInstance;
+import optimisation.columnGeneration.AbstractMasterProblem;
+import optimisation.columnGeneration.pricing.AbstractPricingProblem;
+import util.Pair;
+
+public class ColumnPool<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
+{
+	private final int capacity;
+	private final int scanSize;
+
+	// Columns in the order in which they were last evaluated, with their reduced cost at that
+	// evaluation.
+	private final Map<U, Double> columns;
+
+	public ColumnPool(int capacity, int scanSize)
+	{
+		this.capacity = capacity;
+		this.scanSize = scanSize;
+		this.columns = new LinkedHashMap<>();
+	}
+
+	public void addColumns(AbstractMasterProblem<T, U, V> masterProblem, List<U> removedColumns)
+	{
+		if (capacity <= 0)
+		{
+			return;
+		}
+		for (U column : removedColumns)
+		{
+			columns.remove(column);
+			columns.put(column, masterProblem.getReducedCost(column));
+		}
+		if (columns.size() > capacity)
+		{
+			evictColumns();
+		}
+	}
+
+	private void evictColumns()
+	{
+		// Evict the columns with the largest reduced cost at their last evaluation, and the
+		// least recently evaluated columns among equal reduced costs. A tenth of the capacity
+		// is freed at once, such that the sorting is spread over many additions.
+		List<Entry<U, Double>> entries = new ArrayList<>(columns.entrySet());
+		entries.sort(Entry.<U, Double>comparingByValue().reversed());
+		int numberOfEvictions = columns.size() - capacity + capacity / 10;
+		List<U> evictedColumns = new ArrayList<>(numberOfEvictions);
+		for (int i = 0; i < numberOfEvictions; i++)
+		{
+			evictedColumns.add(entries.get(i).getKey());
+		}
+		for (U column : evictedColumns)
+		{
+			columns.remove(column);
+		}
+	}
+
+	public List<U> retrieveColumns(AbstractMasterProblem<T, U, V> masterProblem, double threshold)
+	{
+		// Evaluate the least recently evaluated columns, at most the scan size of them, and
+		// retrieve those with a negative reduced cost that satisfy the branching decisions of
+		// the current node. Retrieved columns are removed from the pool. The other columns are
+		// moved to the back with their new reduced cost, such that consecutive calls cycle
+		// through the pool.
+		int numberOfColumns = (scanSize > 0) ? Math.min(scanSize, columns.size()) : columns.size();
+		List<U> negativeColumns = new ArrayList<>();
+		List<Pair<U, Double>> evaluatedColumns = new ArrayList<>(numberOfColumns);
+		Iterator<U> iter = columns.keySet().iterator();
+		for (int i = 0; i < numberOfColumns; i++)
+		{
+			U column = iter.next();
+			iter.remove();
+			double reducedCost = masterProblem.getReducedCost(column);
+			if (reducedCost < threshold && masterProblem.isCompatible(column))
+			{
+				negativeColumns.add(column);
+			}
+			else
+			{
+				evaluatedColumns.add(new Pair<>(column, reducedCost));
+			}
+		}
+		for (Pair<U, Double> pair : evaluatedColumns)
+		{
+			columns.put(pair.getKey(), pair.getValue());
+		}
+		return negativeColumns;
+	}
+
+	public int getSize()
+	{
+		return columns.size();
+	}
+
+	public long getMemoryEstimate()
+	{
+		long memory = 0;
+		for (U column : columns.keySet())
+		{
+			memory += column.getMemoryEstimate();
+		}
+		return memory;
+	}
+
+	public void clear()
+	{
+		columns.clear();
+	}
+}
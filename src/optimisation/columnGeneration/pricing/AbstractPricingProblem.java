@@ -1,11 +1,81 @@
 package optimisation.columnGeneration.pricing;
 
+import java.util.concurrent.atomic.AtomicBoolean;
+
 import optimisation.columnGeneration.AbstractInstance;
 
 public abstract class AbstractPricingProblem<T extends AbstractInstance>
 {
+	private int index;
+	private long solveTime;
+	private AtomicBoolean terminationFlag;
+
+	// Maximum number of columns of this pricing problem in any master solution, which is
+	// unbounded by default.
+	private int maximumNumberOfColumns = Integer.MAX_VALUE;
+
+	// Lower bound on the minimum reduced cost found by the last solve, if known.
+	private double reducedCostBound = -Double.MAX_VALUE;
+
 	public void makeThreadSafe()
 	{
 		// Do nothing. This is an auxiliary method that can be used for multithreading purposes.
 	}
+
+	public int getIndex()
+	{
+		return index;
+	}
+
+	public void setIndex(int index)
+	{
+		this.index = index;
+	}
+
+	public long getSolveTime()
+	{
+		return solveTime;
+	}
+
+	public void setSolveTime(long solveTime)
+	{
+		this.solveTime = solveTime;
+	}
+
+	public int getMaximumNumberOfColumns()
+	{
+		return maximumNumberOfColumns;
+	}
+
+	public void setMaximumNumberOfColumns(int maximumNumberOfColumns)
+	{
+		this.maximumNumberOfColumns = maximumNumberOfColumns;
+	}
+
+	public double getReducedCostBound()
+	{
+		return reducedCostBound;
+	}
+
+	public void setReducedCostBound(double reducedCostBound)
+	{
+		this.reducedCostBound = reducedCostBound;
+	}
+
+	public void setTerminationFlag(AtomicBoolean terminationFlag)
+	{
+		this.terminationFlag = terminationFlag;
+	}
+
+	public AtomicBoolean getTerminationFlag()
+	{
+		return terminationFlag;
+	}
+
+	public boolean isTerminated()
+	{
+		// Solvers may poll this flag to stop early once sufficient columns have been found
+		// by other pricing problems.
+		return terminationFlag != null && terminationFlag.get();
+	}
 }
@@ -21,6 +21,10 @@ public abstract class AbstractPricingProblemSolver<T extends AbstractInstance, U
 		return name;
 	}
 
+	/**
+	 * When enumerating columns, returns null if the enumeration is abandoned before all
+	 * columns below the threshold are found.
+	 */
 	public abstract List<Pair<U, Double>> generateColumns(AbstractMasterProblem<T, U, V> masterProblem,
 			V pricingProblem, double reducedCostThreshold, boolean enumerateColumns);
 }
@@ -2,38 +2,62 @@ package optimisation.columnGeneration.pricing;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
 
 import ilog.concert.IloException;
 import optimisation.BAP.AbstractBranchingDecision;
 import optimisation.columnGeneration.AbstractColumn;
 import optimisation.columnGeneration.AbstractInstance;
 import optimisation.columnGeneration.AbstractMasterProblem;
+import optimisation.columnGeneration.DualVariables;
 import util.Pair;
 
 public abstract class AbstractPricingRoutine<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>>
 {
 	private final double reducedCostThreshold;
-	private final int numThreads;
+	private final int partialPricingColumns;
+	private final double partialPricingReducedCost;
+	private ExecutorService threadPool;
 
 	private List<V> pricingProblems;
 
+	// Solve times of pricing problems in previous iterations, indexed by pricing problem.
+	private final Map<Integer, Long> solveTimes;
+
+	// Best column of every pricing problem solved in the last iteration, indexed by pricing
+	// problem, with null values for pricing problems without negative reduced cost columns.
+	private final Map<Integer, U> bestColumns;
+
 	public AbstractPricingRoutine()
 	{
 		this.reducedCostThreshold = -1.0 * util.Configuration.getConfiguration().getDoubleProperty("PRECISION");
-		this.numThreads = util.Configuration.getConfiguration().getIntProperty("NUM_THREADS");
+		this.partialPricingColumns = util.Configuration.getConfiguration().getIntProperty("PARTIAL_PRICING_COLUMNS");
+		this.partialPricingReducedCost = util.Configuration.getConfiguration()
+				.getDoubleProperty("PARTIAL_PRICING_REDUCED_COST");
+		this.solveTimes = new LinkedHashMap<>();
+		this.bestColumns = Collections.synchronizedMap(new LinkedHashMap<>());
+	}
+
+	public void setThreadPool(ExecutorService threadPool)
+	{
+		this.threadPool = threadPool;
 	}
 
 	public void constructPricingProblems(AbstractMasterProblem<T, U, V> masterProblem, T instance)
 	{
 		// Generate pricing problems and process branching decisions.
 		this.pricingProblems = new ArrayList<>();
+		int index = 0;
 		pricingProblemLoop: for (V pricingProblem : generatePricingProblems(instance))
 		{
+			pricingProblem.setIndex(index++);
 			for (AbstractBranchingDecision<T, U, V> branchingDecision : masterProblem.getBranchingDecisions())
 			{
 				if (!branchingDecision.isCompatible(pricingProblem))
@@ -56,17 +80,32 @@ public abstract class AbstractPricingRoutine<T extends AbstractInstance, U exten
 		// Update generic duals.
 		masterProblem.updateGenericDuals();
 
-		if (numThreads > 1)
+		// Share a termination flag among all pricing problems of this iteration, and reset
+		// the reduced cost bounds of the previous iteration.
+		AtomicBoolean terminationFlag = new AtomicBoolean(false);
+		for (V pricingProblem : pricingProblems)
+		{
+			pricingProblem.setTerminationFlag(terminationFlag);
+			pricingProblem.setReducedCostBound(-Double.MAX_VALUE);
+		}
+		bestColumns.clear();
+
+		if (threadPool != null)
 		{
 			// Initialise a synchronized list of columns.
 			List<Pair<U, Double>> generatedColumns = Collections.synchronizedList(new ArrayList<>());
 
-			// Initialise a thread pool.
-			ExecutorService threadPool = Executors.newFixedThreadPool(numThreads);
+			// Submit the pricing problems that took longest in the previous iteration first,
+			// such that the threads finish at roughly the same time. Unknown problems go
+			// first.
+			List<V> sortedPricingProblems = new ArrayList<>(pricingProblems);
+			sortedPricingProblems.sort(Comparator.comparingLong(
+					(V pricingProblem) -> solveTimes.getOrDefault(pricingProblem.getIndex(), Long.MAX_VALUE))
+					.reversed());
 
-			// Generate a list of pricing problems to populate thread pool.
+			// Populate the thread pool.
 			List<Future<?>> futures = new ArrayList<>();
-			for (V pricingProblem : pricingProblems)
+			for (V pricingProblem : sortedPricingProblems)
 			{
 				// Submit job.
 				MultiThreadRunnable<T, U, V> runnable = new MultiThreadRunnable<>(generatedColumns, masterProblem,
@@ -92,8 +131,11 @@ public abstract class AbstractPricingRoutine<T extends AbstractInstance, U exten
 				}
 			}
 
-			// Shut down threadpool and return columns.
-			threadPool.shutdown();
+			// Store solve times and return columns.
+			for (V pricingProblem : pricingProblems)
+			{
+				solveTimes.put(pricingProblem.getIndex(), pricingProblem.getSolveTime());
+			}
 			return generatedColumns;
 		}
 		else
@@ -104,6 +146,12 @@ public abstract class AbstractPricingRoutine<T extends AbstractInstance, U exten
 			// Generate a list of pricing problems and solve them.
 			for (V pricingProblem : pricingProblems)
 			{
+				// Stop once sufficient columns have been found.
+				if (terminationFlag.get())
+				{
+					break;
+				}
+
 				// Reset duals.
 				preProcessPricingProblem(instance, pricingProblem);
 
@@ -111,19 +159,143 @@ public abstract class AbstractPricingRoutine<T extends AbstractInstance, U exten
 				masterProblem.updatePricingProblemDuals(pricingProblem);
 
 				// Solve the pricing problem.
-				generatedColumns.addAll(
-						pricingProblemSolver.generateColumns(masterProblem, pricingProblem, reducedCostThreshold,
-								false));
+				List<Pair<U, Double>> columns = pricingProblemSolver.generateColumns(masterProblem, pricingProblem,
+						reducedCostThreshold, false);
+				generatedColumns.addAll(columns);
+				updateBestColumn(pricingProblem, columns);
+				updateTerminationFlag(generatedColumns, columns, terminationFlag);
 			}
 			return generatedColumns;
 		}
 	}
 
+	/**
+	 * Strengthens the relaxation of the pricing problems based on the solution of the
+	 * master problem, once no more columns are found by exact pricing. Returns whether the
+	 * relaxation has changed, in which case column generation continues.
+	 */
+	public boolean strengthenRelaxation(AbstractMasterProblem<T, U, V> masterProblem, T instance)
+			throws IloException
+	{
+		return false;
+	}
+
+	public List<Pair<U, Double>> enumerateColumns(AbstractMasterProblem<T, U, V> masterProblem,
+			AbstractPricingProblemSolver<T, U, V> pricingProblemSolver, T instance, double reducedCostThreshold,
+			int limit) throws IloException
+	{
+		// Enumerate all columns below the threshold, returning null if there are too many or
+		// the enumeration is abandoned.
+		List<Pair<U, Double>> enumeratedColumns = new ArrayList<>();
+		for (V pricingProblem : pricingProblems)
+		{
+			pricingProblem.setTerminationFlag(new AtomicBoolean(false));
+			loadDuals(masterProblem, pricingProblem, instance);
+			List<Pair<U, Double>> columns = pricingProblemSolver.generateColumns(masterProblem, pricingProblem,
+					reducedCostThreshold, true);
+			if (columns == null)
+			{
+				return null;
+			}
+			enumeratedColumns.addAll(columns);
+			if (enumeratedColumns.size() > limit)
+			{
+				return null;
+			}
+		}
+		return enumeratedColumns;
+	}
+
+	void updateTerminationFlag(List<Pair<U, Double>> generatedColumns, List<Pair<U, Double>> columns,
+			AtomicBoolean terminationFlag)
+	{
+		// Terminate if the number of generated columns reaches the target.
+		if (partialPricingColumns > 0 && generatedColumns.size() >= partialPricingColumns)
+		{
+			terminationFlag.set(true);
+			return;
+		}
+
+		// Terminate if a column of sufficient quality is found.
+		for (Pair<U, Double> column : columns)
+		{
+			if (column.getValue() <= partialPricingReducedCost)
+			{
+				terminationFlag.set(true);
+				return;
+			}
+		}
+	}
+
+	void updateBestColumn(V pricingProblem, List<Pair<U, Double>> columns)
+	{
+		Pair<U, Double> bestColumn = null;
+		for (Pair<U, Double> column : columns)
+		{
+			if (column.getValue() < 0 && (bestColumn == null || column.getValue() < bestColumn.getValue()))
+			{
+				bestColumn = column;
+			}
+		}
+		bestColumns.put(pricingProblem.getIndex(), bestColumn != null ? bestColumn.getKey() : null);
+	}
+
+	public List<Pair<U, Integer>> getBestColumns()
+	{
+		// Return the best columns with their multiplicities, or null if some pricing problems
+		// were skipped in the last iteration. Unbounded multiplicities are taken as one.
+		List<Pair<U, Integer>> columns = new ArrayList<>();
+		for (V pricingProblem : pricingProblems)
+		{
+			if (!bestColumns.containsKey(pricingProblem.getIndex()))
+			{
+				return null;
+			}
+			U column = bestColumns.get(pricingProblem.getIndex());
+			if (column != null)
+			{
+				int multiplicity = pricingProblem.getMaximumNumberOfColumns();
+				columns.add(new Pair<>(column, multiplicity == Integer.MAX_VALUE ? 1 : multiplicity));
+			}
+		}
+		return columns;
+	}
+
+	public void loadDuals(AbstractMasterProblem<T, U, V> masterProblem, V pricingProblem, T instance)
+			throws IloException
+	{
+		// Load the current duals into a single pricing problem, as if it were solved. The
+		// smoothed duals of the master problem are left untouched.
+		DualVariables<T, U, V> duals = masterProblem.getCurrentDuals();
+		preProcessPricingProblems(instance);
+		masterProblem.updateGenericDuals(duals);
+		preProcessPricingProblem(instance, pricingProblem);
+		masterProblem.updatePricingProblemDuals(pricingProblem, duals);
+	}
+
 	public List<V> getPricingProblems()
 	{
 		return pricingProblems;
 	}
 
+	public double getLagrangianBound(double objectiveValue)
+	{
+		// Each pricing problem can decrease the objective by at most its minimum reduced
+		// cost for each of its columns in a solution.
+		double lagrangianBound = objectiveValue;
+		for (V pricingProblem : pricingProblems)
+		{
+			if (pricingProblem.getReducedCostBound() == -Double.MAX_VALUE
+					|| pricingProblem.getMaximumNumberOfColumns() == Integer.MAX_VALUE)
+			{
+				return -Double.MAX_VALUE;
+			}
+			lagrangianBound += pricingProblem.getMaximumNumberOfColumns()
+					* Math.min(0, pricingProblem.getReducedCostBound());
+		}
+		return lagrangianBound;
+	}
+
 	/**
 	 * Reset generic duals etc.
 	 */
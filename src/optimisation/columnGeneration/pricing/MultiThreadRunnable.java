@@ -37,6 +37,12 @@ public class MultiThreadRunnable<T extends AbstractInstance, U extends AbstractC
 	@Override
 	public void run()
 	{
+		// Skip the pricing problem if sufficient columns have been found already.
+		if (pricingProblem.isTerminated())
+		{
+			return;
+		}
+
 		// Ensure that the data in the pricingproblem is threadsafe.
 		pricingProblem.makeThreadSafe();
 
@@ -64,7 +70,15 @@ public class MultiThreadRunnable<T extends AbstractInstance, U extends AbstractC
 		}
 
 		// Solve the pricing problem.
-		generatedColumns.addAll(pricingProblemSolver.generateColumns(masterProblem, pricingProblem,
-				reducedCostThreshold, enumerateColumns));
+		long solveTime = System.currentTimeMillis();
+		List<Pair<U, Double>> columns = pricingProblemSolver.generateColumns(masterProblem, pricingProblem,
+				reducedCostThreshold, enumerateColumns);
+		pricingProblem.setSolveTime(System.currentTimeMillis() - solveTime);
+
+		// Store columns, and signal other pricing problems to stop if sufficient columns
+		// have been found.
+		generatedColumns.addAll(columns);
+		pricingRoutine.updateBestColumn(pricingProblem, columns);
+		pricingRoutine.updateTerminationFlag(generatedColumns, columns, pricingProblem.getTerminationFlag());
 	}
 }
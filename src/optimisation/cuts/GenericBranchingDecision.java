@@ -11,6 +11,8 @@ import optimisation.columnGeneration.pricing.AbstractPricingProblem;
 
 public class GenericBranchingDecision<T extends AbstractInstance, U extends AbstractColumn<T, V>, V extends AbstractPricingProblem<T>> extends AbstractBranchingDecision<T, U, V>
 {
+	private static final long serialVersionUID = 1L;
+
 	private final Set<AbstractConstraint<T, U, V>> constraints;
 	
 	public GenericBranchingDecision(AbstractConstraint<T, U, V> constraint)
@@ -3,13 +3,16 @@ package util;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
-public class Logger
+public class Logger implements Serializable
 {
+	private static final long serialVersionUID = 1L;
+
 	public enum TimeQuantity
 	{
 		TIME_PRICING("TIME_PRICING"), TIME_RMP("TIME_RMP"), TIME_COL_MANAGEMENT("TIME_COL_MANAGEMENT"),
@@ -29,7 +32,8 @@ public class Logger
 	{
 		NUM_ITERATION_PRICING("NUM_ITERATION_PRICING"), NUM_GENERATED_COL("NUM_GENERATED_COL"),
 		NUM_SELECTED_COL("NUM_SELECTED_COL"), NUM_REMOVED_COL("NUM_REMOVED_COL"),
-		NUM_SEPARATED_CUT("NUM_SEPARATED_CUT");
+		NUM_SEPARATED_CUT("NUM_SEPARATED_CUT"), NUM_POOL_COL("NUM_POOL_COL"), NUM_FIXED_VAR("NUM_FIXED_VAR"),
+		NUM_ENUMERATED_COL("NUM_ENUMERATED_COL");
 
 		public String name;
 
@@ -42,7 +46,9 @@ public class Logger
 	public enum ValueQuantity
 	{
 		VALUE_OBJECTIVE("VALUE_OBJECTIVE"), VALUE_LOWER_BOUND("VALUE_LOWER_BOUND"),
-		VALUE_UPPER_BOUND("VALUE_UPPER_BOUND");
+		VALUE_UPPER_BOUND("VALUE_UPPER_BOUND"), VALUE_POOL_SIZE("VALUE_POOL_SIZE"),
+		VALUE_POOL_MEMORY("VALUE_POOL_MEMORY"), VALUE_LAGRANGIAN_BOUND("VALUE_LAGRANGIAN_BOUND"),
+		VALUE_SMOOTHING_ALPHA("VALUE_SMOOTHING_ALPHA"), VALUE_TREE_MEMORY("VALUE_TREE_MEMORY");
 
 		public String name;
 
@@ -84,6 +90,12 @@ public class Logger
 		return (logger == null) ? Logger.logger = new Logger() : logger;
 	}
 
+	public static void setLogger(Logger logger)
+	{
+		// Used to continue logging from a checkpoint.
+		Logger.logger = logger;
+	}
+
 	public static Logger getDummyLogger()
 	{
 		return new Logger();
@@ -170,6 +182,12 @@ public class Logger
 		timeQuantities.put(TimeQuantity.TIME_TOTAL, time);
 	}
 
+	public void addTime(TimeQuantity timeQuantity, long duration)
+	{
+		// Time spent in other threads is reported, but does not count towards the total.
+		timeQuantities.put(timeQuantity, timeQuantities.get(timeQuantity) + duration);
+	}
+
 	public void incrementCount(CountQuantity countQuantity, int count)
 	{
 		countQuantities.put(countQuantity, countQuantities.get(countQuantity) + count);
@@ -239,8 +257,19 @@ public class Logger
 		double initialUpperBound = Double.MAX_VALUE;
 		double upperBound = Double.MAX_VALUE;
 
+		// Retrieve the column indices from the headers.
 		BufferedReader bufferedReader = new BufferedReader(new FileReader(fileName));
-		bufferedReader.readLine();
+		Map<String, Integer> headers = new LinkedHashMap<>();
+		String[] headerData = bufferedReader.readLine().split(";");
+		for (int i = 0; i < headerData.length; i++)
+		{
+			headers.put(headerData[i], i);
+		}
+		int indexPricing = headers.get(TimeQuantity.TIME_PRICING.name);
+		int indexRMP = headers.get(TimeQuantity.TIME_RMP.name);
+		int indexTotal = headers.get(TimeQuantity.TIME_TOTAL.name);
+		int indexLowerBound = headers.get(ValueQuantity.VALUE_LOWER_BOUND.name);
+		int indexUpperBound = headers.get(ValueQuantity.VALUE_UPPER_BOUND.name);
 		String line = bufferedReader.readLine();
 
 		while (line != null)
@@ -267,18 +296,18 @@ public class Logger
 			// Store initial UB.
 			if (node == 0)
 			{
-				initialUpperBound = Double.valueOf(data[17]);
+				initialUpperBound = Double.valueOf(data[indexUpperBound]);
 			}
 
 			// Update values.
 			currentNode = node;
 			line = bufferedReader.readLine();
-			timePricing += (double) Long.valueOf(data[1]) / 1000.0;
-			timeRMH += (double) Long.valueOf(data[2]) / 1000.0;
-			timeTotal = (double) Long.valueOf(data[9]) / 1000.0;
+			timePricing += (double) Long.valueOf(data[indexPricing]) / 1000.0;
+			timeRMH += (double) Long.valueOf(data[indexRMP]) / 1000.0;
+			timeTotal = (double) Long.valueOf(data[indexTotal]) / 1000.0;
 			nodes++;
-			lowerBound = Double.valueOf(data[16]);
-			upperBound = Double.valueOf(data[17]);
+			lowerBound = Double.valueOf(data[indexLowerBound]);
+			upperBound = Double.valueOf(data[indexUpperBound]);
 		}
 		bufferedReader.close();
 
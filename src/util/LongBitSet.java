@@ -0,0 +1,70 @@
+package util;
+
+public class LongBitSet
+{
+	private static final int ADDRESS_BITS_PER_WORD = 6;
+
+	public static int getNumberOfWords(int size)
+	{
+		// Compute the number of 64-bit words required to store the given number of
+		// bits, with at least a single word.
+		return Math.max(1, ((size - 1) >> ADDRESS_BITS_PER_WORD) + 1);
+	}
+
+	public static boolean contains(long[] words, int element)
+	{
+		return (words[element >> ADDRESS_BITS_PER_WORD] & (1L << element)) != 0;
+	}
+
+	public static void add(long[] words, int element)
+	{
+		words[element >> ADDRESS_BITS_PER_WORD] |= (1L << element);
+	}
+
+	public static boolean isSubset(long[] first, long[] second)
+	{
+		// Check whether all bits of the first set are contained in the second set.
+		for (int i = 0; i < first.length; i++)
+		{
+			if ((first[i] & ~second[i]) != 0)
+			{
+				return false;
+			}
+		}
+		return true;
+	}
+
+	public static boolean intersects(long[] first, long[] second)
+	{
+		for (int i = 0; i < first.length; i++)
+		{
+			if ((first[i] & second[i]) != 0)
+			{
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public static long[] union(long[] first, long[] second)
+	{
+		long[] words = new long[first.length];
+		for (int i = 0; i < first.length; i++)
+		{
+			words[i] = first[i] | second[i];
+		}
+		return words;
+	}
+
+	public static long[] extend(long[] words, long[] mask, int element)
+	{
+		// Retain all bits that are contained in the mask, and add the new element.
+		long[] extendedWords = new long[words.length];
+		for (int i = 0; i < words.length; i++)
+		{
+			extendedWords[i] = words[i] & mask[i];
+		}
+		add(extendedWords, element);
+		return extendedWords;
+	}
+}
@@ -0,0 +1,127 @@
+package CVRP.columnGeneration.labelling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class CVRPLabelPoolTest
+{
+	@Test
+	public void testLabelsSurviveGrowth()
+	{
+		// Add more labels than the initial capacity, and check that all data is kept.
+		CVRPLabelPool pool = new CVRPLabelPool();
+		pool.reset(4, 2);
+		int numberOfLabels = 5000;
+		for (int i = 0; i < numberOfLabels; i++)
+		{
+			int label = pool.addLabel(i - 1, i % 7, 0.5 * i, 3 * i);
+			assertEquals(i, label);
+			pool.getMemories()[2 * label + 1] = i;
+		}
+		assertEquals(numberOfLabels, pool.getNumberOfLabels());
+		for (int i = 0; i < numberOfLabels; i++)
+		{
+			assertEquals(i - 1, pool.getParent(i));
+			assertEquals(i % 7, pool.getNode(i));
+			assertEquals(0.5 * i, pool.getCost(i));
+			assertEquals(3 * i, pool.getDistance(i));
+			assertEquals(0, pool.getMemories()[2 * i]);
+			assertEquals(i, pool.getMemories()[2 * i + 1]);
+		}
+	}
+
+	@Test
+	public void testMemoryIsClearedForReusedLabels()
+	{
+		// A label that replaces a removed label starts with an empty memory.
+		CVRPLabelPool pool = new CVRPLabelPool();
+		pool.reset(1, 1);
+		int label = pool.addLabel(-1, 0, 0, 0);
+		pool.getMemories()[label] = -1L;
+		pool.removeLastLabel();
+		assertEquals(0, pool.getNumberOfLabels());
+		assertEquals(label, pool.addLabel(-1, 0, 0, 0));
+		assertEquals(0, pool.getMemories()[label]);
+	}
+
+	@Test
+	public void testResetChangesMemoryWidth()
+	{
+		CVRPLabelPool pool = new CVRPLabelPool();
+		pool.reset(2, 1);
+		pool.addLabel(-1, 0, 0, 0);
+		pool.reset(2, 3);
+		assertEquals(0, pool.getNumberOfLabels());
+		assertEquals(3, pool.getWords());
+		int label = pool.addLabel(-1, 0, 0, 0);
+		assertTrue(pool.getMemories().length >= 3 * (label + 1));
+	}
+
+	@Test
+	public void testBucketsCountTheirLabels()
+	{
+		CVRPLabelPool pool = new CVRPLabelPool();
+		pool.reset(3, 1);
+
+		// Buckets are allocated on demand, and grow to the requested capacity.
+		assertNull(pool.getBucket(0, 1));
+		int[] bucket = pool.ensureBucketCapacity(0, 1, 2);
+		assertSame(bucket, pool.getBucket(0, 1));
+		int[] grownBucket = pool.ensureBucketCapacity(0, 1, 100);
+		assertTrue(grownBucket.length >= 100);
+		assertSame(grownBucket, pool.getBucket(0, 1));
+
+		// The number of labels is kept per direction over all buckets.
+		pool.setBucketSize(0, 1, 5);
+		pool.setBucketSize(0, 2, 3);
+		pool.setBucketSize(1, 0, 4);
+		assertEquals(8, pool.getNumberOfBucketLabels(0));
+		assertEquals(4, pool.getNumberOfBucketLabels(1));
+		pool.setBucketSize(0, 1, 2);
+		assertEquals(5, pool.getNumberOfBucketLabels(0));
+		assertEquals(2, pool.getBucketSize(0, 1));
+
+		// A reset with the same dimensions empties all buckets.
+		pool.reset(3, 1);
+		assertEquals(0, pool.getBucketSize(0, 1));
+		assertEquals(0, pool.getNumberOfBucketLabels(0));
+		assertEquals(0, pool.getNumberOfBucketLabels(1));
+	}
+
+	@Test
+	public void testTrimShrinksAfterSmallRun()
+	{
+		// A large run grows the pool, and trimming after a small run releases the memory.
+		CVRPLabelPool pool = new CVRPLabelPool();
+		pool.reset(2, 1);
+		for (int i = 0; i < 100000; i++)
+		{
+			pool.addLabel(-1, 0, 0, 0);
+		}
+		int grownCapacity = pool.getMemories().length;
+		pool.trim();
+		assertEquals(grownCapacity, pool.getMemories().length);
+
+		pool.reset(2, 1);
+		pool.ensureBucketCapacity(1, 0, 10);
+		pool.setBucketSize(1, 0, 10);
+		for (int i = 0; i < 10; i++)
+		{
+			pool.addLabel(-1, 0, 0, 0);
+		}
+		pool.trim();
+		assertTrue(pool.getMemories().length < grownCapacity);
+		assertEquals(0, pool.getNumberOfLabels());
+		assertNull(pool.getBucket(1, 0));
+		assertEquals(0, pool.getBucketSize(1, 0));
+		assertEquals(0, pool.getNumberOfBucketLabels(1));
+
+		// The trimmed pool is still usable.
+		assertEquals(0, pool.addLabel(-1, 1, 2.0, 3));
+		assertEquals(2.0, pool.getCost(0));
+	}
+}
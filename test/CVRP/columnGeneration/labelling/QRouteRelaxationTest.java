@@ -0,0 +1,150 @@
+package CVRP.columnGeneration.labelling;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import CVRP.columnGeneration.pricing.CVRPPricingProblem;
+import CVRP.instance.CVRPInstance;
+import graph.structures.digraph.CompactDirectedGraph;
+
+public class QRouteRelaxationTest
+{
+	private static final double PRECISION = 1e-9;
+
+	@Test
+	public void testQRoutesMayRevisitCustomers()
+	{
+		// With demands 3 and 4 and a capacity of 10, the cheapest q-route visits customer 1
+		// twice, while the cheapest elementary route visits both customers once.
+		CVRPPricingProblem pricingProblem = createPricingProblem(new int[] { 3, 4 }, 10);
+		pricingProblem.addInNodeDual(1, 5);
+		pricingProblem.addInNodeDual(2, 7);
+		QRouteRelaxation relaxation = new QRouteRelaxation(pricingProblem);
+
+		assertTrue(relaxation.isValid());
+		assertEquals(-17, relaxation.getRouteBound(), PRECISION);
+		assertEquals(-5, relaxation.getForwardCost(1, 3), PRECISION);
+		assertEquals(-12, relaxation.getForwardCost(2, 7), PRECISION);
+		assertEquals(-17, relaxation.getForwardCost(1, 10), PRECISION);
+		assertEquals(Double.MAX_VALUE, relaxation.getForwardCost(1, 4));
+
+		// Backward costs bound all completions within the remaining capacity.
+		assertEquals(0, relaxation.getBackwardCost(1, 3), PRECISION);
+		assertEquals(-7, relaxation.getBackwardCost(1, 7), PRECISION);
+		assertEquals(-7, relaxation.getBackwardCost(1, 9), PRECISION);
+		assertEquals(-12, relaxation.getBackwardCost(1, 10), PRECISION);
+	}
+
+	@Test
+	public void testForbiddenArcsAreRespected()
+	{
+		// Without the arc from customer 1 to 2, customer 1 can no longer be visited twice.
+		CVRPPricingProblem pricingProblem = createPricingProblem(new int[] { 3, 4 }, 10);
+		pricingProblem.addInNodeDual(1, 5);
+		pricingProblem.addInNodeDual(2, 7);
+		pricingProblem.addForbiddenArc(1, 2);
+		QRouteRelaxation relaxation = new QRouteRelaxation(pricingProblem);
+
+		assertEquals(-12, relaxation.getRouteBound(), PRECISION);
+	}
+
+	@Test
+	public void testBoundsElementaryRoutes()
+	{
+		// The bound through every arc does not exceed the reduced cost of any elementary
+		// route through that arc.
+		int[] demands = { 2, 3, 4, 2, 5, 3 };
+		Random random = new Random(12);
+		for (int run = 0; run < 10; run++)
+		{
+			CVRPPricingProblem pricingProblem = createPricingProblem(demands, 10);
+			for (int i = 1; i <= demands.length; i++)
+			{
+				pricingProblem.addInNodeDual(i, 10 * random.nextDouble());
+			}
+			pricingProblem.addDistanceDual(-random.nextDouble());
+			QRouteRelaxation relaxation = new QRouteRelaxation(pricingProblem);
+			CompactDirectedGraph graph = pricingProblem.getCompactGraph();
+
+			double[] bestArcCosts = new double[graph.getNumberOfArcs()];
+			Arrays.fill(bestArcCosts, Double.MAX_VALUE);
+			enumerateRoutes(pricingProblem, 0, 0, 0, new boolean[demands.length + 1], new int[demands.length + 1],
+					0, bestArcCosts);
+			double bestRouteCost = Double.MAX_VALUE;
+			for (int arc = 0; arc < bestArcCosts.length; arc++)
+			{
+				if (bestArcCosts[arc] < Double.MAX_VALUE)
+				{
+					assertTrue(relaxation.getArcBound(arc) <= bestArcCosts[arc] + PRECISION, "arc " + arc);
+					bestRouteCost = Math.min(bestRouteCost, bestArcCosts[arc]);
+				}
+			}
+			assertTrue(relaxation.getRouteBound() <= bestRouteCost + PRECISION);
+		}
+	}
+
+	@Test
+	public void testZeroDemandDisablesRelaxation()
+	{
+		// Without strictly positive demands, no route may be excluded.
+		CVRPPricingProblem pricingProblem = createPricingProblem(new int[] { 3, 0 }, 10);
+		pricingProblem.addInNodeDual(1, 5);
+		QRouteRelaxation relaxation = new QRouteRelaxation(pricingProblem);
+
+		assertFalse(relaxation.isValid());
+		assertEquals(-Double.MAX_VALUE, relaxation.getRouteBound());
+	}
+
+	private static CVRPPricingProblem createPricingProblem(int[] demands, int Q)
+	{
+		// All customers are at unit distance from each other and from the depot.
+		int N = demands.length;
+		int[][] distances = new int[N + 1][N + 1];
+		for (int i = 0; i <= N; i++)
+		{
+			for (int j = 0; j <= N; j++)
+			{
+				distances[i][j] = (i != j) ? 1 + (i + j) % 3 : 0;
+			}
+		}
+		return new CVRPPricingProblem(0, new CVRPInstance(N, 1, Q, demands, distances));
+	}
+
+	private static void enumerateRoutes(CVRPPricingProblem pricingProblem, int node, int load, double cost,
+			boolean[] isVisited, int[] arcs, int numberOfArcs, double[] bestArcCosts)
+	{
+		// Extend the partial route along all allowed arcs, and record complete routes.
+		CompactDirectedGraph graph = pricingProblem.getCompactGraph();
+		for (int arc : pricingProblem.getAllowedOutArcs(node))
+		{
+			int head = graph.getHead(arc);
+			double newCost = cost + pricingProblem.getReducedCost(arc);
+			arcs[numberOfArcs] = arc;
+			if (head == 0)
+			{
+				if (numberOfArcs > 0)
+				{
+					for (int i = 0; i <= numberOfArcs; i++)
+					{
+						bestArcCosts[arcs[i]] = Math.min(bestArcCosts[arcs[i]], newCost);
+					}
+				}
+				continue;
+			}
+			int newLoad = load + pricingProblem.getDemand(head);
+			if (isVisited[head] || newLoad > 10)
+			{
+				continue;
+			}
+			isVisited[head] = true;
+			enumerateRoutes(pricingProblem, head, newLoad, newCost, isVisited, arcs, numberOfArcs + 1, bestArcCosts);
+			isVisited[head] = false;
+		}
+	}
+}
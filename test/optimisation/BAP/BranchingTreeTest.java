@@ -0,0 +1,212 @@
+package optimisation.BAP;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+import GAP.GAPInstance;
+import GAP.columnGeneration.GAPColumn;
+import GAP.columnGeneration.pricing.GAPPricingProblem;
+import optimisation.BAP.NodeComparators.BoundComparator;
+import optimisation.BAP.NodeComparators.DFSComparator;
+import optimisation.BAP.NodeComparators.DynamicComparator;
+
+public class BranchingTreeTest
+{
+	@Test
+	public void testLowerBoundFollowsOpenNodes()
+	{
+		BranchingTree<GAPInstance, GAPColumn, GAPPricingProblem> tree = new BranchingTree<>(new BoundComparator<>());
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> root = createNode(null, 0);
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> first = createNode(root, 5);
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> second = createNode(root, 3);
+		tree.enqueue(first);
+		tree.enqueue(second);
+		tree.updateLowerBound();
+		assertEquals(3, tree.getLowerBound());
+
+		// The lower bound rises once the node with the smallest bound is processed.
+		assertSame(second, tree.dequeue());
+		tree.updateLowerBound();
+		assertEquals(5, tree.getLowerBound());
+
+		// The lower bound never exceeds the upper bound, and equals it without open nodes.
+		tree.setUpperBound(4);
+		tree.updateLowerBound();
+		assertEquals(4, tree.getLowerBound());
+		assertTrue(tree.isEmpty());
+	}
+
+	@Test
+	public void testUpperBoundPrunesNodes()
+	{
+		BranchingTree<GAPInstance, GAPColumn, GAPPricingProblem> tree = new BranchingTree<>(new BoundComparator<>());
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> root = createNode(null, 0);
+		for (int i = 1; i <= 10; i++)
+		{
+			tree.enqueue(createNode(root, i));
+		}
+		assertEquals(10, root.getNumberOfOpenChildren());
+
+		// Nodes with a lower bound of at least the upper bound are pruned, and no longer
+		// count as open children of their parent.
+		tree.setUpperBound(7);
+		tree.updateLowerBound();
+		assertEquals(6, tree.getNumberOfNodes());
+		assertEquals(6, root.getNumberOfOpenChildren());
+		assertEquals(1, tree.getLowerBound());
+		for (int i = 1; i <= 6; i++)
+		{
+			assertEquals(i, tree.dequeue().getLowerBound());
+		}
+		assertTrue(tree.isEmpty());
+		assertEquals(0, tree.getMemoryEstimate());
+	}
+
+	@Test
+	public void testSelectionOrder()
+	{
+		// Depth-first search selects the deepest node, and the smallest lower bound among
+		// nodes of equal depth.
+		BranchingTree<GAPInstance, GAPColumn, GAPPricingProblem> tree = new BranchingTree<>(new DFSComparator<>());
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> root = createNode(null, 0);
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> shallow = createNode(root, 1);
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> deepWorse = createNode(shallow, 4);
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> deepBetter = createNode(shallow, 2);
+		tree.enqueue(shallow);
+		tree.enqueue(deepWorse);
+		tree.enqueue(deepBetter);
+		tree.updateLowerBound();
+		assertEquals(1, tree.getLowerBound());
+		assertSame(deepBetter, tree.dequeue());
+		assertSame(deepWorse, tree.dequeue());
+		assertSame(shallow, tree.dequeue());
+	}
+
+	@Test
+	public void testDynamicComparatorSwitchesToBoundOrder()
+	{
+		// The first upper bound switches from depth-first search to best-bound search.
+		BranchingTree<GAPInstance, GAPColumn, GAPPricingProblem> tree = new BranchingTree<>(new DynamicComparator<>());
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> root = createNode(null, 0);
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> shallow = createNode(root, 1);
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> deep = createNode(shallow, 2);
+		tree.enqueue(shallow);
+		tree.enqueue(deep);
+		assertSame(deep, tree.dequeue());
+		tree.enqueue(deep);
+
+		tree.setUpperBound(10);
+		tree.updateLowerBound();
+		assertSame(shallow, tree.dequeue());
+		assertSame(deep, tree.dequeue());
+	}
+
+	@Test
+	public void testSpilledNodesAreSelectedInOrder()
+	{
+		// A tree that moves nodes to disk selects the same nodes in the same order as a tree
+		// that keeps all nodes in memory.
+		for (int run = 0; run < 3; run++)
+		{
+			BranchingTree<GAPInstance, GAPColumn, GAPPricingProblem> memoryTree = new BranchingTree<>(
+					new DynamicComparator<>());
+			BranchingTree<GAPInstance, GAPColumn, GAPPricingProblem> spillingTree = new BranchingTree<>(
+					new DynamicComparator<>(), 2000);
+			Random random = new Random(run);
+			BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> root = createNode(null, 0);
+			List<BAPNode<GAPInstance, GAPColumn, GAPPricingProblem>> nodes = new ArrayList<>();
+			nodes.add(root);
+			for (int i = 0; i < 200; i++)
+			{
+				BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> node = createNode(
+						nodes.get(random.nextInt(nodes.size())), random.nextInt(20));
+				node.addBranchingDecision(new NodeFileTest.TestDecision(i));
+				nodes.add(node);
+				memoryTree.enqueue(node);
+				spillingTree.enqueue(node);
+				if (i == 100)
+				{
+					memoryTree.setUpperBound(15);
+					spillingTree.setUpperBound(15);
+				}
+			}
+			memoryTree.updateLowerBound();
+			spillingTree.updateLowerBound();
+			assertTrue(spillingTree.getMemoryEstimate() < memoryTree.getMemoryEstimate());
+			assertEquals(memoryTree.getNumberOfNodes(), spillingTree.getNumberOfNodes());
+			assertEquals(memoryTree.getLowerBound(), spillingTree.getLowerBound());
+
+			int numberOfReadNodes = 0;
+			while (!memoryTree.isEmpty())
+			{
+				BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> expected = memoryTree.dequeue();
+				BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> actual = spillingTree.dequeue();
+				assertEquals(expected.getIndex(), actual.getIndex());
+				assertEquals(expected.getDepth(), actual.getDepth());
+				assertEquals(expected.getLowerBound(), actual.getLowerBound());
+				assertEquals(getPathDecisions(expected), getPathDecisions(actual));
+				if (actual != expected)
+				{
+					numberOfReadNodes++;
+				}
+			}
+			assertTrue(numberOfReadNodes > 0);
+			assertTrue(spillingTree.isEmpty());
+			spillingTree.close();
+		}
+	}
+
+	@Test
+	public void testSpilledNodesArePruned() throws IOException
+	{
+		BranchingTree<GAPInstance, GAPColumn, GAPPricingProblem> tree = new BranchingTree<>(new BoundComparator<>(),
+				1000);
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> root = createNode(null, 0);
+		for (int i = 1; i <= 40; i++)
+		{
+			tree.enqueue(createNode(root, i));
+		}
+		tree.updateLowerBound();
+		assertEquals(40, tree.getNodes().size());
+		assertEquals(1, tree.getLowerBound());
+
+		tree.setUpperBound(21);
+		tree.updateLowerBound();
+		assertEquals(20, tree.getNumberOfNodes());
+		List<BAPNode<GAPInstance, GAPColumn, GAPPricingProblem>> nodes = tree.getNodes();
+		assertEquals(20, nodes.size());
+		for (BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> node : nodes)
+		{
+			assertTrue(node.getLowerBound() < 21);
+		}
+		tree.close();
+	}
+
+	private static List<AbstractBranchingDecision<GAPInstance, GAPColumn, GAPPricingProblem>> getPathDecisions(
+			BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> node)
+	{
+		List<AbstractBranchingDecision<GAPInstance, GAPColumn, GAPPricingProblem>> decisions = new ArrayList<>();
+		for (BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> current = node; current != null; current = current
+				.getParent())
+		{
+			decisions.addAll(0, current.getBranchingDecisions());
+		}
+		return decisions;
+	}
+
+	static BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> createNode(
+			BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> parent, double lowerBound)
+	{
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> node = new BAPNode<>(parent);
+		node.setLowerBound(lowerBound);
+		return node;
+	}
+}
@@ -0,0 +1,116 @@
+package optimisation.BAP;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import GAP.GAPInstance;
+import GAP.columnGeneration.AssignmentColumn;
+import GAP.columnGeneration.GAPColumn;
+import GAP.columnGeneration.pricing.GAPPricingProblem;
+import optimisation.BAP.strongBranching.PseudoCosts;
+import optimisation.columnGeneration.AbstractConstraint;
+import util.Configuration;
+import util.Logger;
+import util.Logger.TimeQuantity;
+
+public class CheckpointTest
+{
+	private File file;
+
+	@BeforeAll
+	public static void setUpConfiguration()
+	{
+		Configuration.initialiseConfiguration("defaultGAP.properties", "defaultGAP.properties");
+	}
+
+	@BeforeEach
+	public void setUp() throws IOException
+	{
+		file = File.createTempFile("checkpoint", ".bin");
+	}
+
+	@AfterEach
+	public void tearDown()
+	{
+		file.delete();
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		List<GAPColumn> columns = new ArrayList<>();
+		columns.add(new AssignmentColumn(0, 5, 3, new HashSet<>(Arrays.asList(1, 2))));
+		columns.add(new AssignmentColumn(1, 4, 2, new HashSet<>(Arrays.asList(0))));
+		PseudoCosts pseudoCosts = new PseudoCosts();
+		pseudoCosts.update("x", 1, 2, 0.5, 3);
+		Logger logger = Logger.getDummyLogger();
+		logger.increaseNode();
+		logger.addTime(TimeQuantity.TIME_PRICING, 42);
+
+		// Two open nodes share the decision of their common ancestor.
+		NodeFileTest.TestDecision sharedDecision = new NodeFileTest.TestDecision(1);
+		Checkpoint<GAPInstance, GAPColumn, GAPPricingProblem> checkpoint = new Checkpoint<>(
+				Collections.<AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem>>emptyList(), columns, null,
+				17.5, pseudoCosts, logger, 3);
+		checkpoint.addNode(10, 2, Arrays.asList(sharedDecision, new NodeFileTest.TestDecision(2)));
+		checkpoint.addNode(12.5, 3, Arrays.asList(sharedDecision, new NodeFileTest.TestDecision(3)));
+		checkpoint.write(file.getPath());
+		assertFalse(new File(file.getPath() + ".tmp").exists());
+
+		Checkpoint<GAPInstance, GAPColumn, GAPPricingProblem> readCheckpoint = Checkpoint.read(file.getPath());
+		assertEquals(0, readCheckpoint.getConstraints().size());
+		assertEquals(columns, readCheckpoint.getColumns());
+		assertNull(readCheckpoint.getBestSolution());
+		assertEquals(17.5, readCheckpoint.getUpperBound());
+		assertEquals(1, readCheckpoint.getPseudoCosts().getNumberOfObservations("x", 1));
+		assertEquals(6, readCheckpoint.getPseudoCosts().getPseudoCost("x", 1));
+		assertEquals(1, readCheckpoint.getLogger().getNode());
+		assertEquals(42L, readCheckpoint.getLogger().getTimeQuantity(TimeQuantity.TIME_PRICING));
+		assertEquals(3, readCheckpoint.getSearchState());
+
+		assertEquals(2, readCheckpoint.getNumberOfNodes());
+		assertEquals(10, readCheckpoint.getLowerBound(0));
+		assertEquals(2, readCheckpoint.getDepth(0));
+		assertEquals(Arrays.asList(sharedDecision, new NodeFileTest.TestDecision(2)),
+				readCheckpoint.getBranchingDecisions(0));
+		assertEquals(12.5, readCheckpoint.getLowerBound(1));
+		assertEquals(3, readCheckpoint.getDepth(1));
+		assertEquals(Arrays.asList(sharedDecision, new NodeFileTest.TestDecision(3)),
+				readCheckpoint.getBranchingDecisions(1));
+		assertSame(readCheckpoint.getBranchingDecisions(0).get(0), readCheckpoint.getBranchingDecisions(1).get(0));
+	}
+
+	@Test
+	public void testWriteReplacesPreviousCheckpoint() throws IOException
+	{
+		for (int i = 1; i <= 2; i++)
+		{
+			Checkpoint<GAPInstance, GAPColumn, GAPPricingProblem> checkpoint = new Checkpoint<>(
+					Collections.<AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem>>emptyList(),
+					Collections.<GAPColumn>emptyList(), null, i, new PseudoCosts(), null, null);
+			for (int j = 0; j < i; j++)
+			{
+				checkpoint.addNode(j, j, Collections.emptyList());
+			}
+			checkpoint.write(file.getPath());
+		}
+		Checkpoint<GAPInstance, GAPColumn, GAPPricingProblem> readCheckpoint = Checkpoint.read(file.getPath());
+		assertEquals(2, readCheckpoint.getUpperBound());
+		assertEquals(2, readCheckpoint.getNumberOfNodes());
+	}
+}
@@ -0,0 +1,177 @@
+package optimisation.BAP;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import GAP.GAPInstance;
+import GAP.columnGeneration.GAPColumn;
+import GAP.columnGeneration.pricing.GAPPricingProblem;
+import optimisation.BAP.NodeComparators.BoundComparator;
+import optimisation.BAP.NodeComparators.DFSComparator;
+import optimisation.columnGeneration.AbstractConstraint;
+
+public class NodeFileTest
+{
+	private NodeFile<GAPInstance, GAPColumn, GAPPricingProblem> nodeFile;
+	private BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> root;
+
+	@BeforeEach
+	public void setUp() throws IOException
+	{
+		nodeFile = new NodeFile<>(new DFSComparator<GAPInstance, GAPColumn, GAPPricingProblem>()
+				.thenComparingInt(BAPNode::getIndex));
+		root = BranchingTreeTest.createNode(null, 0);
+	}
+
+	@AfterEach
+	public void tearDown() throws IOException
+	{
+		nodeFile.close();
+	}
+
+	@Test
+	public void testRoundTrip() throws IOException
+	{
+		// A node is read back as a child of the root node, with its depth, bound, index and
+		// the decisions on its path.
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> node = createNode(3, 2.5, 7);
+		List<AbstractBranchingDecision<GAPInstance, GAPColumn, GAPPricingProblem>> decisions = Arrays
+				.asList(new TestDecision(1), new TestDecision(2), new TestDecision(3));
+		nodeFile.write(node, decisions);
+		assertEquals(1, nodeFile.size());
+
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> readNode = nodeFile.readFirst(root);
+		assertSame(root, readNode.getParent());
+		assertEquals(3, readNode.getDepth());
+		assertEquals(2.5, readNode.getLowerBound());
+		assertEquals(7, readNode.getIndex());
+		assertEquals(decisions, readNode.getBranchingDecisions());
+		assertEquals(0, nodeFile.size());
+	}
+
+	@Test
+	public void testReadsInComparatorOrder() throws IOException
+	{
+		// Write nodes in random order, and read them back deepest first, by lower bound.
+		List<BAPNode<GAPInstance, GAPColumn, GAPPricingProblem>> nodes = new ArrayList<>();
+		for (int i = 0; i < 50; i++)
+		{
+			nodes.add(createNode(1 + i % 5, (i * 7) % 11, i));
+		}
+		Collections.shuffle(nodes, new Random(3));
+		for (BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> node : nodes)
+		{
+			nodeFile.write(node, Arrays.asList(new TestDecision(node.getIndex())));
+		}
+
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> previous = null;
+		for (int i = 0; i < 50; i++)
+		{
+			BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> node = nodeFile.readFirst(root);
+			assertEquals(Arrays.asList(new TestDecision(node.getIndex())), node.getBranchingDecisions());
+			if (previous != null)
+			{
+				assertTrue(previous.getDepth() > node.getDepth() || (previous.getDepth() == node.getDepth()
+						&& previous.getLowerBound() <= node.getLowerBound()));
+			}
+			previous = node;
+		}
+	}
+
+	@Test
+	public void testSetComparatorReordersRecords() throws IOException
+	{
+		nodeFile.write(createNode(1, 1, 0), Collections.emptyList());
+		nodeFile.write(createNode(2, 3, 1), Collections.emptyList());
+		nodeFile.write(createNode(3, 2, 2), Collections.emptyList());
+		assertEquals(3, nodeFile.readFirst(root).getDepth());
+
+		nodeFile.setComparator(new BoundComparator<>());
+		assertEquals(1, nodeFile.readFirst(root).getLowerBound());
+		assertEquals(3, nodeFile.readFirst(root).getLowerBound());
+	}
+
+	@Test
+	public void testPruneAndLowerBound() throws IOException
+	{
+		for (int i = 0; i < 10; i++)
+		{
+			nodeFile.write(createNode(1, i, i), Collections.emptyList());
+		}
+		assertEquals(0, nodeFile.getLowerBound());
+
+		// Records with a lower bound of at least the upper bound are removed.
+		assertEquals(4, nodeFile.prune(6));
+		assertEquals(6, nodeFile.size());
+		assertEquals(0, nodeFile.prune(6));
+
+		// Reading all nodes leaves them on disk, while reading the first node removes it.
+		assertEquals(6, nodeFile.readAll(root).size());
+		assertEquals(6, nodeFile.size());
+		nodeFile.setComparator(new BoundComparator<>());
+		assertEquals(0, nodeFile.readFirst(root).getLowerBound());
+		assertEquals(1, nodeFile.getLowerBound());
+	}
+
+	private BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> createNode(int depth, double lowerBound, int index)
+	{
+		BAPNode<GAPInstance, GAPColumn, GAPPricingProblem> node = new BAPNode<>(root, depth);
+		node.setLowerBound(lowerBound);
+		node.setIndex(index);
+		return node;
+	}
+
+	static class TestDecision extends AbstractBranchingDecision<GAPInstance, GAPColumn, GAPPricingProblem>
+	{
+		private static final long serialVersionUID = 1L;
+
+		private final int id;
+
+		TestDecision(int id)
+		{
+			this.id = id;
+		}
+
+		@Override
+		public Set<AbstractConstraint<GAPInstance, GAPColumn, GAPPricingProblem>> getBranchingConstraints()
+		{
+			return Collections.emptySet();
+		}
+
+		@Override
+		public boolean isCompatible(GAPPricingProblem pricingProblem)
+		{
+			return true;
+		}
+
+		@Override
+		public void modifyPricingProblem(GAPPricingProblem pricingProblem)
+		{
+		}
+
+		@Override
+		public boolean equals(Object o)
+		{
+			return (o instanceof TestDecision) && ((TestDecision) o).id == id;
+		}
+
+		@Override
+		public int hashCode()
+		{
+			return id;
+		}
+	}
+}
@@ -0,0 +1,65 @@
+package optimisation.BAP.strongBranching;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import org.junit.jupiter.api.Test;
+
+public class PseudoCostsTest
+{
+	private static final double PRECISION = 1e-9;
+
+	@Test
+	public void testAveragesPerUnitDistance()
+	{
+		PseudoCosts pseudoCosts = new PseudoCosts();
+		pseudoCosts.update("x", 0, 2, 0.5, 2);
+		pseudoCosts.update("x", 0, 2, 0.25, 3);
+		pseudoCosts.update("x", 1, 2, 0.5, 1);
+
+		assertEquals(2, pseudoCosts.getNumberOfObservations("x", 0));
+		assertEquals(1, pseudoCosts.getNumberOfObservations("x", 1));
+		assertEquals((4 + 12) / 2.0, pseudoCosts.getPseudoCost("x", 0), PRECISION);
+		assertEquals(2, pseudoCosts.getPseudoCost("x", 1), PRECISION);
+	}
+
+	@Test
+	public void testFallsBackToHeuristicThenTotalAverage()
+	{
+		PseudoCosts pseudoCosts = new PseudoCosts();
+
+		// Without any observations, every branch gets unit pseudocost.
+		assertEquals(1, pseudoCosts.getPseudoCost("x", 0), PRECISION);
+
+		// Exact observations of other candidates give the total average.
+		pseudoCosts.update("y", 0, 2, 1, 2);
+		pseudoCosts.update("y", 1, 2, 1, 4);
+		assertEquals(3, pseudoCosts.getPseudoCost("x", 0), PRECISION);
+
+		// Heuristic observations take precedence over the total average, but do not count
+		// towards reliability.
+		pseudoCosts.updateHeuristic("x", 0, 2, 1, 10);
+		assertEquals(10, pseudoCosts.getPseudoCost("x", 0), PRECISION);
+		assertEquals(0, pseudoCosts.getNumberOfObservations("x", 0));
+		assertEquals(3, pseudoCosts.getPseudoCost("x", 1), PRECISION);
+
+		// Exact observations take precedence over heuristic ones.
+		pseudoCosts.update("x", 0, 2, 1, 5);
+		assertEquals(5, pseudoCosts.getPseudoCost("x", 0), PRECISION);
+	}
+
+	@Test
+	public void testIgnoresInvalidObservations()
+	{
+		PseudoCosts pseudoCosts = new PseudoCosts();
+		pseudoCosts.update(null, 0, 2, 1, 5);
+		pseudoCosts.update("x", 0, 2, 0, 5);
+		assertEquals(0, pseudoCosts.getNumberOfObservations("x", 0));
+		assertEquals(0, pseudoCosts.getNumberOfObservations(null, 0));
+		assertEquals(1, pseudoCosts.getPseudoCost("x", 0), PRECISION);
+
+		// Negative bound changes, due to numerical errors, count as no change.
+		pseudoCosts.update("x", 0, 2, 1, -3);
+		assertEquals(1, pseudoCosts.getNumberOfObservations("x", 0));
+		assertEquals(0, pseudoCosts.getPseudoCost("x", 0), PRECISION);
+	}
+}
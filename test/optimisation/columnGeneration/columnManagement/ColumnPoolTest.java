@@ -0,0 +1,189 @@
+package optimisation.columnGeneration.columnManagement;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import GAP.GAPInstance;
+import GAP.columnGeneration.AssignmentColumn;
+import GAP.columnGeneration.GAPColumn;
+import GAP.columnGeneration.GAPMasterProblem;
+import GAP.columnGeneration.pricing.GAPPricingProblem;
+import ilog.concert.IloException;
+import util.Configuration;
+
+public class ColumnPoolTest
+{
+	private TestMasterProblem masterProblem;
+	private List<GAPColumn> columns;
+
+	@BeforeAll
+	public static void setUpConfiguration()
+	{
+		Configuration.initialiseConfiguration("defaultGAP.properties", "defaultGAP.properties");
+	}
+
+	@BeforeEach
+	public void setUp() throws IloException
+	{
+		int[] capacities = { 10 };
+		int[][] costs = { { 1 } };
+		int[][] profits = { { 1 } };
+		masterProblem = new TestMasterProblem(new GAPInstance(1, 1, capacities, costs, profits));
+		columns = new ArrayList<>();
+		for (int i = 0; i < 20; i++)
+		{
+			columns.add(new AssignmentColumn(0, i, i, new HashSet<>(Arrays.asList(i))));
+		}
+	}
+
+	@Test
+	public void testEvictsLargestReducedCosts()
+	{
+		// Exceeding the capacity of 10 evicts the columns with the largest reduced costs, down
+		// to a tenth of the capacity below it.
+		ColumnPool<GAPInstance, GAPColumn, GAPPricingProblem> pool = createPool(10, 0);
+		for (int i = 0; i < 11; i++)
+		{
+			masterProblem.setReducedCost(columns.get(i), i);
+		}
+		pool.addColumns(masterProblem, columns.subList(0, 10));
+		assertEquals(10, pool.getSize());
+		pool.addColumns(masterProblem, columns.subList(10, 11));
+		assertEquals(9, pool.getSize());
+
+		// Make all columns attractive, and check which ones are left.
+		for (int i = 0; i < 11; i++)
+		{
+			masterProblem.setReducedCost(columns.get(i), -1);
+		}
+		assertEquals(new HashSet<>(columns.subList(0, 9)), new HashSet<>(pool.retrieveColumns(masterProblem, 0)));
+		assertEquals(0, pool.getSize());
+	}
+
+	@Test
+	public void testEvictsLeastRecentlyEvaluatedAmongEqualReducedCosts()
+	{
+		ColumnPool<GAPInstance, GAPColumn, GAPPricingProblem> pool = createPool(10, 0);
+		for (int i = 0; i < 11; i++)
+		{
+			masterProblem.setReducedCost(columns.get(i), 5);
+		}
+		pool.addColumns(masterProblem, columns.subList(0, 11));
+		assertEquals(9, pool.getSize());
+		for (int i = 0; i < 11; i++)
+		{
+			masterProblem.setReducedCost(columns.get(i), -1);
+		}
+		assertEquals(new HashSet<>(columns.subList(2, 11)), new HashSet<>(pool.retrieveColumns(masterProblem, 0)));
+	}
+
+	@Test
+	public void testScanCyclesThroughPool()
+	{
+		// Only three columns are evaluated per retrieval, and columns that are not retrieved
+		// move to the back of the pool.
+		ColumnPool<GAPInstance, GAPColumn, GAPPricingProblem> pool = createPool(100, 3);
+		for (int i = 0; i < 5; i++)
+		{
+			masterProblem.setReducedCost(columns.get(i), 1);
+		}
+		pool.addColumns(masterProblem, columns.subList(0, 5));
+		masterProblem.setReducedCost(columns.get(1), -1);
+		masterProblem.setReducedCost(columns.get(4), -1);
+		int numberOfEvaluations = masterProblem.getNumberOfEvaluations();
+
+		assertEquals(Arrays.asList(columns.get(1)), pool.retrieveColumns(masterProblem, 0));
+		assertEquals(4, pool.getSize());
+		assertEquals(numberOfEvaluations + 3, masterProblem.getNumberOfEvaluations());
+
+		assertEquals(Arrays.asList(columns.get(4)), pool.retrieveColumns(masterProblem, 0));
+		assertEquals(3, pool.getSize());
+		assertEquals(numberOfEvaluations + 6, masterProblem.getNumberOfEvaluations());
+	}
+
+	@Test
+	public void testSkipsIncompatibleColumns()
+	{
+		ColumnPool<GAPInstance, GAPColumn, GAPPricingProblem> pool = createPool(100, 0);
+		for (int i = 0; i < 3; i++)
+		{
+			masterProblem.setReducedCost(columns.get(i), -1);
+		}
+		masterProblem.setIncompatible(columns.get(0));
+		pool.addColumns(masterProblem, columns.subList(0, 3));
+
+		List<GAPColumn> retrievedColumns = pool.retrieveColumns(masterProblem, 0);
+		assertEquals(new HashSet<>(columns.subList(1, 3)), new HashSet<>(retrievedColumns));
+		assertEquals(1, pool.getSize());
+	}
+
+	@Test
+	public void testZeroCapacityStoresNothing()
+	{
+		ColumnPool<GAPInstance, GAPColumn, GAPPricingProblem> pool = createPool(0, 0);
+		pool.addColumns(masterProblem, columns);
+		assertEquals(0, pool.getSize());
+		assertTrue(pool.retrieveColumns(masterProblem, 0).isEmpty());
+	}
+
+	private ColumnPool<GAPInstance, GAPColumn, GAPPricingProblem> createPool(int capacity, int scanSize)
+	{
+		return new ColumnPool<>(capacity, scanSize);
+	}
+
+	private static class TestMasterProblem extends GAPMasterProblem
+	{
+		// Reduced costs and compatibility set by the tests, instead of derived from the duals
+		// and branching decisions.
+		private final Map<GAPColumn, Double> reducedCosts;
+		private final Set<GAPColumn> incompatibleColumns;
+		private int numberOfEvaluations;
+
+		private TestMasterProblem(GAPInstance instance) throws IloException
+		{
+			super(instance);
+			this.reducedCosts = new HashMap<>();
+			this.incompatibleColumns = new HashSet<>();
+		}
+
+		private void setReducedCost(GAPColumn column, double reducedCost)
+		{
+			reducedCosts.put(column, reducedCost);
+		}
+
+		private void setIncompatible(GAPColumn column)
+		{
+			incompatibleColumns.add(column);
+		}
+
+		private int getNumberOfEvaluations()
+		{
+			return numberOfEvaluations;
+		}
+
+		@Override
+		public double getReducedCost(GAPColumn column)
+		{
+			numberOfEvaluations++;
+			return reducedCosts.get(column);
+		}
+
+		@Override
+		public boolean isCompatible(GAPColumn column)
+		{
+			return !incompatibleColumns.contains(column);
+		}
+	}
+}
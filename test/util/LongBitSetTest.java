@@ -0,0 +1,98 @@
+package util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+public class LongBitSetTest
+{
+	@Test
+	public void testNumberOfWords()
+	{
+		// At least a single word is used, and a new word starts at every multiple of 64.
+		assertEquals(1, LongBitSet.getNumberOfWords(0));
+		assertEquals(1, LongBitSet.getNumberOfWords(1));
+		assertEquals(1, LongBitSet.getNumberOfWords(64));
+		assertEquals(2, LongBitSet.getNumberOfWords(65));
+		assertEquals(2, LongBitSet.getNumberOfWords(128));
+		assertEquals(3, LongBitSet.getNumberOfWords(129));
+	}
+
+	@Test
+	public void testAddAndContainsAcrossWords()
+	{
+		// Elements at the boundaries of words do not affect other words.
+		long[] words = new long[LongBitSet.getNumberOfWords(200)];
+		int[] elements = { 0, 31, 32, 63, 64, 127, 128, 199 };
+		for (int element : elements)
+		{
+			LongBitSet.add(words, element);
+		}
+		for (int element = 0; element < 200; element++)
+		{
+			boolean isElement = false;
+			for (int other : elements)
+			{
+				isElement |= (other == element);
+			}
+			assertEquals(isElement, LongBitSet.contains(words, element), "element " + element);
+		}
+	}
+
+	@Test
+	public void testSubsetAndIntersection()
+	{
+		long[] first = createSet(130, 1, 70, 129);
+		long[] second = createSet(130, 1, 2, 70, 129);
+		long[] third = createSet(130, 3, 71);
+
+		assertTrue(LongBitSet.isSubset(first, second));
+		assertFalse(LongBitSet.isSubset(second, first));
+		assertTrue(LongBitSet.isSubset(new long[first.length], first));
+
+		assertTrue(LongBitSet.intersects(first, second));
+		assertFalse(LongBitSet.intersects(first, third));
+
+		// Only a shared element in the last word makes the sets intersect.
+		assertTrue(LongBitSet.intersects(createSet(130, 129), createSet(130, 5, 129)));
+	}
+
+	@Test
+	public void testUnion()
+	{
+		long[] first = createSet(130, 1, 70);
+		long[] second = createSet(130, 2, 129);
+		long[] union = LongBitSet.union(first, second);
+
+		assertArrayEquals(createSet(130, 1, 2, 70, 129), union);
+
+		// The arguments are left unchanged.
+		assertArrayEquals(createSet(130, 1, 70), first);
+		assertArrayEquals(createSet(130, 2, 129), second);
+	}
+
+	@Test
+	public void testExtend()
+	{
+		// Only elements in the mask are retained, and the new element is always added.
+		long[] words = createSet(130, 1, 65, 100);
+		long[] mask = createSet(130, 65, 100, 120);
+		long[] extended = LongBitSet.extend(words, mask, 129);
+
+		assertArrayEquals(createSet(130, 65, 100, 129), extended);
+		assertArrayEquals(createSet(130, 1, 65, 100), words);
+	}
+
+	private static long[] createSet(int size, int... elements)
+	{
+		long[] words = new long[LongBitSet.getNumberOfWords(size)];
+		for (int element : elements)
+		{
+			LongBitSet.add(words, element);
+		}
+		return words;
+	}
+}